@@ -4,15 +4,20 @@ import com.portafolio.gestor_tareas.auth.infrastructure.AuthenticationRequest;
 import com.portafolio.gestor_tareas.auth.infrastructure.AuthenticationResponse;
 import com.portafolio.gestor_tareas.auth.infrastructure.RegisterRequest;
 import com.portafolio.gestor_tareas.config.application.JwtService;
+import com.portafolio.gestor_tareas.config.application.RoutingContext;
 import com.portafolio.gestor_tareas.exception.domain.NotFoundException;
 import com.portafolio.gestor_tareas.users.domain.Role;
 import com.portafolio.gestor_tareas.users.domain.User;
+import com.portafolio.gestor_tareas.users.application.RegisteredEmailFilter;
+import com.portafolio.gestor_tareas.users.application.UserSearchIndex;
 import com.portafolio.gestor_tareas.users.domain.UserRepository;
 import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
 import com.portafolio.gestor_tareas.users.infrastructure.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -26,72 +31,114 @@ public class AuthenticationService {
     private final AuthenticationManager authenticationManager;
     private final UserMapper userMapper;
     private final RefreshTokenService refreshTokenService;
+    private final LoginThrottle loginThrottle;
+    private final UserSearchIndex userSearchIndex;
+    private final RegisteredEmailFilter registeredEmailFilter;
 
     public AuthenticationResponse register(User user) {
 
-        if (userRepository.findByEmail(user.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("User already exists");
-        }
+        // Nobody is authenticated yet, the new email owns the writes so the client's next requests read them
+        try (RoutingContext.Scope ignored = RoutingContext.subject(user.getEmail())) {
+            if (registeredEmailFilter.mightBeRegistered(user.getEmail())
+                    && userRepository.findByEmail(user.getEmail()).isPresent()) {
+                throw new IllegalArgumentException("User already exists");
+            }
 
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
-        user.setRole(Role.USER);
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+            user.setRole(Role.USER);
 
-        User saved = userRepository.save(user);
+            User saved = saveNewUser(user);
 
-        UserEntity userEntity = userMapper.userToUserEntity(saved);
+            UserEntity userEntity = userMapper.userToUserEntity(saved);
 
-        String jwtToken = jwtService.generateToken(userEntity);
-        String refreshToken = refreshTokenService.createRefreshToken(saved.getId()).getToken();
+            String jwtToken = jwtService.generateToken(userEntity);
+            String refreshToken = refreshTokenService.createRefreshToken(saved.getId()).getToken();
 
-        return AuthenticationResponse.builder()
-                .accessToken(jwtToken)
-                .refreshToken(refreshToken)
-                .build();
+            return AuthenticationResponse.builder()
+                    .accessToken(jwtToken)
+                    .refreshToken(refreshToken)
+                    .build();
+        }
     }
 
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
+        return authenticate(request, null);
+    }
+
+    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp) {
 
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        loginThrottle.checkAllowed(request.getEmail(), clientIp);
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        try (RoutingContext.Scope ignored = RoutingContext.subject(request.getEmail())) {
+            try {
+                authenticationManager.authenticate(
+                        new UsernamePasswordAuthenticationToken(
+                                request.getEmail(),
+                                request.getPassword()
+                        )
+                );
+            } catch (AuthenticationException e) {
+                loginThrottle.recordFailure(request.getEmail(), clientIp);
+                throw e;
+            }
 
-        UserEntity userEntity = userMapper.userToUserEntity(user);
+            loginThrottle.recordSuccess(request.getEmail());
 
-        String jwtToken = jwtService.generateToken(userEntity);
-        String refreshToken = refreshTokenService.createRefreshToken(user.getId()).getToken();
+            User user = userRepository.findByEmail(request.getEmail())
+                    .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return AuthenticationResponse.builder()
-                .accessToken(jwtToken)
-                .refreshToken(refreshToken)
-                .build();
+            UserEntity userEntity = userMapper.userToUserEntity(user);
+
+            String jwtToken = jwtService.generateToken(userEntity);
+            String refreshToken = refreshTokenService.createRefreshToken(user.getId()).getToken();
+
+            return AuthenticationResponse.builder()
+                    .accessToken(jwtToken)
+                    .refreshToken(refreshToken)
+                    .build();
+        }
     }
 
     public AuthenticationResponse registerAdmin(RegisterRequest request) {
 
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            throw new IllegalArgumentException("User already exists");
+        try (RoutingContext.Scope ignored = RoutingContext.subject(request.getEmail())) {
+            if (registeredEmailFilter.mightBeRegistered(request.getEmail())
+                    && userRepository.findByEmail(request.getEmail()).isPresent()) {
+                throw new IllegalArgumentException("User already exists");
+            }
+
+            User user = userMapper.registerRequestToUser(request);
+            user.setRole(Role.ADMIN);
+            user.setPassword(passwordEncoder.encode(user.getPassword()));
+
+            User saved = saveNewUser(user);
+
+            UserEntity userEntity = userMapper.userToUserEntity(saved);
+
+            String accessToken = jwtService.generateToken(userEntity);
+            String refreshToken = refreshTokenService.createRefreshToken(saved.getId()).getToken();
+
+            return AuthenticationResponse.builder()
+                    .accessToken(accessToken)
+                    .refreshToken(refreshToken)
+                    .build();
         }
+    }
 
-        User user = userMapper.registerRequestToUser(request);
-        user.setRole(Role.ADMIN);
-        user.setPassword(passwordEncoder.encode(user.getPassword()));
+    // The unique constraint on email is the final guard for concurrent signups
+    private User saveNewUser(User user) {
 
-        User saved = userRepository.save(user);
+        User saved;
 
-        UserEntity userEntity = userMapper.userToUserEntity(saved);
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            throw new IllegalArgumentException("User already exists");
+        }
 
-        String accessToken = jwtService.generateToken(userEntity);
-        String refreshToken = refreshTokenService.createRefreshToken(saved.getId()).getToken();
+        registeredEmailFilter.add(saved.getEmail());
+        userSearchIndex.put(saved.getId(), saved.getEmail(), saved.getFirstname(), saved.getLastname());
 
-        return AuthenticationResponse.builder()
-                .accessToken(accessToken)
-                .refreshToken(refreshToken)
-                .build();
+        return saved;
     }
 }
@@ -0,0 +1,145 @@
+package com.portafolio.gestor_tareas.auth.application;
+
+import com.portafolio.gestor_tareas.exception.domain.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Throttles login attempts per email and per client IP before any password hashing happens.
+// Failures are counted in a sliding window, once a key goes over its limit it is blocked
+// for an exponentially growing delay. No global lock is taken on any path.
+@Component
+public class LoginThrottle {
+
+    private static final int WINDOW_BUCKETS = 10;
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String IP_PREFIX = "ip:";
+
+    private final Map<String, AttemptState> attempts = new ConcurrentHashMap<>();
+
+    private final long windowMillis;
+    private final int maxFailuresPerEmail;
+    private final int maxFailuresPerIp;
+    private final long baseBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final Counter failures;
+    private final Counter throttledByEmail;
+    private final Counter throttledByIp;
+
+    private static final class AttemptState {
+
+        private final SlidingWindowCounter failures;
+        private final AtomicLong blockedUntil = new AtomicLong();
+
+        private AttemptState(long windowMillis) {
+            this.failures = new SlidingWindowCounter(windowMillis, WINDOW_BUCKETS);
+        }
+    }
+
+    public LoginThrottle(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.login-throttle.window-seconds:300}") long windowSeconds,
+            @Value("${app.security.login-throttle.max-failures-per-email:5}") int maxFailuresPerEmail,
+            @Value("${app.security.login-throttle.max-failures-per-ip:100}") int maxFailuresPerIp,
+            @Value("${app.security.login-throttle.base-backoff-ms:1000}") long baseBackoffMillis,
+            @Value("${app.security.login-throttle.max-backoff-ms:900000}") long maxBackoffMillis
+    ) {
+        this.windowMillis = windowSeconds * 1000;
+        this.maxFailuresPerEmail = maxFailuresPerEmail;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        this.baseBackoffMillis = baseBackoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+
+        this.failures = Counter.builder("auth.login.failures")
+                .description("Failed login attempts")
+                .register(meterRegistry);
+        this.throttledByEmail = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before hashing")
+                .tag("scope", "email")
+                .register(meterRegistry);
+        this.throttledByIp = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected before hashing")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+
+        Gauge.builder("auth.login.throttle.keys", attempts, Map::size)
+                .description("Emails and client IPs currently tracked by the login throttle")
+                .register(meterRegistry);
+    }
+
+    public void checkAllowed(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        check(emailKey(email), now, throttledByEmail);
+        check(ipKey(clientIp), now, throttledByIp);
+    }
+
+    public void recordFailure(String email, String clientIp) {
+        long now = System.currentTimeMillis();
+        failures.increment();
+        recordFailure(emailKey(email), maxFailuresPerEmail, now);
+        recordFailure(ipKey(clientIp), maxFailuresPerIp, now);
+    }
+
+    // A successful login clears the email, the IP keeps its history so a stuffing source can't reset itself
+    public void recordSuccess(String email) {
+        String key = emailKey(email);
+        if (key != null) {
+            attempts.remove(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.security.login-throttle.purge-interval-ms:60000}")
+    public void purgeIdle() {
+        long now = System.currentTimeMillis();
+        attempts.values().removeIf(state ->
+                state.blockedUntil.get() <= now && state.failures.sum(now) == 0);
+    }
+
+    private void check(String key, long now, Counter throttled) {
+
+        if (key == null) {
+            return;
+        }
+
+        AttemptState state = attempts.get(key);
+        long blockedUntil = state != null ? state.blockedUntil.get() : 0;
+
+        if (blockedUntil > now) {
+            throttled.increment();
+            long retryAfterSeconds = Math.max(1, (blockedUntil - now + 999) / 1000);
+            throw new TooManyRequestsException("Too many failed login attempts, try again later", retryAfterSeconds);
+        }
+    }
+
+    private void recordFailure(String key, int maxFailures, long now) {
+
+        if (key == null) {
+            return;
+        }
+
+        AttemptState state = attempts.computeIfAbsent(key, k -> new AttemptState(windowMillis));
+        long excess = state.failures.increment(now) - maxFailures;
+
+        if (excess >= 0) {
+            long backoff = Math.min(maxBackoffMillis, baseBackoffMillis << Math.min(excess, 20));
+            state.blockedUntil.accumulateAndGet(now + backoff, Math::max);
+        }
+    }
+
+    private static String emailKey(String email) {
+        return email == null || email.isBlank() ? null : EMAIL_PREFIX + email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String ipKey(String clientIp) {
+        return clientIp == null || clientIp.isBlank() ? null : IP_PREFIX + clientIp;
+    }
+}
@@ -3,14 +3,18 @@ package com.portafolio.gestor_tareas.auth.application;
 import com.portafolio.gestor_tareas.auth.domain.RefreshToken;
 import com.portafolio.gestor_tareas.auth.domain.RefreshTokenRepository;
 import com.portafolio.gestor_tareas.config.application.JwtService;
+import com.portafolio.gestor_tareas.config.application.RoutingContext;
 import com.portafolio.gestor_tareas.exception.domain.*;
 import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
 import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.HexFormat;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -22,13 +26,23 @@ public class RefreshTokenService{
     private final RefreshTokenRepository refreshTokenRepository;
     private final SpringUserRepository userRepository;
     private final JwtService jwtService;
-    private final PasswordEncoder passwordEncoder;
     private final long refreshTokenDurationSec = 7 * 24 * 60 * 60; // 7 days
 
+    // Refresh tokens are random UUIDs, so a fast unsalted hash is enough to keep them out of a leaked table
+    // and lets the unique token column be searched directly. BCrypt stays for passwords only.
+    public static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
     public RefreshToken createRefreshToken(Long userId) {
 
         String token = UUID.randomUUID().toString();
-        String hashedToken = passwordEncoder.encode(token);
+        String hashedToken = hash(token);
 
         Instant expiryDate = Instant.now().plusSeconds(refreshTokenDurationSec);
 
@@ -51,10 +65,13 @@ public class RefreshTokenService{
             throw new BadRequestException("The refresh token cannot be null or empty");
         }
 
-        RefreshToken refreshToken = refreshTokenRepository.findAll().stream()
-                .filter(rt -> passwordEncoder.matches(token, rt.getToken()) || rt.getToken().equals(token))
-                .findFirst()
-                .orElseThrow(() -> new RefreshTokenNotFoundException("Refresh token not found"));
+        RefreshToken refreshToken;
+
+        // Looked up on the primary, a replica may not have the token of a login a moment ago or its revocation yet
+        try (RoutingContext.Scope ignored = RoutingContext.primary()) {
+            refreshToken = refreshTokenRepository.findByToken(hash(token))
+                    .orElseThrow(() -> new RefreshTokenNotFoundException("Refresh token not found"));
+        }
 
         if (refreshToken.isRevoked()) {
             throw new RefreshTokenRevokedException("Token revoked");
@@ -72,14 +89,16 @@ public class RefreshTokenService{
     public String generateNewAccessToken(String refreshTokenStr) {
         RefreshToken refreshToken = validateRefreshToken(refreshTokenStr);
 
-        UserEntity userEntity = userRepository.findById(refreshToken.getUserId())
-                .orElseThrow(() -> new NotFoundException("User not found"));
+        try (RoutingContext.Scope ignored = RoutingContext.primary()) {
+            UserEntity userEntity = userRepository.findById(refreshToken.getUserId())
+                    .orElseThrow(() -> new NotFoundException("User not found"));
 
-        return jwtService.generateToken(userEntity);
+            return jwtService.generateToken(userEntity);
+        }
     }
 
    public Optional<RefreshToken> findByToken(String token) {
-        return refreshTokenRepository.findByToken(token);
+        return refreshTokenRepository.findByToken(hash(token));
    }
 
    public void revokeByUserId(Long userId) {
@@ -103,14 +122,12 @@ public class RefreshTokenService{
 
    public void revokeByToken(String token) {
 
-       List<RefreshToken> allTokens = refreshTokenRepository.findAll();
+       RefreshToken match;
 
-       RefreshToken match = allTokens.stream()
-               .filter(rt ->
-                       passwordEncoder.matches(token, rt.getToken()) || rt.getToken().equals(token)
-               )
-               .findFirst()
-               .orElseThrow(() -> new RefreshTokenNotFoundException("Refresh token not found"));
+       try (RoutingContext.Scope ignored = RoutingContext.primary()) {
+           match = refreshTokenRepository.findByToken(hash(token))
+                   .orElseThrow(() -> new RefreshTokenNotFoundException("Refresh token not found"));
+       }
 
        if (match.isRevoked()) {
 
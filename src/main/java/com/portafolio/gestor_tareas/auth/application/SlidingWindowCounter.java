@@ -0,0 +1,58 @@
+package com.portafolio.gestor_tareas.auth.application;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Sliding window event counter split in time buckets. Every bucket packs its epoch and its count
+// into one long, so recording an event is a single CAS and stale buckets are recycled without locks.
+public class SlidingWindowCounter {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final AtomicLongArray buckets;
+    private final long bucketMillis;
+
+    public SlidingWindowCounter(long windowMillis, int bucketCount) {
+
+        if (windowMillis <= 0 || bucketCount <= 0) {
+            throw new IllegalArgumentException("The window and the bucket count must be positive");
+        }
+
+        this.buckets = new AtomicLongArray(bucketCount);
+        this.bucketMillis = Math.max(1, windowMillis / bucketCount);
+    }
+
+    public long increment(long nowMillis) {
+
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % buckets.length());
+
+        long current;
+        long next;
+        do {
+            current = buckets.get(index);
+            if (current >>> COUNT_BITS == epoch) {
+                long count = current & COUNT_MASK;
+                next = count == COUNT_MASK ? current : current + 1;
+            } else {
+                next = (epoch << COUNT_BITS) | 1;
+            }
+        } while (!buckets.compareAndSet(index, current, next));
+
+        return sum(nowMillis);
+    }
+
+    public long sum(long nowMillis) {
+
+        long currentEpoch = nowMillis / bucketMillis;
+        long total = 0;
+
+        for (int i = 0; i < buckets.length(); i++) {
+            long bucket = buckets.get(i);
+            if (currentEpoch - (bucket >>> COUNT_BITS) < buckets.length()) {
+                total += bucket & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+}
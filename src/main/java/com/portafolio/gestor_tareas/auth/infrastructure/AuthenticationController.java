@@ -10,6 +10,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -55,12 +56,17 @@ public class AuthenticationController {
             @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest", content = @Content),
             @ApiResponse(responseCode = "401", ref = "#/components/responses/Unauthorized", content = @Content),
             @ApiResponse(responseCode = "403", ref = "#/components/responses/AccessDenied"),
+            @ApiResponse(responseCode = "429", ref = "#/components/responses/TooManyRequests"),
+            @ApiResponse(responseCode = "503", ref = "#/components/responses/ServiceUnavailable"),
             @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalError")
     })
     @PostMapping("/authenticate")
-    public ResponseEntity<ApiResponseDTO<AuthenticationResponse>> authenticate(@RequestBody AuthenticationRequest request) {
+    public ResponseEntity<ApiResponseDTO<AuthenticationResponse>> authenticate(
+            @RequestBody AuthenticationRequest request,
+            HttpServletRequest httpRequest
+    ) {
         log.info("POST /api/auth/authenticate - authenticate user: {}", request.getEmail());
-        AuthenticationResponse authResponse = authenticationService.authenticate(request);
+        AuthenticationResponse authResponse = authenticationService.authenticate(request, httpRequest.getRemoteAddr());
         log.info("User authenticate successfully with email {}", request.getEmail());
         return ApiResponseFactory.success(authResponse, "User successfully authenticate");
     }
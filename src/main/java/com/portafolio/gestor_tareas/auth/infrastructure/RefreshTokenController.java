@@ -15,11 +15,13 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -81,9 +83,13 @@ public class RefreshTokenController {
             @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalError")
     })
     @PostMapping("/logout")
-    public ResponseEntity<ApiResponseDTO<RefreshTokenResponse>> logout(@RequestBody RefreshTokenRequest request) {
+    public ResponseEntity<ApiResponseDTO<RefreshTokenResponse>> logout(
+            @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader
+    ) {
         log.warn("POST /api/auth/logout - logout by refreshtoken");
         refreshTokenService.revokeByToken(request.refreshToken);
+        revokeAccessToken(authHeader);
         log.info("Logout successfully");
         return ApiResponseFactory.success(null, "Logout successful");
     }
@@ -104,7 +110,16 @@ public class RefreshTokenController {
         UserEntity user = springUserRepository.findByEmail(userDetails.getUsername())
                         .orElseThrow(() -> new NotFoundException("User not found"));
         refreshTokenService.revokeByUserId(user.getId());
+        // The access tokens of every device are denied, not just the one sent with this request
+        jwtService.revokeAllTokens(user.getEmail());
         log.info("Global logout successfully");
         return ApiResponseFactory.success(null, "Successful global logout");
     }
+
+    // The access token sent with the logout is denied until it expires, so it can't outlive the session
+    private void revokeAccessToken(String authHeader) {
+        if (authHeader != null && authHeader.startsWith("Bearer ")) {
+            jwtService.revokeToken(authHeader.substring(7));
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.portafolio.gestor_tareas.config.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// In-memory denylist of revoked access tokens, keyed by their jti claim.
+// The Bloom filter answers the common "not revoked" case without touching the map,
+// entries are dropped once the token can no longer be used or renewed.
+// A logout on every device adds a per-user cutoff instead: any token issued before it is denied.
+@Slf4j
+@Component
+public class AccessTokenDenylist {
+
+    private final Map<String, Long> revokedUntil = new ConcurrentHashMap<>();
+    private final Map<String, IssuedBefore> issuedBefore = new ConcurrentHashMap<>();
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+
+    private volatile BloomFilter filter;
+
+    private record IssuedBefore(long cutoffMillis, long untilMillis) {}
+
+    public AccessTokenDenylist(
+            @Value("${jwt.denylist.expected-revocations:10000}") long expectedRevocations,
+            @Value("${jwt.denylist.false-positive-rate:0.01}") double falsePositiveRate
+    ) {
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = BloomFilter.create(expectedRevocations, falsePositiveRate);
+    }
+
+    public boolean isRevoked(String tokenId) {
+
+        if (tokenId == null || !filter.mightContain(tokenId)) {
+            return false;
+        }
+
+        Long until = revokedUntil.get(tokenId);
+        return until != null && until > System.currentTimeMillis();
+    }
+
+    public boolean isIssuedBeforeCutoff(String subject, long issuedAtMillis) {
+
+        if (subject == null || issuedBefore.isEmpty()) {
+            return false;
+        }
+
+        IssuedBefore cutoff = issuedBefore.get(subject);
+        return cutoff != null && cutoff.untilMillis() > System.currentTimeMillis()
+                && issuedAtMillis <= cutoff.cutoffMillis();
+    }
+
+    // A later logout moves the cutoff forward, an earlier one never moves it back
+    public void revokeIssuedBefore(String subject, long cutoffMillis, long revokedUntilMillis) {
+
+        if (subject == null || revokedUntilMillis <= System.currentTimeMillis()) {
+            return;
+        }
+
+        issuedBefore.merge(subject, new IssuedBefore(cutoffMillis, revokedUntilMillis), (current, next) ->
+                new IssuedBefore(Math.max(current.cutoffMillis(), next.cutoffMillis()),
+                        Math.max(current.untilMillis(), next.untilMillis())));
+    }
+
+    public synchronized void revoke(String tokenId, long revokedUntilMillis) {
+
+        if (tokenId == null || revokedUntilMillis <= System.currentTimeMillis()) {
+            return;
+        }
+
+        revokedUntil.put(tokenId, revokedUntilMillis);
+
+        if (revokedUntil.size() > filter.expectedInsertions()) {
+            rebuildFilter();
+        } else {
+            filter.put(tokenId);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.denylist.purge-interval-ms:60000}")
+    public synchronized void purgeExpired() {
+
+        long now = System.currentTimeMillis();
+        int before = revokedUntil.size();
+
+        revokedUntil.values().removeIf(until -> until <= now);
+        issuedBefore.values().removeIf(cutoff -> cutoff.untilMillis() <= now);
+
+        if (revokedUntil.size() != before) {
+            rebuildFilter();
+            log.debug("Purged {} expired entries from the access token denylist", before - revokedUntil.size());
+        }
+    }
+
+    public int size() {
+        return revokedUntil.size();
+    }
+
+    // Bloom filters can't forget, so the filter is rebuilt from the live entries and swapped in.
+    // Writers are serialized by the monitor, readers see either the old or the new filter and both hold every live entry.
+    private void rebuildFilter() {
+        BloomFilter rebuilt = BloomFilter.create(
+                Math.max(expectedRevocations, revokedUntil.size() * 2L),
+                falsePositiveRate
+        );
+        revokedUntil.keySet().forEach(rebuilt::put);
+        filter = rebuilt;
+    }
+}
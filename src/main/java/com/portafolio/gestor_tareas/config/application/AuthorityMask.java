@@ -0,0 +1,117 @@
+package com.portafolio.gestor_tareas.config.application;
+
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.*;
+
+// Encodes a Role plus its Permissions as one int, so authorization checks are a single bit test
+// instead of walking a collection of GrantedAuthority and comparing strings.
+public final class AuthorityMask {
+
+    public static final String ROLE_PREFIX = "ROLE_";
+
+    private static final Map<String, Integer> BITS_BY_AUTHORITY = new HashMap<>();
+
+    static {
+        for (Role role : Role.values()) {
+            BITS_BY_AUTHORITY.put(ROLE_PREFIX + role.name(), role.getBit());
+        }
+        for (Permission permission : Permission.values()) {
+            BITS_BY_AUTHORITY.put(permission.name(), permission.getBit());
+        }
+    }
+
+    private AuthorityMask() {
+    }
+
+    public static int of(Role role, Collection<Permission> permissions) {
+
+        int mask = role != null ? role.getBit() : 0;
+
+        if (permissions != null) {
+            for (Permission permission : permissions) {
+                mask |= permission.getBit();
+            }
+        }
+
+        return mask;
+    }
+
+    public static int of(Collection<? extends GrantedAuthority> authorities) {
+
+        int mask = 0;
+
+        if (authorities != null) {
+            for (GrantedAuthority authority : authorities) {
+                mask |= bitOf(authority.getAuthority());
+            }
+        }
+
+        return mask;
+    }
+
+    public static int of(UserDetails userDetails) {
+
+        if (userDetails == null) {
+            return 0;
+        }
+
+        if (userDetails instanceof AuthorityMaskPrincipal principal) {
+            return principal.getAuthorityMask();
+        }
+
+        return of(userDetails.getAuthorities());
+    }
+
+    public static int of(Authentication authentication) {
+
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return 0;
+        }
+
+        if (authentication.getPrincipal() instanceof AuthorityMaskPrincipal principal) {
+            return principal.getAuthorityMask();
+        }
+
+        return of(authentication.getAuthorities());
+    }
+
+    // Unknown authorities map to 0, so they can never satisfy a check
+    public static int bitOf(String authority) {
+        return authority == null ? 0 : BITS_BY_AUTHORITY.getOrDefault(authority, 0);
+    }
+
+    public static boolean hasAny(int mask, int required) {
+        return (mask & required) != 0;
+    }
+
+    public static boolean isAdmin(UserDetails userDetails) {
+        return hasAny(of(userDetails), Role.ADMIN.getBit());
+    }
+
+    public static Role roleOf(int mask) {
+        for (Role role : Role.values()) {
+            if (hasAny(mask, role.getBit())) {
+                return role;
+            }
+        }
+        return null;
+    }
+
+    public static Set<Permission> permissionsOf(int mask) {
+
+        Set<Permission> permissions = EnumSet.noneOf(Permission.class);
+
+        for (Permission permission : Permission.values()) {
+            if (hasAny(mask, permission.getBit())) {
+                permissions.add(permission);
+            }
+        }
+
+        return permissions;
+    }
+}
@@ -0,0 +1,7 @@
+package com.portafolio.gestor_tareas.config.application;
+
+// Principal able to hand out its role and permissions as a single AuthorityMask value
+public interface AuthorityMaskPrincipal {
+
+    int getAuthorityMask();
+}
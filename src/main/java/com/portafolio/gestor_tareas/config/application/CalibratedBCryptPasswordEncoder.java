@@ -0,0 +1,84 @@
+package com.portafolio.gestor_tareas.config.application;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// BCrypt encoder whose cost is picked at startup from a latency target instead of being hard-coded.
+// Any stored hash with a different cost, higher or lower, is flagged for upgrade so it gets rehashed on the next login.
+@Slf4j
+public class CalibratedBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    private static final Pattern BCRYPT_PATTERN = Pattern.compile("\\A\\$2[aby]?\\$(\\d\\d)\\$[./0-9A-Za-z]{53}");
+    private static final String SAMPLE_PASSWORD = "calibration-sample-password";
+
+    private final int strength;
+
+    public CalibratedBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+
+        if (encodedPassword == null) {
+            return false;
+        }
+
+        Matcher matcher = BCRYPT_PATTERN.matcher(encodedPassword);
+
+        if (!matcher.matches()) {
+            return false;
+        }
+
+        return Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    // Each extra cost step doubles the work, so the highest strength whose hash still fits the target is kept
+    public static CalibratedBCryptPasswordEncoder calibrate(long targetLatencyMillis, int minStrength, int maxStrength) {
+
+        int chosen = minStrength;
+
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+
+            long elapsedMillis = measure(candidate);
+
+            if (elapsedMillis > targetLatencyMillis) {
+                break;
+            }
+
+            chosen = candidate;
+
+            // The next step takes roughly twice as long, no need to pay for it when it's clearly over target
+            if (elapsedMillis * 2 > targetLatencyMillis) {
+                break;
+            }
+        }
+
+        log.info("BCrypt cost calibrated to {} for a target of {} ms", chosen, targetLatencyMillis);
+
+        return new CalibratedBCryptPasswordEncoder(chosen);
+    }
+
+    // Best of two runs, the first one also pays for class loading and JIT warm-up
+    private static long measure(int strength) {
+
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        long best = Long.MAX_VALUE;
+
+        for (int i = 0; i < 2; i++) {
+            long start = System.nanoTime();
+            encoder.encode(SAMPLE_PASSWORD);
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+
+        return best;
+    }
+}
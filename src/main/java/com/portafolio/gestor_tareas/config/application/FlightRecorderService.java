@@ -0,0 +1,281 @@
+package com.portafolio.gestor_tareas.config.application;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingFile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Stream;
+
+// Starts and stops Java Flight Recorder sessions in the running JVM and summarizes the .jfr files.
+// Only one recording runs at a time, and the directory keeps the newest max-files recordings.
+@Slf4j
+@Component
+public class FlightRecorderService implements DisposableBean {
+
+    private static final String EXTENSION = ".jfr";
+    private static final int TOP = 10;
+
+    private final Path directory;
+    private final int maxFiles;
+    private final long maxSizeBytes;
+    private final Duration defaultDuration;
+    private final Duration maxDuration;
+
+    private Recording recording;
+    private String profile;
+
+    public FlightRecorderService(
+            @Value("${app.jfr.directory:${java.io.tmpdir}/gestor-tareas-jfr}") String directory,
+            @Value("${app.jfr.max-files:5}") int maxFiles,
+            @Value("${app.jfr.max-size-mb:100}") long maxSizeMb,
+            @Value("${app.jfr.default-duration-seconds:60}") long defaultDurationSeconds,
+            @Value("${app.jfr.max-duration-seconds:600}") long maxDurationSeconds
+    ) {
+        this.directory = Paths.get(directory).toAbsolutePath();
+        this.maxFiles = Math.max(1, maxFiles);
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.defaultDuration = Duration.ofSeconds(defaultDurationSeconds);
+        this.maxDuration = Duration.ofSeconds(maxDurationSeconds);
+    }
+
+    public record RecordingStatus(String name, String profile, String state, String startedAt, long durationSeconds) {
+    }
+
+    public record Status(RecordingStatus current, List<String> recordings, List<String> profiles) {
+    }
+
+    public record Entry(String name, long value) {
+    }
+
+    public record GcSummary(long collections, long totalPauseMillis, long longestPauseMillis) {
+    }
+
+    public record Summary(
+            String recording,
+            long events,
+            List<Entry> allocationSites,
+            List<Entry> hotMethods,
+            List<Entry> lockContention,
+            GcSummary gc
+    ) {
+    }
+
+    // Throws IllegalStateException when a recording is already running and IllegalArgumentException for an unknown profile
+    public synchronized RecordingStatus start(String profileName, Long durationSeconds) {
+
+        if (recording != null && recording.getState() == RecordingState.RUNNING) {
+            throw new IllegalStateException("A recording is already running: " + recording.getName());
+        }
+
+        closeCurrent();
+
+        String configurationName = profileName == null || profileName.isBlank() ? "default" : profileName;
+        Duration duration = durationSeconds == null || durationSeconds <= 0
+                ? defaultDuration
+                : Duration.ofSeconds(Math.min(durationSeconds, maxDuration.toSeconds()));
+
+        Configuration configuration = configuration(configurationName);
+
+        try {
+            Files.createDirectories(directory);
+            prune(maxFiles - 1);
+
+            String name = "recording-" + System.currentTimeMillis();
+
+            Recording newRecording = new Recording(configuration);
+            newRecording.setName(name);
+            newRecording.setToDisk(true);
+            newRecording.setMaxSize(maxSizeBytes);
+            newRecording.setDuration(duration);
+            newRecording.setDestination(directory.resolve(name + EXTENSION));
+            newRecording.start();
+
+            recording = newRecording;
+            profile = configurationName;
+
+            log.info("Started flight recording {} with the {} profile for {} s", name, configurationName, duration.toSeconds());
+            return status(recording);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Stops the current recording, or takes the one that reached its duration, and returns its summary
+    public synchronized Optional<Summary> stop() {
+
+        if (recording == null) {
+            return Optional.empty();
+        }
+
+        String name = recording.getName();
+
+        if (recording.getState() == RecordingState.RUNNING) {
+            recording.stop();
+        }
+
+        closeCurrent();
+        log.info("Stopped flight recording {}", name);
+
+        return summary(name + EXTENSION);
+    }
+
+    public synchronized Status status() {
+        return new Status(
+                recording == null ? null : status(recording),
+                files().stream().map(path -> path.getFileName().toString()).toList(),
+                Configuration.getConfigurations().stream().map(Configuration::getName).toList()
+        );
+    }
+
+    // Only files listed in the recordings directory can be read, never arbitrary paths
+    public Optional<Summary> summary(String fileName) {
+
+        Optional<Path> file = files().stream()
+                .filter(path -> path.getFileName().toString().equals(fileName))
+                .findFirst();
+
+        return file.map(this::summarize);
+    }
+
+    private Summary summarize(Path file) {
+
+        Map<String, Long> allocations = new HashMap<>();
+        Map<String, Long> samples = new HashMap<>();
+        Map<String, Long> contention = new HashMap<>();
+        long events = 0;
+        long collections = 0;
+        long totalPause = 0;
+        long longestPause = 0;
+
+        try (RecordingFile recordingFile = new RecordingFile(file)) {
+            while (recordingFile.hasMoreEvents()) {
+                RecordedEvent event = recordingFile.readEvent();
+                events++;
+
+                switch (event.getEventType().getName()) {
+                    case "jdk.ObjectAllocationSample" ->
+                            allocations.merge(topFrame(event.getStackTrace()), event.getLong("weight"), Long::sum);
+                    case "jdk.ExecutionSample" ->
+                            samples.merge(topFrame(event.getStackTrace()), 1L, Long::sum);
+                    case "jdk.JavaMonitorEnter" ->
+                            contention.merge("monitor " + className(event, "monitorClass"), event.getDuration().toMillis(), Long::sum);
+                    case "jdk.ThreadPark" ->
+                            contention.merge("park " + className(event, "parkedClass"), event.getDuration().toMillis(), Long::sum);
+                    case "jdk.GarbageCollection" -> {
+                        collections++;
+                        totalPause += event.getDuration("sumOfPauses").toMillis();
+                        longestPause = Math.max(longestPause, event.getDuration("longestPause").toMillis());
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new Summary(
+                file.getFileName().toString(),
+                events,
+                top(allocations),
+                top(samples),
+                top(contention),
+                new GcSummary(collections, totalPause, longestPause)
+        );
+    }
+
+    @Override
+    public synchronized void destroy() {
+        closeCurrent();
+    }
+
+    // Only the configurations shipped with the JDK, a name is never resolved as a path
+    private static Configuration configuration(String name) {
+        return Configuration.getConfigurations().stream()
+                .filter(configuration -> configuration.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown recording profile: " + name));
+    }
+
+    private static List<Entry> top(Map<String, Long> values) {
+        return values.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(TOP)
+                .map(entry -> new Entry(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    private static String topFrame(RecordedStackTrace stackTrace) {
+
+        if (stackTrace == null || stackTrace.getFrames().isEmpty()) {
+            return "unknown";
+        }
+
+        RecordedFrame frame = stackTrace.getFrames().get(0);
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static String className(RecordedEvent event, String field) {
+        return event.hasField(field) && event.getClass(field) != null ? event.getClass(field).getName() : "unknown";
+    }
+
+    private RecordingStatus status(Recording recording) {
+        Instant startedAt = recording.getStartTime();
+        Duration duration = recording.getDuration();
+        return new RecordingStatus(
+                recording.getName(),
+                profile,
+                recording.getState().name(),
+                startedAt == null ? null : startedAt.toString(),
+                duration == null ? 0 : duration.toSeconds()
+        );
+    }
+
+    private void closeCurrent() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+            profile = null;
+        }
+    }
+
+    private List<Path> files() {
+
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+
+        try (Stream<Path> paths = Files.list(directory)) {
+            return paths
+                    .filter(path -> path.getFileName().toString().endsWith(EXTENSION))
+                    .sorted(Comparator.comparingLong((Path path) -> path.toFile().lastModified()).reversed())
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Removes the oldest recordings until at most keep files remain
+    private void prune(int keep) throws IOException {
+        List<Path> files = files();
+        for (Path file : files.subList(Math.min(keep, files.size()), files.size())) {
+            Files.deleteIfExists(file);
+        }
+    }
+}
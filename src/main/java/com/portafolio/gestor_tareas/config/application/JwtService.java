@@ -4,6 +4,8 @@ import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.security.SignatureException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,17 +16,33 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
+@Slf4j
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    private final AccessTokenDenylist accessTokenDenylist;
+
     @Value("${jwt.secret}")
     private String secretKey;
 
     private static final long TOKEN_EXPIRATION = 1000 * 60 * 60 * 24; // 1 day
     private static final long REFRESH_WINDOW = 1000 * 60 * 60 * 24 * 7; // 7 days
 
+    public static final String AUTHORITIES_CLAIM = "auth";
+
+    // iat only has second precision, a logout on every device needs to tell tokens of the same second apart
+    public static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+
+    // Kept while clients move to AUTHORITIES_CLAIM, to be removed in a later release
+    @Deprecated
+    public static final String ROLES_CLAIM = "roles";
+    @Deprecated
+    public static final String PERMISSIONS_CLAIM = "permissions";
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -34,21 +52,24 @@ public class JwtService {
         return claimsResolver.apply(claims);
     }
 
+    // Role and permissions travel as a single AuthorityMask int, the old string lists are still sent alongside
+    @SuppressWarnings("deprecation")
     public String generateToken(UserDetails userDetails) {
         Map<String, Object> claims = new HashMap<>();
+        claims.put(AUTHORITIES_CLAIM, AuthorityMask.of(userDetails));
 
         List<String> roles = userDetails.getAuthorities().stream()
-                .filter(auth -> auth.getAuthority().startsWith("ROLE_"))
                 .map(GrantedAuthority::getAuthority)
+                .filter(authority -> authority.startsWith(AuthorityMask.ROLE_PREFIX))
                 .toList();
 
         List<String> permissions = userDetails.getAuthorities().stream()
-                .filter(auth -> !auth.getAuthority().startsWith("ROLE_"))
                 .map(GrantedAuthority::getAuthority)
+                .filter(authority -> !authority.startsWith(AuthorityMask.ROLE_PREFIX))
                 .toList();
 
-        claims.put("roles", roles);
-        claims.put("permissions", permissions);
+        claims.put(ROLES_CLAIM, roles);
+        claims.put(PERMISSIONS_CLAIM, permissions);
 
         return generateToken(claims, userDetails);
     }
@@ -57,12 +78,16 @@ public class JwtService {
             Map<String, Object> extraClaims,
             UserDetails userDetails
     ) {
+        long now = System.currentTimeMillis();
+
         return Jwts
                 .builder()
                 .setClaims(extraClaims)
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_EXPIRATION))
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + TOKEN_EXPIRATION))
                 .signWith(getSignInKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
@@ -77,6 +102,39 @@ public class JwtService {
         }
     }
 
+    public boolean isTokenRevoked(Claims claims) {
+        return accessTokenDenylist.isRevoked(claims.getId())
+                || accessTokenDenylist.isIssuedBeforeCutoff(claims.getSubject(), issuedAtMillis(claims));
+    }
+
+    // Every token issued so far is denied until the last of them can no longer be renewed
+    public void revokeAllTokens(String username) {
+        long now = System.currentTimeMillis();
+        accessTokenDenylist.revokeIssuedBefore(username, now, now + TOKEN_EXPIRATION + REFRESH_WINDOW);
+    }
+
+    // Tokens without the millisecond claim fall back to the start of their iat second
+    private static long issuedAtMillis(Claims claims) {
+
+        Long issuedAt = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+
+        if (issuedAt != null) {
+            return issuedAt;
+        }
+
+        return claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0;
+    }
+
+    // Revoked tokens stay denied until they can no longer be renewed, not just until they expire
+    public void revokeToken(String token) {
+        try {
+            Claims claims = extractAllClaims(token);
+            accessTokenDenylist.revoke(claims.getId(), claims.getExpiration().getTime() + REFRESH_WINDOW);
+        } catch (Exception e) {
+            log.debug("The JWT couldn´t be revoked: {}", e.getMessage());
+        }
+    }
+
     public boolean isTokenExpired(String token) {
         return extractExpiration(token).before(new Date());
     }
@@ -0,0 +1,59 @@
+package com.portafolio.gestor_tareas.config.application;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// One timer per layer, component and method, split by outcome. The tags only take values from the code
+// (class and method names), never from requests, so the number of series stays bounded.
+// SLO buckets for app.layer.duration are configured in application.yml.
+@Component
+public class LayerMetrics {
+
+    public static final String TIMER = "app.layer.duration";
+
+    public static final String FILTER = "filter";
+    public static final String CONTROLLER = "controller";
+    public static final String SERVICE = "service";
+    public static final String ADAPTER = "adapter";
+    public static final String REPOSITORY = "repository";
+    public static final String SERIALIZATION = "serialization";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Key, Timers> timers = new ConcurrentHashMap<>();
+
+    public LayerMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    public Timers timers(String layer, String component, String method) {
+        return timers.computeIfAbsent(new Key(layer, component, method), key -> new Timers(
+                register(key, "success"),
+                register(key, "error")
+        ));
+    }
+
+    private Timer register(Key key, String outcome) {
+        return Timer.builder(TIMER)
+                .description("Time spent in each layer of a request")
+                .tag("layer", key.layer())
+                .tag("component", key.component())
+                .tag("method", key.method())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    public record Timers(Timer success, Timer error) {
+
+        public void record(long startNanos, boolean succeeded) {
+            (succeeded ? success : error).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record Key(String layer, String component, String method) {
+    }
+}
@@ -0,0 +1,46 @@
+package com.portafolio.gestor_tareas.config.application;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Remembers which users committed a write in the last few seconds. Their reads stay on the primary
+// for that long, so they always see their own changes even when a replica is behind.
+public class ReadYourWritesWindow {
+
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ReadYourWritesWindow(long windowMillis) {
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+    }
+
+    public void recordWrite(String user) {
+        lastWrites.put(user, System.nanoTime());
+    }
+
+    public boolean isPinned(String user) {
+
+        Long lastWrite = lastWrites.get(user);
+
+        if (lastWrite == null) {
+            return false;
+        }
+
+        if (System.nanoTime() - lastWrite < windowNanos) {
+            return true;
+        }
+
+        lastWrites.remove(user, lastWrite);
+        return false;
+    }
+
+    public void purge() {
+        long now = System.nanoTime();
+        lastWrites.entrySet().removeIf(entry -> now - entry.getValue() >= windowNanos);
+    }
+
+    public int size() {
+        return lastWrites.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.portafolio.gestor_tareas.config.application;
+
+// Routing hints for code that runs before the SecurityContext holds a user, like signup, login or the JWT check.
+// A subject stands in for the principal: its writes open a read-your-writes window and its reads honour it.
+// A primary scope keeps every statement on the primary, for lookups whose owner is only known after reading.
+// Scopes nest and an inner scope keeps what the outer one asked for. Without read/write routing they do nothing.
+public final class RoutingContext {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private RoutingContext() {
+    }
+
+    public static Scope subject(String subject) {
+        return open(subject, false);
+    }
+
+    public static Scope primary() {
+        return open(null, true);
+    }
+
+    public static String subject() {
+        Scope scope = CURRENT.get();
+        return scope != null ? scope.subject : null;
+    }
+
+    public static boolean primaryRequired() {
+        Scope scope = CURRENT.get();
+        return scope != null && scope.primary;
+    }
+
+    private static Scope open(String subject, boolean primary) {
+
+        Scope parent = CURRENT.get();
+        Scope scope = new Scope(parent,
+                subject != null || parent == null ? subject : parent.subject,
+                primary || parent != null && parent.primary);
+
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    public static final class Scope implements AutoCloseable {
+
+        private final Scope parent;
+        private final String subject;
+        private final boolean primary;
+
+        private Scope(Scope parent, String subject, boolean primary) {
+            this.parent = parent;
+            this.subject = subject;
+            this.primary = primary;
+        }
+
+        @Override
+        public void close() {
+            if (parent == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.portafolio.gestor_tareas.config.application;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bloom filter that grows instead of degrading: once a layer holds its expected insertions a new one
+// twice as large with a tighter false positive rate is added, so the overall rate stays below the target.
+public class ScalableBloomFilter {
+
+    private static final int GROWTH_FACTOR = 2;
+    private static final double TIGHTENING_RATIO = 0.5;
+
+    private record Layer(BloomFilter filter, AtomicLong insertions) {}
+
+    private final List<Layer> layers = new CopyOnWriteArrayList<>();
+
+    public ScalableBloomFilter(long initialCapacity, double falsePositiveRate) {
+
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+
+        // The layer rates form a geometric series that adds up to the requested rate
+        layers.add(newLayer(initialCapacity, falsePositiveRate * (1 - TIGHTENING_RATIO)));
+    }
+
+    public void put(CharSequence value) {
+
+        Layer layer = layers.get(layers.size() - 1);
+
+        if (layer.insertions().get() >= layer.filter().expectedInsertions()) {
+            layer = grow(layer);
+        }
+
+        layer.filter().put(value);
+        layer.insertions().incrementAndGet();
+    }
+
+    public boolean mightContain(CharSequence value) {
+
+        for (Layer layer : layers) {
+            if (layer.filter().mightContain(value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    public long approximateSize() {
+        return layers.stream().mapToLong(layer -> layer.insertions().get()).sum();
+    }
+
+    public int layerCount() {
+        return layers.size();
+    }
+
+    private synchronized Layer grow(Layer full) {
+
+        Layer last = layers.get(layers.size() - 1);
+
+        // Another writer already added a layer while this one waited
+        if (last != full) {
+            return last;
+        }
+
+        Layer next = newLayer(
+                full.filter().expectedInsertions() * GROWTH_FACTOR,
+                full.filter().falsePositiveRate() * TIGHTENING_RATIO
+        );
+        layers.add(next);
+        return next;
+    }
+
+    private static Layer newLayer(long capacity, double falsePositiveRate) {
+        return new Layer(BloomFilter.create(capacity, falsePositiveRate), new AtomicLong());
+    }
+}
@@ -0,0 +1,76 @@
+package com.portafolio.gestor_tareas.config.application;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Coalesces renewals of the same expired JWT: the first request signs the new token,
+// concurrent requests wait for it and every one of them gets the same renewed token.
+// The result is kept for a short time so a burst arriving right after is served from memory.
+@Component
+public class TokenRenewalCoalescer {
+
+    private final JwtService jwtService;
+    private final long cacheTtlMillis;
+    private final Map<String, Renewal> renewals = new ConcurrentHashMap<>();
+
+    private record Renewal(CompletableFuture<String> token, long createdAt) {}
+
+    public TokenRenewalCoalescer(
+            JwtService jwtService,
+            @Value("${jwt.renewal.cache-ttl-ms:30000}") long cacheTtlMillis
+    ) {
+        this.jwtService = jwtService;
+        this.cacheTtlMillis = cacheTtlMillis;
+    }
+
+    public String renew(String token, UserDetails userDetails) {
+
+        long now = System.currentTimeMillis();
+        Renewal candidate = new Renewal(new CompletableFuture<>(), now);
+
+        Renewal renewal = renewals.compute(token, (key, existing) ->
+                existing != null && !isStale(existing, now) ? existing : candidate);
+
+        if (renewal == candidate) {
+            try {
+                candidate.token().complete(jwtService.renewToken(token, userDetails));
+            } catch (RuntimeException e) {
+                // Failed renewals aren't cached, the next request gets to try again
+                renewals.remove(token, candidate);
+                candidate.token().completeExceptionally(e);
+                throw e;
+            }
+        }
+
+        try {
+            return renewal.token().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${jwt.renewal.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        renewals.values().removeIf(renewal -> isStale(renewal, now));
+    }
+
+    public int size() {
+        return renewals.size();
+    }
+
+    // A renewal still being signed is never stale, otherwise a slow signing would start a second one
+    private boolean isStale(Renewal renewal, long now) {
+        return renewal.token().isDone() && renewal.createdAt() + cacheTtlMillis <= now;
+    }
+}
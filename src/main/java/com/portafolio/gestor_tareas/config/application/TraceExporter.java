@@ -0,0 +1,7 @@
+package com.portafolio.gestor_tareas.config.application;
+
+// Receives the traces kept by the sampler once their request has finished
+public interface TraceExporter {
+
+    void export(Tracing.Trace trace);
+}
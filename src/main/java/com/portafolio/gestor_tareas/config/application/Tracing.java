@@ -0,0 +1,208 @@
+package com.portafolio.gestor_tareas.config.application;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Minimal in-process tracer. A trace is bound to the request thread, spans nest through a stack and
+// finished spans are kept until the request ends, when the tracing filter decides whether to export them.
+// Without an active trace start() returns a no-op span, so instrumented code pays a ThreadLocal lookup at most.
+public final class Tracing {
+
+    public enum Kind { SERVER, INTERNAL, CLIENT }
+
+    private static final ThreadLocal<Trace> CURRENT = new ThreadLocal<>();
+
+    private Tracing() {
+    }
+
+    public static Trace begin(String traceId, String parentSpanId, boolean sampled, int maxSpans, String name) {
+        Trace trace = new Trace(traceId != null ? traceId : randomHex(16), sampled, maxSpans);
+        CURRENT.set(trace);
+        trace.root = trace.open(name, Kind.SERVER, parentSpanId);
+        return trace;
+    }
+
+    public static Span start(String name) {
+        return start(name, Kind.INTERNAL);
+    }
+
+    public static Span start(String name, Kind kind) {
+        Trace trace = CURRENT.get();
+        return trace == null ? Span.NOOP : trace.open(name, kind, null);
+    }
+
+    public static Trace current() {
+        return CURRENT.get();
+    }
+
+    public static String randomHex(int bytes) {
+        StringBuilder hex = new StringBuilder(bytes * 2);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < bytes; i += 8) {
+            String part = Long.toHexString(random.nextLong());
+            hex.append("0".repeat(16 - part.length())).append(part);
+        }
+        return hex.substring(0, bytes * 2);
+    }
+
+    public static final class Trace implements AutoCloseable {
+
+        private final String traceId;
+        private final boolean sampled;
+        private final int maxSpans;
+        private final long startEpochNanos;
+        private final long startNanos;
+        private final Deque<Span> stack = new ArrayDeque<>();
+        private final List<Span> finished = new ArrayList<>();
+        private Span root;
+        private int dropped;
+
+        private Trace(String traceId, boolean sampled, int maxSpans) {
+            Instant now = Instant.now();
+            this.traceId = traceId;
+            this.sampled = sampled;
+            this.maxSpans = maxSpans;
+            this.startEpochNanos = now.getEpochSecond() * 1_000_000_000L + now.getNano();
+            this.startNanos = System.nanoTime();
+        }
+
+        private Span open(String name, Kind kind, String parentSpanId) {
+
+            // Long bulk requests would otherwise keep a span per item in memory
+            if (finished.size() + stack.size() >= maxSpans) {
+                dropped++;
+                return Span.NOOP;
+            }
+
+            Span parent = stack.peek();
+            Span span = new Span(this, randomHex(8), parent != null ? parent.spanId : parentSpanId, name, kind);
+            stack.push(span);
+            return span;
+        }
+
+        private void finish(Span span) {
+            // Spans end in reverse order of their start, a missing end only leaves its children open
+            while (!stack.isEmpty()) {
+                Span top = stack.pop();
+                if (top == span) {
+                    break;
+                }
+            }
+            finished.add(span);
+        }
+
+        public String traceId() {
+            return traceId;
+        }
+
+        public boolean sampled() {
+            return sampled;
+        }
+
+        public Span root() {
+            return root;
+        }
+
+        public List<Span> spans() {
+            return finished;
+        }
+
+        public int dropped() {
+            return dropped;
+        }
+
+        public long epochNanos(long nanoTime) {
+            return startEpochNanos + (nanoTime - startNanos);
+        }
+
+        @Override
+        public void close() {
+            CURRENT.remove();
+        }
+    }
+
+    public static final class Span {
+
+        static final Span NOOP = new Span(null, null, null, null, Kind.INTERNAL);
+
+        private final Trace trace;
+        private final String spanId;
+        private final String parentSpanId;
+        private final Kind kind;
+        private final long startNanos;
+        private String name;
+        private long endNanos;
+        private boolean error;
+        private Map<String, String> attributes;
+
+        private Span(Trace trace, String spanId, String parentSpanId, String name, Kind kind) {
+            this.trace = trace;
+            this.spanId = spanId;
+            this.parentSpanId = parentSpanId;
+            this.name = name;
+            this.kind = kind;
+            this.startNanos = System.nanoTime();
+        }
+
+        public Span attribute(String key, String value) {
+            if (trace != null) {
+                if (attributes == null) {
+                    attributes = new LinkedHashMap<>();
+                }
+                attributes.put(key, value);
+            }
+            return this;
+        }
+
+        public void rename(String newName) {
+            if (trace != null) {
+                name = newName;
+            }
+        }
+
+        public void end(boolean succeeded) {
+            if (trace != null && endNanos == 0) {
+                endNanos = System.nanoTime();
+                error = !succeeded;
+                trace.finish(this);
+            }
+        }
+
+        public String spanId() {
+            return spanId;
+        }
+
+        public String parentSpanId() {
+            return parentSpanId;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public Kind kind() {
+            return kind;
+        }
+
+        public long startNanos() {
+            return startNanos;
+        }
+
+        public long endNanos() {
+            return endNanos;
+        }
+
+        public long durationNanos() {
+            return endNanos - startNanos;
+        }
+
+        public boolean error() {
+            return error;
+        }
+
+        public Map<String, String> attributes() {
+            return attributes == null ? Map.of() : attributes;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.portafolio.gestor_tareas.config.application;
+
+// Splits a total over n ranked buckets following Zipf's law: rank r gets a share proportional to 1 / r^exponent.
+// Counts come from rounding the cumulative shares, so they always add up to exactly the total.
+public class ZipfDistribution {
+
+    private final double[] cumulative;
+
+    public ZipfDistribution(int buckets, double exponent) {
+
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("The number of buckets must be positive");
+        }
+
+        if (exponent < 0) {
+            throw new IllegalArgumentException("The exponent cannot be negative");
+        }
+
+        cumulative = new double[buckets + 1];
+
+        for (int rank = 1; rank <= buckets; rank++) {
+            cumulative[rank] = cumulative[rank - 1] + 1.0 / Math.pow(rank, exponent);
+        }
+
+        double sum = cumulative[buckets];
+        for (int rank = 1; rank <= buckets; rank++) {
+            cumulative[rank] /= sum;
+        }
+        cumulative[buckets] = 1.0;
+    }
+
+    public int buckets() {
+        return cumulative.length - 1;
+    }
+
+    // rank is 1 based, rank 1 is the largest bucket
+    public long count(int rank, long total) {
+        return Math.round(total * cumulative[rank]) - Math.round(total * cumulative[rank - 1]);
+    }
+}
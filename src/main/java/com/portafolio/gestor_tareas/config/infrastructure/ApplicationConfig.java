@@ -1,8 +1,10 @@
 package com.portafolio.gestor_tareas.config.infrastructure;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @Configuration
+@EnableScheduling
 public class ApplicationConfig {
 
 }
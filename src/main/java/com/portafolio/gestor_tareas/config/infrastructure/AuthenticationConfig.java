@@ -1,14 +1,18 @@
 package com.portafolio.gestor_tareas.config.infrastructure;
 
+import com.portafolio.gestor_tareas.config.application.BoundedPasswordEncoder;
+import com.portafolio.gestor_tareas.config.application.CalibratedBCryptPasswordEncoder;
 import com.portafolio.gestor_tareas.users.infrastructure.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
@@ -18,10 +22,12 @@ public class AuthenticationConfig {
     private final CustomUserDetailsService customUserDetailsService;
 
     @Bean
-    public AuthenticationProvider authenticationProvider() {
+    public AuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authenticationProvider = new DaoAuthenticationProvider();
         authenticationProvider.setUserDetailsService(customUserDetailsService);
-        authenticationProvider.setPasswordEncoder(passwordEncoder());
+        authenticationProvider.setPasswordEncoder(passwordEncoder);
+        // Hashes flagged by upgradeEncoding are rewritten after a successful login
+        authenticationProvider.setUserDetailsPasswordService(customUserDetailsService);
         return authenticationProvider;
     }
 
@@ -30,8 +36,35 @@ public class AuthenticationConfig {
         return configuration.getAuthenticationManager();
     }
 
+    // BCrypt work is bounded by its own pool, 0 threads means one per available core.
+    // A fixed strength skips the calibration, 0 means measure this machine against the target latency
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${app.security.hashing.threads:0}") int threads,
+            @Value("${app.security.hashing.queue-capacity:100}") int queueCapacity,
+            @Value("${app.security.hashing.retry-after-seconds:1}") long retryAfterSeconds,
+            @Value("${app.security.password.strength:0}") int strength,
+            @Value("${app.security.password.target-latency-ms:250}") long targetLatencyMillis,
+            @Value("${app.security.password.min-strength:10}") int minStrength,
+            @Value("${app.security.password.max-strength:14}") int maxStrength
+    ) {
+        CalibratedBCryptPasswordEncoder bcrypt = strength > 0
+                ? new CalibratedBCryptPasswordEncoder(strength)
+                : CalibratedBCryptPasswordEncoder.calibrate(targetLatencyMillis, minStrength, maxStrength);
+
+        Gauge.builder("password.hash.cost", bcrypt, CalibratedBCryptPasswordEncoder::getStrength)
+                .description("BCrypt cost factor used for new hashes")
+                .strongReference(true)
+                .register(meterRegistry);
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                bcrypt,
+                poolSize,
+                queueCapacity,
+                retryAfterSeconds,
+                meterRegistry
+        );
     }
 }
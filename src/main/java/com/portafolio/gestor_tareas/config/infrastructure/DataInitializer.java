@@ -7,11 +7,14 @@ import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRe
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
 import java.util.Set;
 
+// Runs before the synthetic data seeder, the admin is only created on an empty table
+@Order(1)
 @Component
 @RequiredArgsConstructor
 public class DataInitializer implements CommandLineRunner {
@@ -0,0 +1,14 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import com.portafolio.gestor_tareas.exception.domain.DomainException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class ExceptionConfig {
+
+    // Domain exceptions are created outside of Spring, so the switch lives in a static flag
+    public ExceptionConfig(@Value("${app.exceptions.stack-traces:false}") boolean stackTraces) {
+        DomainException.setStackTraces(stackTraces);
+    }
+}
@@ -0,0 +1,208 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.config.application.TraceExporter;
+import com.portafolio.gestor_tareas.config.application.Tracing;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Appends every exported trace as one line of OTLP/JSON, the format of the OpenTelemetry collector file exporter,
+// so the file can be replayed into a collector or read by any OTLP tool. Writing happens on a background
+// thread behind a bounded queue; when the queue is full the trace is dropped instead of slowing the request.
+// Once the file reaches max-size-mb it is rotated to file.1, file.2 and so on, keeping the newest max-files.
+@Slf4j
+@Component
+public class FileTraceExporter implements TraceExporter, DisposableBean {
+
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int SPAN_KIND_SERVER = 2;
+    private static final int SPAN_KIND_CLIENT = 3;
+    private static final int STATUS_OK = 1;
+    private static final int STATUS_ERROR = 2;
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+    private final long maxSizeBytes;
+    private final int maxFiles;
+    private final String serviceName;
+    private final BlockingQueue<Tracing.Trace> queue;
+    private final Thread writer;
+    private final Counter exported;
+    private final Counter dropped;
+
+    private volatile boolean running = true;
+
+    public FileTraceExporter(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${app.tracing.export.file:${java.io.tmpdir}/gestor-tareas-traces.jsonl}") String file,
+            @Value("${app.tracing.export.queue-capacity:1024}") int queueCapacity,
+            @Value("${app.tracing.export.max-size-mb:100}") long maxSizeMb,
+            @Value("${app.tracing.export.max-files:5}") int maxFiles,
+            @Value("${spring.application.name:gestor-tareas}") String serviceName
+    ) {
+        this.objectMapper = objectMapper;
+        this.file = Paths.get(file).toAbsolutePath();
+        this.maxSizeBytes = maxSizeMb * 1024 * 1024;
+        this.maxFiles = Math.max(0, maxFiles);
+        this.serviceName = serviceName;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.exported = Counter.builder("app.tracing.traces")
+                .description("Traces kept by the sampler")
+                .tag("outcome", "exported")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("app.tracing.traces")
+                .description("Traces kept by the sampler")
+                .tag("outcome", "dropped")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::drain, "trace-exporter");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void export(Tracing.Trace trace) {
+        if (!queue.offer(trace)) {
+            dropped.increment();
+        }
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drain() {
+
+        List<Tracing.Trace> batch = new ArrayList<>();
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Tracing.Trace first = queue.poll(200, TimeUnit.MILLISECONDS);
+
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch);
+                write(batch);
+                exported.increment(batch.size());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (IOException | RuntimeException e) {
+                dropped.increment(batch.size());
+                log.warn("Could not export {} traces to {}: {}", batch.size(), file, e.getMessage());
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Tracing.Trace> traces) throws IOException {
+
+        Files.createDirectories(file.getParent());
+
+        if (Files.exists(file) && Files.size(file) >= maxSizeBytes) {
+            rotate();
+        }
+
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            for (Tracing.Trace trace : traces) {
+                out.write(objectMapper.writeValueAsString(toOtlp(trace)));
+                out.newLine();
+            }
+        }
+    }
+
+    // The oldest rotated file is overwritten, with max-files 0 the full file is simply discarded
+    private void rotate() throws IOException {
+
+        if (maxFiles == 0) {
+            Files.delete(file);
+            return;
+        }
+
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            Path older = rotated(i);
+            if (Files.exists(older)) {
+                Files.move(older, rotated(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        Files.move(file, rotated(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    public Path rotated(int generation) {
+        return file.resolveSibling(file.getFileName() + "." + generation);
+    }
+
+    private Map<String, Object> toOtlp(Tracing.Trace trace) {
+
+        List<Map<String, Object>> spans = new ArrayList<>(trace.spans().size());
+
+        for (Tracing.Span span : trace.spans()) {
+            Map<String, Object> otlp = new LinkedHashMap<>();
+            otlp.put("traceId", trace.traceId());
+            otlp.put("spanId", span.spanId());
+            if (span.parentSpanId() != null) {
+                otlp.put("parentSpanId", span.parentSpanId());
+            }
+            otlp.put("name", span.name());
+            otlp.put("kind", switch (span.kind()) {
+                case SERVER -> SPAN_KIND_SERVER;
+                case CLIENT -> SPAN_KIND_CLIENT;
+                case INTERNAL -> SPAN_KIND_INTERNAL;
+            });
+            // OTLP/JSON encodes 64 bit integers as strings
+            otlp.put("startTimeUnixNano", String.valueOf(trace.epochNanos(span.startNanos())));
+            otlp.put("endTimeUnixNano", String.valueOf(trace.epochNanos(span.endNanos())));
+            otlp.put("attributes", attributes(span.attributes()));
+            otlp.put("status", Map.of("code", span.error() ? STATUS_ERROR : STATUS_OK));
+            spans.add(otlp);
+        }
+
+        return Map.of("resourceSpans", List.of(Map.of(
+                "resource", Map.of("attributes", attributes(Map.of("service.name", serviceName))),
+                "scopeSpans", List.of(Map.of(
+                        "scope", Map.of("name", "com.portafolio.gestor_tareas"),
+                        "spans", spans
+                ))
+        )));
+    }
+
+    private static List<Map<String, Object>> attributes(Map<String, String> values) {
+        return values.entrySet().stream()
+                .map(entry -> Map.<String, Object>of("key", entry.getKey(), "value", Map.of("stringValue", entry.getValue())))
+                .toList();
+    }
+}
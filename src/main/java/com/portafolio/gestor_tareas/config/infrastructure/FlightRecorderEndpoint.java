@@ -0,0 +1,53 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import com.portafolio.gestor_tareas.config.application.FlightRecorderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.*;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+// /actuator/jfr, restricted to admins in SecurityConfig
+//   GET               status, stored recordings and available profiles
+//   POST              starts a recording, optional profile ("default" or "profile") and durationSeconds
+//   DELETE            stops the running recording and returns its summary
+//   GET /{recording}  summary of a stored recording
+@Component
+@Endpoint(id = "jfr")
+@RequiredArgsConstructor
+public class FlightRecorderEndpoint {
+
+    private final FlightRecorderService flightRecorderService;
+
+    @ReadOperation
+    public FlightRecorderService.Status status() {
+        return flightRecorderService.status();
+    }
+
+    @WriteOperation
+    public WebEndpointResponse<Object> start(@Nullable String profile, @Nullable Long durationSeconds) {
+        try {
+            return new WebEndpointResponse<>(flightRecorderService.start(profile, durationSeconds), WebEndpointResponse.STATUS_OK);
+        } catch (IllegalStateException e) {
+            return new WebEndpointResponse<>(Map.of("message", e.getMessage()), 409);
+        } catch (IllegalArgumentException e) {
+            return new WebEndpointResponse<>(Map.of("message", e.getMessage()), WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+
+    @DeleteOperation
+    public WebEndpointResponse<FlightRecorderService.Summary> stop() {
+        return flightRecorderService.stop()
+                .map(summary -> new WebEndpointResponse<>(summary, WebEndpointResponse.STATUS_OK))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<FlightRecorderService.Summary> summary(@Selector String recording) {
+        return flightRecorderService.summary(recording)
+                .map(summary -> new WebEndpointResponse<>(summary, WebEndpointResponse.STATUS_OK))
+                .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+}
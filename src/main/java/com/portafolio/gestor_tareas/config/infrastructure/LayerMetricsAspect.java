@@ -0,0 +1,95 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import com.portafolio.gestor_tareas.config.application.LayerMetrics;
+import com.portafolio.gestor_tareas.config.application.Tracing;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Times the controllers, the application services, the domain repository adapters and the Spring Data
+// repositories, and opens a tracing span around each call
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class LayerMetricsAspect {
+
+    private static final String BASE_PACKAGE = "com.portafolio.gestor_tareas";
+
+    private final LayerMetrics layerMetrics;
+
+    // Spring Data repositories share their CRUD methods, so the timers are cached per repository and method
+    private final ConcurrentMap<Class<?>, ConcurrentMap<Method, Instrument>> instruments = new ConcurrentHashMap<>();
+
+    private record Instrument(String layer, String spanName, LayerMetrics.Timers timers) {
+    }
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController com.portafolio.gestor_tareas..*) "
+            + "&& execution(public * *(..))")
+    public Object timeController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, LayerMetrics.CONTROLLER, joinPoint.getTarget().getClass());
+    }
+
+    @Around("execution(public * com.portafolio.gestor_tareas..application.*Service*.*(..)) "
+            + "&& !within(com.portafolio.gestor_tareas.config..*)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, LayerMetrics.SERVICE, joinPoint.getTarget().getClass());
+    }
+
+    @Around("execution(public * com.portafolio.gestor_tareas..infrastructure.repository.MySql*Repository.*(..))")
+    public Object timeAdapter(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, LayerMetrics.ADAPTER, joinPoint.getTarget().getClass());
+    }
+
+    @Around("this(org.springframework.data.repository.Repository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time(joinPoint, LayerMetrics.REPOSITORY, joinPoint.getThis().getClass());
+    }
+
+    private Object time(ProceedingJoinPoint joinPoint, String layer, Class<?> type) throws Throwable {
+
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Instrument instrument = instruments
+                .computeIfAbsent(type, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(method, key -> {
+                    String component = componentName(type);
+                    return new Instrument(layer, component + "." + method.getName(),
+                            layerMetrics.timers(layer, component, method.getName()));
+                });
+
+        Tracing.Span span = Tracing.start(instrument.spanName()).attribute("layer", instrument.layer());
+        long start = System.nanoTime();
+        boolean succeeded = false;
+
+        try {
+            Object result = joinPoint.proceed();
+            succeeded = true;
+            return result;
+        } finally {
+            instrument.timers().record(start, succeeded);
+            span.end(succeeded);
+        }
+    }
+
+    // Proxies of Spring Data repositories are named after the JDK proxy, the interface is the useful name
+    private static String componentName(Class<?> type) {
+
+        if (type.getName().startsWith(BASE_PACKAGE)) {
+            return type.getSimpleName();
+        }
+
+        for (Class<?> candidate : type.getInterfaces()) {
+            if (candidate.getName().startsWith(BASE_PACKAGE)) {
+                return candidate.getSimpleName();
+            }
+        }
+
+        return type.getSimpleName();
+    }
+}
@@ -264,6 +264,38 @@ public class OpenAPIConfig {
                                                         )
                                                 ))
                                         ))
+                                // TooManyRequests -> 429
+                                .addResponses("TooManyRequests",
+                                        new ApiResponse()
+                                                .description("Too many requests - retry after the Retry-After header")
+                                                .content(new Content().addMediaType(JSON,
+                                                        new MediaType().example(
+                                                                builderExample(
+                                                                        429,
+                                                                        "Too Many Requests",
+                                                                        DATE,
+                                                                        "/api/auth/authenticate",
+                                                                        List.of("Too many requests. Too many failed" +
+                                                                                " login attempts, try again later")
+                                                                )
+                                                        ))
+                                                ))
+                                // ServiceUnavailable -> 503
+                                .addResponses("ServiceUnavailable",
+                                        new ApiResponse()
+                                                .description("Service unavailable - retry after the Retry-After header")
+                                                .content(new Content().addMediaType(JSON,
+                                                        new MediaType().example(
+                                                                builderExample(
+                                                                        503,
+                                                                        "Service Unavailable",
+                                                                        DATE,
+                                                                        "/api/auth/authenticate",
+                                                                        List.of("Service unavailable. Password" +
+                                                                                " hashing capacity exhausted")
+                                                                )
+                                                        ))
+                                                ))
                                 // Internal Server Error - 500
                                 .addResponses("InternalError",
                                         new ApiResponse()
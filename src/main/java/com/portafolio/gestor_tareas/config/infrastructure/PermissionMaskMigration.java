@@ -0,0 +1,94 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Locale;
+
+// Moves permissions from the old user_permissions join table into app_users.permissions_mask.
+// Runs while the app is serving: one UPDATE ORs the legacy bits into every mask, so grants made meanwhile
+// are kept and the rows are read and written under the same row locks. A revoke of a legacy permission
+// made before that statement is undone by it, which only matters in the first moments after startup.
+// The legacy rows are then copied to user_permissions_legacy without the foreign key to app_users, so
+// users can still be deleted, and the old table is dropped so the copy only ever happens once.
+@Slf4j
+@Order(0)
+@Component
+@RequiredArgsConstructor
+public class PermissionMaskMigration implements CommandLineRunner {
+
+    private static final String LEGACY_TABLE = "user_permissions";
+    private static final String COPY_TABLE = "user_permissions_legacy";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+
+        if (!tableExists(LEGACY_TABLE)) {
+            return;
+        }
+
+        // Every permission is its own bit and a user has each at most once, so the sum of the distinct bits is their OR
+        String legacyMask = "(SELECT SUM(DISTINCT " + bitOfPermission("p.permission") + ") FROM " + LEGACY_TABLE
+                + " p WHERE p.user_id = app_users.id)";
+
+        int updated = jdbcTemplate.update("UPDATE app_users SET permissions_mask = "
+                + bitOr("permissions_mask", legacyMask)
+                + " WHERE id IN (SELECT user_id FROM " + LEGACY_TABLE + ")");
+
+        // A copy left by a run that stopped before dropping the legacy table is incomplete
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + COPY_TABLE);
+        jdbcTemplate.execute("CREATE TABLE " + COPY_TABLE + " AS SELECT user_id, permission FROM " + LEGACY_TABLE);
+        jdbcTemplate.execute("DROP TABLE " + LEGACY_TABLE);
+
+        log.info("Migrated permissions of {} users to permissions_mask, {} copied to {}",
+                updated, LEGACY_TABLE, COPY_TABLE);
+    }
+
+    private static String bitOfPermission(String column) {
+
+        StringBuilder sql = new StringBuilder("CASE ").append(column);
+
+        for (Permission permission : Permission.values()) {
+            sql.append(" WHEN '").append(permission.name()).append("' THEN ").append(permission.getBit());
+        }
+
+        return sql.append(" ELSE 0 END").toString();
+    }
+
+    // H2 has no bitwise operator, MySQL has no BITOR function
+    private String bitOr(String left, String right) {
+
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+                connection.getMetaData().getDatabaseProductName());
+
+        return "H2".equalsIgnoreCase(product)
+                ? "BITOR(" + left + ", " + right + ")"
+                : "(" + left + " | " + right + ")";
+    }
+
+    // Unquoted identifiers are stored lower case by MySQL and upper case by H2
+    private boolean tableExists(String table) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (String name : List.of(table, table.toUpperCase(Locale.ROOT))) {
+                try (ResultSet tables = metaData.getTables(connection.getCatalog(), null, name, new String[]{"TABLE"})) {
+                    if (tables.next()) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }));
+    }
+}
@@ -0,0 +1,115 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.authorization.AuthorizationResult;
+import org.springframework.security.core.Authentication;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Evaluates @PreAuthorize without SpEL for the expressions this API actually uses:
+// hasAuthority, hasRole, hasAnyAuthority and hasAnyRole. Each method's expression is compiled once
+// into a required AuthorityMask, anything more complex is handed to the SpEL based manager.
+@Slf4j
+public class PrecompiledAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final Pattern SIMPLE_EXPRESSION =
+            Pattern.compile("\\s*(hasAuthority|hasRole|hasAnyAuthority|hasAnyRole)\\((.*)\\)\\s*");
+    private static final Pattern QUOTED_NAME = Pattern.compile("\\s*'([A-Za-z0-9_]+)'\\s*");
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    // requiredMask 0 means the expression couldn't be compiled
+    private record Rule(int requiredMask) {
+
+        private static final Rule FALLBACK = new Rule(0);
+    }
+
+    private final Map<Method, Rule> rules = new ConcurrentHashMap<>();
+    private final AuthorizationManager<MethodInvocation> fallback;
+
+    public PrecompiledAuthorizationManager(AuthorizationManager<MethodInvocation> fallback) {
+        this.fallback = fallback;
+    }
+
+    @Override
+    public AuthorizationResult authorize(Supplier<Authentication> authentication, MethodInvocation invocation) {
+
+        Rule rule = rules.computeIfAbsent(invocation.getMethod(), this::compile);
+
+        if (rule == Rule.FALLBACK) {
+            return fallback.authorize(authentication, invocation);
+        }
+
+        return AuthorityMask.hasAny(AuthorityMask.of(authentication.get()), rule.requiredMask()) ? GRANTED : DENIED;
+    }
+
+    // Still abstract in AuthorizationManager, Spring Security only calls authorize
+    @Override
+    @Deprecated
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+
+        AuthorizationResult result = authorize(authentication, invocation);
+
+        return result == null || result instanceof AuthorizationDecision
+                ? (AuthorizationDecision) result
+                : new AuthorizationDecision(result.isGranted());
+    }
+
+    private Rule compile(Method method) {
+
+        PreAuthorize preAuthorize = AnnotationUtils.findAnnotation(method, PreAuthorize.class);
+
+        if (preAuthorize == null) {
+            preAuthorize = AnnotationUtils.findAnnotation(method.getDeclaringClass(), PreAuthorize.class);
+        }
+
+        if (preAuthorize == null) {
+            return Rule.FALLBACK;
+        }
+
+        Matcher expression = SIMPLE_EXPRESSION.matcher(preAuthorize.value());
+
+        if (!expression.matches()) {
+            log.debug("@PreAuthorize on {} is evaluated with SpEL: {}", method, preAuthorize.value());
+            return Rule.FALLBACK;
+        }
+
+        boolean roles = expression.group(1).endsWith("Role");
+        int requiredMask = 0;
+
+        for (String argument : expression.group(2).split(",")) {
+
+            Matcher name = QUOTED_NAME.matcher(argument);
+
+            if (!name.matches()) {
+                return Rule.FALLBACK;
+            }
+
+            String authority = roles && !name.group(1).startsWith(AuthorityMask.ROLE_PREFIX)
+                    ? AuthorityMask.ROLE_PREFIX + name.group(1)
+                    : name.group(1);
+
+            int bit = AuthorityMask.bitOf(authority);
+
+            if (bit == 0) {
+                return Rule.FALLBACK;
+            }
+
+            requiredMask |= bit;
+        }
+
+        return new Rule(requiredMask);
+    }
+}
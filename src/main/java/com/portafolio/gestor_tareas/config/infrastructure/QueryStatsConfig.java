@@ -0,0 +1,29 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class QueryStatsConfig {
+
+    // Static so the post processor doesn't force the early creation of this configuration
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor(
+            @Value("${app.db.query-stats.enabled:true}") boolean enabled,
+            @Value("${app.db.slow-query-threshold-ms:500}") long slowQueryMillis
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (enabled && bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource, slowQueryMillis);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -1,6 +1,9 @@
 package com.portafolio.gestor_tareas.config.infrastructure;
 
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
 import com.portafolio.gestor_tareas.config.application.JwtService;
+import com.portafolio.gestor_tareas.config.application.LayerMetrics;
+import com.portafolio.gestor_tareas.config.application.TokenRenewalCoalescer;
 import com.portafolio.gestor_tareas.config.infrastructure.filter.JwtAuthFilter;
 import com.portafolio.gestor_tareas.exception.domain.ForbiddenException;
 import com.portafolio.gestor_tareas.exception.domain.NotFoundException;
@@ -11,7 +14,6 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.AuthenticationProvider;
-import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
@@ -24,20 +26,21 @@ import org.springframework.web.servlet.HandlerExceptionResolver;
 
 @Configuration
 @EnableWebSecurity
-@EnableMethodSecurity(prePostEnabled = true)
 @RequiredArgsConstructor
 public class SecurityConfig {
 
     private final AuthenticationProvider authenticationProvider;
     private final JwtService jwtService;
+    private final TokenRenewalCoalescer tokenRenewalCoalescer;
     private final UserDetailsService userDetailsService;
     private final HandlerExceptionResolver handlerExceptionResolver;
     private final SecurityUtils securityUtils;
     private final SpringUserRepository userRepository;
+    private final LayerMetrics layerMetrics;
 
     @Bean
     public JwtAuthFilter jwtAuthFilter() {
-        return new JwtAuthFilter(jwtService, userDetailsService, handlerExceptionResolver);
+        return new JwtAuthFilter(jwtService, tokenRenewalCoalescer, userDetailsService, handlerExceptionResolver, layerMetrics);
     }
 
     @Bean
@@ -45,6 +48,8 @@ public class SecurityConfig {
         return security
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Flight recordings expose method names and can add overhead, only admins can take them
+                        .requestMatchers("/actuator/jfr", "/actuator/jfr/**").hasRole("ADMIN")
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/v3/api-docs/**",
@@ -65,8 +70,7 @@ public class SecurityConfig {
 
     public void checkAccess(Long requestedId, UserDetails userDetails) {
 
-        if (userDetails.getAuthorities().stream()
-                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"))) {
+        if (AuthorityMask.isAdmin(userDetails)) {
             return;
         }
 
@@ -79,8 +83,7 @@ public class SecurityConfig {
 
     public void checkAdminAccess(UserDetails userDetails) {
 
-        if (userDetails == null || !userDetails.getAuthorities().stream()
-                .anyMatch(auth -> auth.getAuthority().equals("ROLE_ADMIN"))) {
+        if (!AuthorityMask.isAdmin(userDetails)) {
             throw new AccessDeniedException("Access denied: ADMIN role required");
         }
     }
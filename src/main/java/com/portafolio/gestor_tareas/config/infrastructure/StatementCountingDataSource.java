@@ -0,0 +1,137 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import com.portafolio.gestor_tareas.config.application.QueryStats;
+import com.portafolio.gestor_tareas.config.application.Tracing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+// Wraps the pool so every statement executed through JPA or JdbcTemplate is counted and timed in QueryStats
+// and gets its own tracing span.
+// A batch counts as one statement since it is a single round trip. Statements slower than the threshold are logged.
+@Slf4j
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_TRACED_SQL_LENGTH = 500;
+
+    private final long slowQueryNanos;
+
+    public StatementCountingDataSource(DataSource target, long slowQueryMillis) {
+        super(target);
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(slowQueryMillis);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(super.getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new ConnectionHandler(connection));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        private ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            Object result = StatementCountingDataSource.invoke(connection, method, args);
+
+            return switch (method.getName()) {
+                case "prepareStatement" -> statement(PreparedStatement.class, result, proxy, (String) args[0]);
+                case "prepareCall" -> statement(CallableStatement.class, result, proxy, (String) args[0]);
+                case "createStatement" -> statement(Statement.class, result, proxy, null);
+                default -> result;
+            };
+        }
+
+        private Object statement(Class<? extends Statement> type, Object statement, Object connectionProxy, String sql) {
+            return Proxy.newProxyInstance(
+                    type.getClassLoader(),
+                    new Class<?>[]{type},
+                    new StatementHandler((Statement) statement, connectionProxy, sql));
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final Object connectionProxy;
+        private final String sql;
+
+        private StatementHandler(Statement statement, Object connectionProxy, String sql) {
+            this.statement = statement;
+            this.connectionProxy = connectionProxy;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+
+            if (method.getName().equals("getConnection")) {
+                return connectionProxy;
+            }
+
+            if (!method.getName().startsWith("execute")) {
+                return StatementCountingDataSource.invoke(statement, method, args);
+            }
+
+            String executed = args != null && args.length > 0 && args[0] instanceof String text ? text : sql;
+            Tracing.Span span = Tracing.start("SQL " + method.getName(), Tracing.Kind.CLIENT);
+            if (executed != null) {
+                span.attribute("db.statement", executed.length() > MAX_TRACED_SQL_LENGTH
+                        ? executed.substring(0, MAX_TRACED_SQL_LENGTH) : executed);
+            }
+
+            long start = System.nanoTime();
+            boolean succeeded = false;
+
+            try {
+                Object result = StatementCountingDataSource.invoke(statement, method, args);
+                succeeded = true;
+                return result;
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                QueryStats.record(elapsed);
+                span.end(succeeded);
+
+                if (elapsed >= slowQueryNanos) {
+                    log.warn("Slow query took {} ms: {}", TimeUnit.NANOSECONDS.toMillis(elapsed), executed);
+                }
+            }
+        }
+    }
+}
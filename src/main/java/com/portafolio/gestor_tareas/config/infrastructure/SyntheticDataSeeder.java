@@ -0,0 +1,408 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import com.portafolio.gestor_tareas.auth.application.RefreshTokenService;
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
+import com.portafolio.gestor_tareas.config.application.ZipfDistribution;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// Fills the database with synthetic users, tasks and refresh tokens for benchmarks and capacity tests.
+// Only active on the seed profile, e.g. --spring.profiles.active=dev,seed --app.seed.users=1000000 --app.seed.tasks=10000000
+// Task counts per user follow a Zipf distribution, so a few users own most of the tasks like in real data.
+// Every value derives from app.seed.seed and the user index, so the data is the same whatever the thread count.
+// Dates count back from a fixed epoch, only the expiry of the refresh tokens depends on the current time.
+// Each chunk commits on its own, so a run that stopped halfway is resumed by seeding the missing users only.
+// Rows are written with batched JDBC inserts, one transaction per chunk of users, on parallel threads.
+// On MySQL add rewriteBatchedStatements=true to the JDBC URL so the batches become multi-row inserts.
+@Slf4j
+@Order(2)
+@Component
+@Profile("seed")
+public class SyntheticDataSeeder implements CommandLineRunner {
+
+    static final String EMAIL_PREFIX = "seed.user";
+    static final String EMAIL_DOMAIN = "@example.com";
+
+    private static final String INSERT_USER = "INSERT INTO app_users "
+            + "(firstname, lastname, email, password, role, permissions_mask, created_at, updated_at, created_by, updated_by) "
+            + "VALUES (:firstname, :lastname, :email, :password, :role, :permissions, :createdAt, :createdAt, :createdBy, :createdBy)";
+
+    private static final String INSERT_TASK = "INSERT INTO app_tasks "
+            + "(title, description, completed, user_id, created_at, updated_at, created_by, updated_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_REFRESH_TOKEN = "INSERT INTO refresh_tokens "
+            + "(token, user_id, expired, revoked, created_at, updated_at, created_by, updated_by) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String CREATED_BY = "seeder";
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static final String[] FIRST_NAMES = {"Ana", "Luis", "Maria", "Jose", "Carmen", "Juan", "Lucia", "Pedro",
+            "Sofia", "Diego", "Elena", "Pablo", "Laura", "Miguel", "Paula", "Javier"};
+
+    private static final String[] LAST_NAMES = {"Garcia", "Martinez", "Lopez", "Sanchez", "Perez", "Gomez", "Diaz",
+            "Torres", "Ruiz", "Ramirez", "Flores", "Morales", "Ortiz", "Castro", "Vargas", "Romero"};
+
+    private static final String[] TASK_VERBS = {"Review", "Update", "Fix", "Write", "Plan", "Deploy", "Test", "Refactor"};
+
+    private static final String[] TASK_SUBJECTS = {"the release notes", "the login page", "the monthly report",
+            "the database backup", "the onboarding guide", "the API docs", "the sprint board", "the invoice export"};
+
+    // Permission mixes and their weights, the rest of the users only read
+    private static final List<Set<Permission>> PERMISSION_MIXES = List.of(
+            EnumSet.of(Permission.TASK_READ),
+            EnumSet.of(Permission.TASK_READ, Permission.TASK_WRITE),
+            EnumSet.of(Permission.TASK_READ, Permission.TASK_WRITE, Permission.TASK_DELETE),
+            EnumSet.allOf(Permission.class)
+    );
+    private static final int[] PERMISSION_MIX_WEIGHTS = {40, 35, 15, 10};
+
+    private static final long REFRESH_TOKEN_STREAM = 0x5DEECE66DL;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final int users;
+    private final long tasks;
+    private final double zipfExponent;
+    private final int refreshTokensPerUser;
+    private final double adminRatio;
+    private final long seed;
+    private final int threads;
+    private final int batchSize;
+    private final String password;
+
+    public SyntheticDataSeeder(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.seed.users:10000}") int users,
+            @Value("${app.seed.tasks:100000}") long tasks,
+            @Value("${app.seed.zipf-exponent:1.0}") double zipfExponent,
+            @Value("${app.seed.refresh-tokens-per-user:1}") int refreshTokensPerUser,
+            @Value("${app.seed.admin-ratio:0.001}") double adminRatio,
+            @Value("${app.seed.seed:42}") long seed,
+            @Value("${app.seed.threads:0}") int threads,
+            @Value("${app.seed.batch-size:1000}") int batchSize,
+            @Value("${app.seed.password:password}") String password
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.users = users;
+        this.tasks = tasks;
+        this.zipfExponent = zipfExponent;
+        this.refreshTokensPerUser = refreshTokensPerUser;
+        this.adminRatio = adminRatio;
+        this.seed = seed;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.batchSize = Math.max(1, batchSize);
+        this.password = password;
+    }
+
+    // The raw value of a seeded refresh token, only its hash is stored
+    public static String refreshToken(long seed, long userIndex, int token) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ REFRESH_TOKEN_STREAM, userIndex * 31 + token));
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    public static String email(long userIndex) {
+        return EMAIL_PREFIX + userIndex + EMAIL_DOMAIN;
+    }
+
+    @Override
+    public void run(String... args) throws Exception {
+
+        if (users <= 0) {
+            return;
+        }
+
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM app_users WHERE email LIKE :pattern",
+                new MapSqlParameterSource("pattern", EMAIL_PREFIX + "%" + EMAIL_DOMAIN), Long.class);
+
+        if (existing != null && existing >= users) {
+            log.info("Synthetic data is already present, skipping the seeder");
+            return;
+        }
+
+        boolean resume = existing != null && existing > 0;
+
+        if (resume) {
+            log.info("Found {} of {} synthetic users from an interrupted run, seeding the missing ones", existing, users);
+        }
+
+        long started = System.nanoTime();
+
+        ZipfDistribution distribution = new ZipfDistribution(users, zipfExponent);
+        int stride = coprimeStride(users);
+
+        // Users share one hash of the seed password
+        String passwordHash = passwordEncoder.encode(password);
+
+        AtomicLong insertedUsers = new AtomicLong();
+        AtomicLong insertedTasks = new AtomicLong();
+        AtomicLong insertedTokens = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> chunks = new ArrayList<>();
+
+            for (int from = 0; from < users; from += batchSize) {
+                int start = from;
+                int end = Math.min(from + batchSize, users);
+
+                chunks.add(executor.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+                    int[] indexes = resume ? missingUsers(start, end) : IntStream.range(start, end).toArray();
+
+                    if (indexes.length == 0) {
+                        return;
+                    }
+
+                    long[] ids = insertUsers(indexes, passwordHash);
+                    insertedUsers.addAndGet(indexes.length);
+                    insertedTasks.addAndGet(insertTasks(indexes, ids, distribution, stride));
+                    insertedTokens.addAndGet(insertRefreshTokens(indexes, ids));
+                })));
+            }
+
+            for (Future<?> chunk : chunks) {
+                chunk.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Seeding synthetic data failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        long rows = insertedUsers.get() + insertedTasks.get() + insertedTokens.get();
+
+        log.info("Seeded {} users, {} tasks and {} refresh tokens in {} ms ({} rows/s)",
+                insertedUsers.get(), insertedTasks.get(), insertedTokens.get(), elapsed.toMillis(),
+                rows * 1000 / Math.max(1, elapsed.toMillis()));
+    }
+
+    // Users of the chunk committed by an earlier run, whatever batch size it used
+    private int[] missingUsers(int start, int end) {
+
+        List<String> emails = IntStream.range(start, end).mapToObj(SyntheticDataSeeder::email).toList();
+        Set<String> present = new HashSet<>(jdbcTemplate.queryForList("SELECT email FROM app_users WHERE email IN (:emails)",
+                new MapSqlParameterSource("emails", emails), String.class));
+
+        return IntStream.range(start, end).filter(index -> !present.contains(email(index))).toArray();
+    }
+
+    private long[] insertUsers(int[] indexes, String passwordHash) {
+
+        MapSqlParameterSource[] params = new MapSqlParameterSource[indexes.length];
+
+        for (int i = 0; i < indexes.length; i++) {
+            int index = indexes[i];
+            SplittableRandom random = random(index);
+            boolean admin = random.nextDouble() < adminRatio;
+            Set<Permission> permissions = admin ? EnumSet.allOf(Permission.class) : pick(random);
+
+            params[i] = new MapSqlParameterSource()
+                    .addValue("firstname", FIRST_NAMES[random.nextInt(FIRST_NAMES.length)])
+                    .addValue("lastname", LAST_NAMES[random.nextInt(LAST_NAMES.length)])
+                    .addValue("email", email(index))
+                    .addValue("password", passwordHash)
+                    .addValue("role", (admin ? Role.ADMIN : Role.USER).name())
+                    .addValue("permissions", AuthorityMask.of(null, permissions))
+                    .addValue("createdAt", createdAt(random))
+                    .addValue("createdBy", CREATED_BY);
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(INSERT_USER, params, keyHolder, new String[]{"id"});
+
+        return keyHolder.getKeyList().stream()
+                .mapToLong(keys -> ((Number) keys.values().iterator().next()).longValue())
+                .toArray();
+    }
+
+    private long insertTasks(int[] indexes, long[] ids, ZipfDistribution distribution, int stride) {
+
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long inserted = 0;
+
+        for (int offset = 0; offset < ids.length; offset++) {
+            int index = indexes[offset];
+            long count = distribution.count(rank(index, stride), tasks);
+            SplittableRandom random = random(index);
+            Timestamp createdAt = createdAt(random);
+
+            for (long task = 0; task < count; task++) {
+                batch.add(new Object[]{
+                        // Titles are unique per user
+                        TASK_VERBS[random.nextInt(TASK_VERBS.length)] + " "
+                                + TASK_SUBJECTS[random.nextInt(TASK_SUBJECTS.length)] + " #" + task,
+                        "Synthetic task generated by the seeder",
+                        random.nextInt(10) < 3,
+                        ids[offset],
+                        createdAt
+                });
+
+                if (batch.size() == batchSize) {
+                    inserted += flushTasks(batch);
+                }
+            }
+        }
+
+        return inserted + flushTasks(batch);
+    }
+
+    private long insertRefreshTokens(int[] indexes, long[] ids) {
+
+        if (refreshTokensPerUser <= 0) {
+            return 0;
+        }
+
+        Timestamp createdAt = Timestamp.valueOf(EPOCH);
+        List<Object[]> rows = new ArrayList<>(ids.length * refreshTokensPerUser);
+
+        for (int offset = 0; offset < ids.length; offset++) {
+            for (int token = 0; token < refreshTokensPerUser; token++) {
+                // The first token of every user is valid, older ones are expired or revoked
+                boolean current = token == 0;
+                rows.add(new Object[]{
+                        RefreshTokenService.hash(refreshToken(seed, indexes[offset], token)),
+                        ids[offset],
+                        Timestamp.valueOf(LocalDateTime.now().plusDays(current ? 7 : -token)),
+                        !current && token % 2 == 0,
+                        createdAt
+                });
+            }
+        }
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_REFRESH_TOKEN, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Object[] row = rows.get(i);
+                ps.setString(1, (String) row[0]);
+                ps.setLong(2, (Long) row[1]);
+                ps.setTimestamp(3, (Timestamp) row[2]);
+                ps.setBoolean(4, (Boolean) row[3]);
+                ps.setTimestamp(5, (Timestamp) row[4]);
+                ps.setTimestamp(6, (Timestamp) row[4]);
+                ps.setString(7, CREATED_BY);
+                ps.setString(8, CREATED_BY);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        });
+
+        return rows.size();
+    }
+
+    private long flushTasks(List<Object[]> batch) {
+
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        jdbcTemplate.getJdbcTemplate().batchUpdate(INSERT_TASK, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Object[] row = batch.get(i);
+                ps.setString(1, (String) row[0]);
+                ps.setString(2, (String) row[1]);
+                ps.setBoolean(3, (Boolean) row[2]);
+                ps.setLong(4, (Long) row[3]);
+                ps.setTimestamp(5, (Timestamp) row[4]);
+                ps.setTimestamp(6, (Timestamp) row[4]);
+                ps.setString(7, CREATED_BY);
+                ps.setString(8, CREATED_BY);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return batch.size();
+            }
+        });
+
+        int flushed = batch.size();
+        batch.clear();
+        return flushed;
+    }
+
+    private SplittableRandom random(long userIndex) {
+        return new SplittableRandom(mix(seed, userIndex));
+    }
+
+    private static Set<Permission> pick(SplittableRandom random) {
+
+        int roll = random.nextInt(100);
+
+        for (int i = 0; i < PERMISSION_MIX_WEIGHTS.length; i++) {
+            roll -= PERMISSION_MIX_WEIGHTS[i];
+            if (roll < 0) {
+                return PERMISSION_MIXES.get(i);
+            }
+        }
+
+        return PERMISSION_MIXES.get(0);
+    }
+
+    private static Timestamp createdAt(SplittableRandom random) {
+        return Timestamp.valueOf(EPOCH.minusMinutes(random.nextInt(365 * 24 * 60)));
+    }
+
+    // Spreads the Zipf ranks over the users, so the heaviest users aren't simply the first ids
+    private int rank(int userIndex, int stride) {
+        return (int) ((long) userIndex * stride % users) + 1;
+    }
+
+    private static int coprimeStride(int n) {
+
+        int stride = (int) (0x9E3779B1L % n);
+
+        while (n > 1 && gcd(stride, n) != 1) {
+            stride++;
+        }
+
+        return Math.max(1, stride);
+    }
+
+    private static int gcd(int a, int b) {
+        return b == 0 ? a : gcd(b, a % b);
+    }
+
+    // SplitMix64 finalizer over both values, so neighbouring user indexes get unrelated streams
+    private static long mix(long seed, long value) {
+        long z = seed + value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,65 @@
+package com.portafolio.gestor_tareas.config.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.config.application.LayerMetrics;
+import com.portafolio.gestor_tareas.config.application.Tracing;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+// Replaces the Jackson converter of Spring Boot to time and trace request and response (de)serialization.
+// Writing includes flushing the body to the connection, so slow clients show up here too.
+@Component
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final LayerMetrics.Timers readTimers;
+    private final LayerMetrics.Timers writeTimers;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, LayerMetrics layerMetrics) {
+        super(objectMapper);
+        this.readTimers = layerMetrics.timers(LayerMetrics.SERIALIZATION, "Jackson", "read");
+        this.writeTimers = layerMetrics.timers(LayerMetrics.SERIALIZATION, "Jackson", "write");
+    }
+
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage)
+            throws IOException, HttpMessageNotReadableException {
+
+        Tracing.Span span = Tracing.start("Jackson.read").attribute("layer", LayerMetrics.SERIALIZATION);
+        long start = System.nanoTime();
+        boolean succeeded = false;
+
+        try {
+            Object result = super.read(type, contextClass, inputMessage);
+            succeeded = true;
+            return result;
+        } finally {
+            readTimers.record(start, succeeded);
+            span.end(succeeded);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+
+        Tracing.Span span = Tracing.start("Jackson.write").attribute("layer", LayerMetrics.SERIALIZATION);
+        long start = System.nanoTime();
+        boolean succeeded = false;
+
+        try {
+            super.writeInternal(object, type, outputMessage);
+            succeeded = true;
+        } finally {
+            writeTimers.record(start, succeeded);
+            span.end(succeeded);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.portafolio.gestor_tareas.config.infrastructure.datasource;
+
+import com.portafolio.gestor_tareas.config.application.ReadYourWritesWindow;
+import com.portafolio.gestor_tareas.config.application.RoutingContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Sends read-only transactions to a healthy replica (round robin) and everything else to the primary.
+// Reads of a user who wrote within the read-your-writes window stay on the primary, and so does any
+// read when no replica is in rotation or inside a RoutingContext primary scope. Before authentication the
+// RoutingContext subject stands in for the user, so signup and login see their own rows.
+// Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is only known once
+// the first statement runs.
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesWindow readYourWrites;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Counter primaryWrite;
+    private final Counter primaryNoTransaction;
+    private final Counter primaryPinned;
+    private final Counter primaryLag;
+    private final Counter primaryRequired;
+    private final Counter replicaRead;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaLagMonitor lagMonitor,
+                                      ReadYourWritesWindow readYourWrites, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+
+        this.primaryWrite = counter(meterRegistry, "primary", "write");
+        this.primaryNoTransaction = counter(meterRegistry, "primary", "no_transaction");
+        this.primaryPinned = counter(meterRegistry, "primary", "read_your_writes");
+        this.primaryLag = counter(meterRegistry, "primary", "replica_unavailable");
+        this.primaryRequired = counter(meterRegistry, "primary", "primary_required");
+        this.replicaRead = counter(meterRegistry, "replica", "read_only");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("app.datasource.routing")
+                .description("Connections handed out by the read/write routing")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+
+        ReplicaLagMonitor.Replica replica = route();
+
+        if (replica == null) {
+            return primary.getConnection();
+        }
+
+        try {
+            return replica.dataSource().getConnection();
+        } catch (SQLException e) {
+            log.warn("Replica {} unavailable, reading from the primary: {}", replica.name(), e.getMessage());
+            replica.markDown();
+            return primary.getConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Routed connections use the credentials of each pool");
+    }
+
+    // Null means the primary
+    private ReplicaLagMonitor.Replica route() {
+
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            primaryNoTransaction.increment();
+            return null;
+        }
+
+        String user = currentUser();
+        String subject = RoutingContext.subject();
+
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if ((user != null || subject != null) && TransactionSynchronizationManager.isSynchronizationActive()) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        recordWrite(user);
+                        recordWrite(subject);
+                    }
+                });
+            }
+            primaryWrite.increment();
+            return null;
+        }
+
+        if (RoutingContext.primaryRequired()) {
+            primaryRequired.increment();
+            return null;
+        }
+
+        if (isPinned(user) || isPinned(subject)) {
+            primaryPinned.increment();
+            return null;
+        }
+
+        List<ReplicaLagMonitor.Replica> replicas = lagMonitor.replicas();
+        for (int attempt = 0; attempt < replicas.size(); attempt++) {
+            ReplicaLagMonitor.Replica replica = replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+            if (replica.healthy()) {
+                replicaRead.increment();
+                return replica;
+            }
+        }
+
+        primaryLag.increment();
+        return null;
+    }
+
+    private void recordWrite(String user) {
+        if (user != null) {
+            readYourWrites.recordWrite(user);
+        }
+    }
+
+    private boolean isPinned(String user) {
+        return user != null && readYourWrites.isPinned(user);
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated()
+                && !(authentication instanceof AnonymousAuthenticationToken) ? authentication.getName() : null;
+    }
+}
@@ -0,0 +1,169 @@
+package com.portafolio.gestor_tareas.config.infrastructure.datasource;
+
+import com.portafolio.gestor_tareas.config.application.ReadYourWritesWindow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Polls every replica for its replication lag. A replica whose lag is unknown (replication stopped,
+// query failed, no row) or above the maximum is taken out of the rotation until it catches up.
+// The lag query must return the lag in seconds, either in the lag column or in its first column.
+// Checks run on their own thread, starting right away: an unreachable replica can't hold up startup or
+// the shared @Scheduled thread, and replicas stay out of the rotation until their first check passes.
+@Slf4j
+public class ReplicaLagMonitor implements DisposableBean {
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final ReadYourWritesWindow readYourWrites;
+    private final String lagQuery;
+    private final String lagColumn;
+    private final long maxLagMillis;
+    private final ScheduledExecutorService scheduler;
+
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return name;
+        }
+
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean healthy() {
+            return healthy;
+        }
+
+        public double lagSeconds() {
+            return lagSeconds;
+        }
+
+        void markDown() {
+            healthy = false;
+        }
+    }
+
+    public ReplicaLagMonitor(List<DataSource> dataSources, ReadYourWritesWindow readYourWrites, MeterRegistry meterRegistry,
+                             String lagQuery, String lagColumn, long maxLagMillis, long checkIntervalMillis) {
+
+        this.readYourWrites = readYourWrites;
+        this.lagQuery = lagQuery;
+        this.lagColumn = lagColumn;
+        this.maxLagMillis = maxLagMillis;
+
+        for (int i = 0; i < dataSources.size(); i++) {
+            Replica replica = new Replica("replica-" + i, dataSources.get(i));
+            replicas.add(replica);
+
+            Gauge.builder("app.datasource.replica.lag", replica, Replica::lagSeconds)
+                    .description("Replication lag reported by each replica, NaN when unknown")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+            Gauge.builder("app.datasource.replica.healthy", replica, r -> r.healthy() ? 1 : 0)
+                    .description("Whether the replica currently receives read-only transactions")
+                    .tag("replica", replica.name())
+                    .register(meterRegistry);
+        }
+
+        Gauge.builder("app.datasource.routing.pinned.users", readYourWrites, ReadYourWritesWindow::size)
+                .description("Users whose reads are pinned to the primary after a write")
+                .register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::scheduledCheck, 0, checkIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void check() {
+
+        for (Replica replica : replicas) {
+            double lag = lagSeconds(replica);
+            boolean healthy = !Double.isNaN(lag) && lag * 1000 <= maxLagMillis;
+
+            if (replica.healthy && !healthy) {
+                log.warn("Replica {} taken out of rotation, lag {} s", replica.name, lag);
+            } else if (!replica.healthy && healthy) {
+                log.info("Replica {} back in rotation, lag {} s", replica.name, lag);
+            }
+
+            replica.lagSeconds = lag;
+            replica.healthy = healthy;
+        }
+
+        readYourWrites.purge();
+    }
+
+    // An exception would cancel every later run
+    private void scheduledCheck() {
+        try {
+            check();
+        } catch (RuntimeException e) {
+            log.warn("Replica lag check failed: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private double lagSeconds(Replica replica) {
+
+        try (Connection connection = replica.dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+
+            if (!resultSet.next()) {
+                return Double.NaN;
+            }
+
+            double lag = resultSet.getDouble(lagColumnIndex(resultSet.getMetaData()));
+            return resultSet.wasNull() ? Double.NaN : lag;
+        } catch (SQLException e) {
+            log.debug("Lag check failed on {}: {}", replica.name, e.getMessage());
+            return Double.NaN;
+        }
+    }
+
+    private int lagColumnIndex(ResultSetMetaData metaData) throws SQLException {
+
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (metaData.getColumnLabel(i).equalsIgnoreCase(lagColumn)) {
+                return i;
+            }
+        }
+        return 1;
+    }
+
+    public List<Replica> replicas() {
+        return replicas;
+    }
+}
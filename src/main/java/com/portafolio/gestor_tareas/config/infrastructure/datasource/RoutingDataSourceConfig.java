@@ -0,0 +1,111 @@
+package com.portafolio.gestor_tareas.config.infrastructure.datasource;
+
+import com.portafolio.gestor_tareas.config.application.ReadYourWritesWindow;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Replaces the single auto-configured pool with a primary pool plus one pool per replica.
+// Every pool keeps the spring.datasource.hikari settings and publishes the usual hikaricp.* meters.
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.routing.enabled", havingValue = "true")
+public class RoutingDataSourceConfig implements DisposableBean {
+
+    private final List<HikariDataSource> pools = new CopyOnWriteArrayList<>();
+
+    @Bean
+    public ReadYourWritesWindow readYourWritesWindow(
+            @Value("${app.datasource.routing.read-your-writes-ms:5000}") long windowMillis
+    ) {
+        return new ReadYourWritesWindow(windowMillis);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            Environment environment,
+            DataSourceProperties properties,
+            ReadYourWritesWindow readYourWritesWindow,
+            MeterRegistry meterRegistry,
+            @Value("${app.datasource.routing.replica-urls}") List<String> replicaUrls,
+            @Value("${app.datasource.routing.replica-username:${spring.datasource.username:}}") String username,
+            @Value("${app.datasource.routing.replica-password:${spring.datasource.password:}}") String password,
+            @Value("${app.datasource.routing.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${app.datasource.routing.lag-column:Seconds_Behind_Source}") String lagColumn,
+            @Value("${app.datasource.routing.max-lag-ms:1000}") long maxLagMillis,
+            @Value("${app.datasource.routing.lag-check-interval-ms:1000}") long checkIntervalMillis,
+            @Value("${app.datasource.routing.replica-connection-timeout-ms:1000}") long connectionTimeoutMillis
+    ) {
+        List<DataSource> replicas = new ArrayList<>();
+
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariDataSource replica = pool(environment, properties, meterRegistry, "replica-" + i);
+            replica.setJdbcUrl(replicaUrls.get(i).trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setReadOnly(true);
+            // A replica that is down fails fast, reads fall back to the primary once it leaves the rotation
+            replica.setConnectionTimeout(connectionTimeoutMillis);
+            replicas.add(replica);
+        }
+
+        return new ReplicaLagMonitor(replicas, readYourWritesWindow, meterRegistry, lagQuery, lagColumn, maxLagMillis,
+                checkIntervalMillis);
+    }
+
+    @Bean
+    public DataSource dataSource(
+            Environment environment,
+            DataSourceProperties properties,
+            ReplicaLagMonitor replicaLagMonitor,
+            ReadYourWritesWindow readYourWritesWindow,
+            MeterRegistry meterRegistry
+    ) {
+        HikariDataSource primary = pool(environment, properties, meterRegistry, "primary");
+
+        return new LazyConnectionDataSourceProxy(
+                new ReadWriteRoutingDataSource(primary, replicaLagMonitor, readYourWritesWindow, meterRegistry));
+    }
+
+    // Hibernate keeps a session's connection until the session closes, and open-in-view keeps the
+    // session for the whole request. Releasing after each transaction lets every transaction be routed.
+    @Bean
+    public HibernatePropertiesCustomizer routingConnectionHandling() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(Environment environment, DataSourceProperties properties,
+                                 MeterRegistry meterRegistry, String name) {
+
+        HikariDataSource pool = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+
+        pool.setPoolName(name);
+        pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        pools.add(pool);
+        return pool;
+    }
+}
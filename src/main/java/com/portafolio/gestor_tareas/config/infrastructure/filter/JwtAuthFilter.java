@@ -1,6 +1,10 @@
 package com.portafolio.gestor_tareas.config.infrastructure.filter;
 
 import com.portafolio.gestor_tareas.config.application.JwtService;
+import com.portafolio.gestor_tareas.config.application.LayerMetrics;
+import com.portafolio.gestor_tareas.config.application.RoutingContext;
+import com.portafolio.gestor_tareas.config.application.TokenRenewalCoalescer;
+import com.portafolio.gestor_tareas.config.application.Tracing;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -10,8 +14,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.lang.NonNull;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -21,27 +23,31 @@ import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 @Slf4j
 @Component
 public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
+    private final TokenRenewalCoalescer tokenRenewalCoalescer;
     private final UserDetailsService userDetailsService;
     private final HandlerExceptionResolver handlerExceptionResolver;
+    private final LayerMetrics.Timers timers;
 
     @Autowired
     public JwtAuthFilter(JwtService jwtService,
+                         TokenRenewalCoalescer tokenRenewalCoalescer,
                          UserDetailsService userDetailsService,
-                         HandlerExceptionResolver handlerExceptionResolver) {
+                         HandlerExceptionResolver handlerExceptionResolver,
+                         LayerMetrics layerMetrics) {
         this.jwtService = jwtService;
+        this.tokenRenewalCoalescer = tokenRenewalCoalescer;
         this.userDetailsService = userDetailsService;
         this.handlerExceptionResolver = handlerExceptionResolver;
+        this.timers = layerMetrics.timers(LayerMetrics.FILTER, "JwtAuthFilter", "doFilterInternal");
     }
 
+    // Only the authentication is timed, the rest of the chain runs outside the timer
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -49,13 +55,31 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             @NonNull FilterChain filterChain
     ) throws ServletException, IOException {
 
+        Tracing.Span span = Tracing.start("JwtAuthFilter.authenticate").attribute("layer", LayerMetrics.FILTER);
+        long start = System.nanoTime();
+        boolean proceed = false;
+
+        try {
+            proceed = authenticate(request, response);
+        } finally {
+            timers.record(start, proceed);
+            span.end(proceed);
+        }
+
+        if (proceed) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    // Returns false when the request was already answered with an error
+    private boolean authenticate(HttpServletRequest request, HttpServletResponse response) {
+
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
         final String userEmail;
 
         if (authHeader ==  null || !authHeader.startsWith("Bearer ")) {
-            filterChain.doFilter(request, response);
-            return;
+            return true;
         }
 
         try {
@@ -66,11 +90,24 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
             if (userEmail == null || SecurityContextHolder.getContext().getAuthentication() != null) {
                 log.debug("The JWT doesn´t contains a username");
-                filterChain.doFilter(request, response);
-                return;
+                return true;
             }
 
-            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
+            final Claims claims = jwtService.extractAllClaims(jwt);
+
+            // Checked before the renewal below, so a token issued before a logout on every device isn't renewed
+            if (jwtService.isTokenRevoked(claims)) {
+                log.debug("The JWT has been revoked");
+                SecurityContextHolder.clearContext();
+                return true;
+            }
+
+            // The SecurityContext is still empty, the token subject keeps a fresh signup's lookup on the primary
+            UserDetails userDetails;
+
+            try (RoutingContext.Scope ignored = RoutingContext.subject(userEmail)) {
+                userDetails = userDetailsService.loadUserByUsername(userEmail);
+            }
 
             boolean isTokenValid = jwtService.isTokenValid(jwt, userDetails);
             boolean isTokenExpired = jwtService.isTokenExpired(jwt);
@@ -79,29 +116,15 @@ public class JwtAuthFilter extends OncePerRequestFilter {
             if (!isTokenValid || (isTokenExpired && !canBeRenewed)) {
                 log.debug("The JWT is not valid");
                 SecurityContextHolder.clearContext();
-                filterChain.doFilter(request, response);
-                return;
+                return true;
             }
 
             if (isTokenExpired) {
                 log.debug("The JWT is expired and is going to be renewed");
-                String newToken = jwtService.renewToken(jwt, userDetails);
+                String newToken = tokenRenewalCoalescer.renew(jwt, userDetails);
                 response.setHeader("Authorization", "Bearer " + newToken);
             }
 
-            final Claims claims = jwtService.extractAllClaims(jwt);
-
-            final List<String> rolesRaw = claims.get("roles", List.class);
-            final List<String> permissionsRaw = claims.get("permissions", List.class);
-
-            final Set<SimpleGrantedAuthority> authorities = new HashSet<>();
-            if (rolesRaw != null) {
-                rolesRaw.forEach(r -> authorities.add(new SimpleGrantedAuthority(r)));
-            }
-            if (permissionsRaw != null) {
-                permissionsRaw.forEach(p -> authorities.add(new SimpleGrantedAuthority(p)));
-            }
-
             UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                     userDetails,
                     null,
@@ -117,9 +140,9 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         } catch (Exception e) {
             log.error("Error processing JWT: {}", e.getMessage());
             handlerExceptionResolver.resolveException(request, response, null, e);
-            return;
+            return false;
         }
 
-        filterChain.doFilter(request, response);
+        return true;
     }
 }
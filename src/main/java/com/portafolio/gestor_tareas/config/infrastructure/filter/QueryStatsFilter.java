@@ -0,0 +1,85 @@
+package com.portafolio.gestor_tareas.config.infrastructure.filter;
+
+import com.portafolio.gestor_tareas.config.application.QueryStats;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Opens a QueryStats scope per request, before the security filters so the user lookup is counted too.
+// Requests over the statement budget are logged, usually an N+1 or a per-id loop.
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final MeterRegistry meterRegistry;
+    private final int statementBudget;
+
+    public QueryStatsFilter(
+            MeterRegistry meterRegistry,
+            @Value("${app.db.query-stats.statement-budget:20}") int statementBudget
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // Failed requests are recorded too, they often issue the most statements
+        try (QueryStats.Scope scope = QueryStats.open()) {
+            try {
+                filterChain.doFilter(request, response);
+            } finally {
+                record(request, scope);
+            }
+        }
+    }
+
+    private void record(HttpServletRequest request, QueryStats.Scope scope) {
+
+        // The route pattern keeps the tags bounded, raw URIs would create a series per id
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : UNMATCHED;
+
+        DistributionSummary.builder("app.db.statements")
+                .description("SQL statements issued per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.statements());
+
+        Timer.builder("app.db.time")
+                .description("Database time per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(scope.nanos(), TimeUnit.NANOSECONDS);
+
+        if (scope.statements() > statementBudget) {
+            log.warn("{} {} issued {} SQL statements, the budget is {}",
+                    request.getMethod(), uri, scope.statements(), statementBudget);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.portafolio.gestor_tareas.config.infrastructure.filter;
+
+import com.portafolio.gestor_tareas.config.application.TraceExporter;
+import com.portafolio.gestor_tareas.config.application.Tracing;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Root span of every request. Spans are always collected, the decision to export is taken at the end:
+// head sampling keeps sample-rate of the requests, and the tail rule always keeps slow requests and server errors.
+// An incoming traceparent always sets the trace ID, but its sampled flag is only followed with
+// trust-incoming-sampled, otherwise any client could force the export of its requests.
+// The trace ID goes to the MDC, so it appears in the JSON logs, and back to the client as X-Trace-Id.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class TracingFilter extends OncePerRequestFilter {
+
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+    public static final String TRACE_ID = "traceId";
+    public static final String SPAN_ID = "spanId";
+
+    // W3C trace context: version-traceid-parentid-flags
+    private static final Pattern TRACEPARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-([0-9a-f]{2})");
+
+    private final TraceExporter traceExporter;
+    private final boolean enabled;
+    private final double sampleRate;
+    private final boolean trustIncomingSampled;
+    private final long slowThresholdNanos;
+    private final int maxSpans;
+
+    public TracingFilter(
+            TraceExporter traceExporter,
+            @Value("${app.tracing.enabled:true}") boolean enabled,
+            @Value("${app.tracing.sample-rate:0.01}") double sampleRate,
+            @Value("${app.tracing.trust-incoming-sampled:false}") boolean trustIncomingSampled,
+            @Value("${app.tracing.slow-threshold-ms:500}") long slowThresholdMillis,
+            @Value("${app.tracing.max-spans:2000}") int maxSpans
+    ) {
+        this.traceExporter = traceExporter;
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+        this.trustIncomingSampled = trustIncomingSampled;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        if (!enabled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String traceId = null;
+        String parentSpanId = null;
+        boolean sampled = ThreadLocalRandom.current().nextDouble() < sampleRate;
+
+        String traceparent = request.getHeader("traceparent");
+        Matcher matcher = traceparent == null ? null : TRACEPARENT.matcher(traceparent);
+
+        if (matcher != null && matcher.matches()) {
+            traceId = matcher.group(1);
+            parentSpanId = matcher.group(2);
+            if (trustIncomingSampled) {
+                sampled = (Integer.parseInt(matcher.group(3), 16) & 1) == 1;
+            }
+        }
+
+        boolean succeeded = false;
+
+        try (Tracing.Trace trace = Tracing.begin(traceId, parentSpanId, sampled, maxSpans, request.getMethod())) {
+            Tracing.Span root = trace.root();
+
+            MDC.put(TRACE_ID, trace.traceId());
+            MDC.put(SPAN_ID, root.spanId());
+            response.setHeader(TRACE_ID_HEADER, trace.traceId());
+
+            try {
+                filterChain.doFilter(request, response);
+                succeeded = response.getStatus() < 500;
+            } finally {
+                end(request, response, trace, succeeded);
+            }
+        } finally {
+            MDC.remove(TRACE_ID);
+            MDC.remove(SPAN_ID);
+        }
+    }
+
+    private void end(HttpServletRequest request, HttpServletResponse response, Tracing.Trace trace, boolean succeeded) {
+
+        Tracing.Span root = trace.root();
+
+        // The route pattern is only known once the request went through the dispatcher
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        root.rename(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()));
+        root.attribute("http.method", request.getMethod())
+                .attribute("http.target", request.getRequestURI())
+                .attribute("http.status_code", String.valueOf(response.getStatus()));
+
+        if (trace.dropped() > 0) {
+            root.attribute("tracing.dropped_spans", String.valueOf(trace.dropped()));
+        }
+
+        root.end(succeeded);
+
+        if (trace.sampled() || !succeeded || root.durationNanos() >= slowThresholdNanos) {
+            traceExporter.export(trace);
+        }
+    }
+}
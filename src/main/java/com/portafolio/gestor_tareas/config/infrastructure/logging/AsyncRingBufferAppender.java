@@ -0,0 +1,231 @@
+package com.portafolio.gestor_tareas.config.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import com.portafolio.gestor_tareas.config.application.RingBuffer;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Hands log events to the attached appenders from a single background thread. Request threads only
+// capture the event (message, MDC, thread name) and CAS it into a lock-free ring buffer, so console
+// or file I/O never runs on the request path. What happens when the buffer fills up is set by the
+// discard policy, every discarded event is counted.
+public class AsyncRingBufferAppender extends UnsynchronizedAppenderBase<ILoggingEvent>
+        implements AppenderAttachable<ILoggingEvent> {
+
+    public enum DiscardPolicy {
+        // Drop the incoming event when the buffer is full
+        DROP,
+        // Drop TRACE, DEBUG and INFO once the buffer goes over the discarding threshold, anything when full
+        DROP_BELOW_WARN,
+        // Wait for a free slot, only meant for batch jobs where no event may be lost
+        BLOCK
+    }
+
+    private static final long MAX_IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final AppenderAttachableImpl<ILoggingEvent> appenders = new AppenderAttachableImpl<>();
+    private final LongAdder discardedFull = new LongAdder();
+    private final LongAdder discardedBelowWarn = new LongAdder();
+
+    private int ringBufferSize = 8192;
+    private DiscardPolicy discardPolicy = DiscardPolicy.DROP_BELOW_WARN;
+    private int discardingThreshold = 80;
+    private boolean includeCallerData = false;
+    private int maxFlushTimeMillis = 1000;
+
+    private RingBuffer<ILoggingEvent> buffer;
+    private int discardingSize;
+    private Thread worker;
+    private volatile boolean draining;
+
+    @Override
+    public void start() {
+
+        if (isStarted()) {
+            return;
+        }
+
+        if (!appenders.iteratorForAppenders().hasNext()) {
+            addError("No appender attached to [" + name + "]");
+            return;
+        }
+
+        buffer = new RingBuffer<>(ringBufferSize);
+        discardingSize = Math.max(1, buffer.capacity() * discardingThreshold / 100);
+        draining = true;
+
+        worker = new Thread(this::drain, "logback-async-" + name);
+        worker.setDaemon(true);
+        worker.start();
+
+        super.start();
+    }
+
+    @Override
+    public void stop() {
+
+        if (!isStarted()) {
+            return;
+        }
+
+        super.stop();
+        draining = false;
+        LockSupport.unpark(worker);
+
+        try {
+            worker.join(maxFlushTimeMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (worker.isAlive()) {
+            addWarn("Gave up flushing [" + name + "] after " + maxFlushTimeMillis + " ms with "
+                    + buffer.size() + " events left");
+        }
+
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+
+        if (discardPolicy == DiscardPolicy.DROP_BELOW_WARN
+                && !event.getLevel().isGreaterOrEqual(Level.WARN)
+                && buffer.size() >= discardingSize) {
+            discardedBelowWarn.increment();
+            return;
+        }
+
+        // The worker thread sees neither the caller's MDC nor its stack, capture them now
+        event.prepareForDeferredProcessing();
+        if (includeCallerData) {
+            event.getCallerData();
+        }
+
+        while (!buffer.offer(event)) {
+            if (discardPolicy != DiscardPolicy.BLOCK || !isStarted()) {
+                discardedFull.increment();
+                return;
+            }
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(50));
+        }
+    }
+
+    private void drain() {
+
+        long idleParkNanos = 1;
+
+        while (draining) {
+            ILoggingEvent event = buffer.poll();
+
+            if (event == null) {
+                LockSupport.parkNanos(idleParkNanos);
+                idleParkNanos = Math.min(idleParkNanos << 1, MAX_IDLE_PARK_NANOS);
+                continue;
+            }
+
+            idleParkNanos = 1;
+            appenders.appendLoopOnAppenders(event);
+        }
+
+        ILoggingEvent event;
+        while ((event = buffer.poll()) != null) {
+            appenders.appendLoopOnAppenders(event);
+        }
+    }
+
+    public long getDiscardedWhenFull() {
+        return discardedFull.sum();
+    }
+
+    public long getDiscardedBelowWarn() {
+        return discardedBelowWarn.sum();
+    }
+
+    public int getQueueSize() {
+        return buffer == null ? 0 : buffer.size();
+    }
+
+    public int getRingBufferSize() {
+        return ringBufferSize;
+    }
+
+    public void setRingBufferSize(int ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+
+    public DiscardPolicy getDiscardPolicy() {
+        return discardPolicy;
+    }
+
+    public void setDiscardPolicy(DiscardPolicy discardPolicy) {
+        this.discardPolicy = discardPolicy;
+    }
+
+    public int getDiscardingThreshold() {
+        return discardingThreshold;
+    }
+
+    public void setDiscardingThreshold(int discardingThreshold) {
+        this.discardingThreshold = discardingThreshold;
+    }
+
+    public boolean isIncludeCallerData() {
+        return includeCallerData;
+    }
+
+    public void setIncludeCallerData(boolean includeCallerData) {
+        this.includeCallerData = includeCallerData;
+    }
+
+    public int getMaxFlushTimeMillis() {
+        return maxFlushTimeMillis;
+    }
+
+    public void setMaxFlushTimeMillis(int maxFlushTimeMillis) {
+        this.maxFlushTimeMillis = maxFlushTimeMillis;
+    }
+
+    @Override
+    public void addAppender(Appender<ILoggingEvent> appender) {
+        appenders.addAppender(appender);
+    }
+
+    @Override
+    public Iterator<Appender<ILoggingEvent>> iteratorForAppenders() {
+        return appenders.iteratorForAppenders();
+    }
+
+    @Override
+    public Appender<ILoggingEvent> getAppender(String name) {
+        return appenders.getAppender(name);
+    }
+
+    @Override
+    public boolean isAttached(Appender<ILoggingEvent> appender) {
+        return appenders.isAttached(appender);
+    }
+
+    @Override
+    public void detachAndStopAllAppenders() {
+        appenders.detachAndStopAllAppenders();
+    }
+
+    @Override
+    public boolean detachAppender(Appender<ILoggingEvent> appender) {
+        return appenders.detachAppender(appender);
+    }
+
+    @Override
+    public boolean detachAppender(String name) {
+        return appenders.detachAppender(name);
+    }
+}
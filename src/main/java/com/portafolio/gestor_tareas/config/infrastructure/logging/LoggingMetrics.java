@@ -0,0 +1,81 @@
+package com.portafolio.gestor_tareas.config.infrastructure.logging;
+
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+// Exposes what the logging pipeline threw away. The appenders and filters are looked up on every
+// scrape because Spring Boot rebuilds the logback configuration whenever a new context starts.
+@Component
+public class LoggingMetrics {
+
+    private static final String DROPPED = "app.logging.events.dropped";
+
+    public LoggingMetrics(MeterRegistry meterRegistry) {
+
+        register(meterRegistry, "queue_full", metrics -> metrics.appenders().stream()
+                .mapToLong(AsyncRingBufferAppender::getDiscardedWhenFull).sum());
+        register(meterRegistry, "below_warn", metrics -> metrics.appenders().stream()
+                .mapToLong(AsyncRingBufferAppender::getDiscardedBelowWarn).sum());
+        register(meterRegistry, "rate_limited", metrics -> metrics.turboFilters().stream()
+                .mapToLong(RateLimitingTurboFilter::getDenied).sum());
+
+        Gauge.builder("app.logging.queue.size", this, metrics -> metrics.appenders().stream()
+                        .mapToInt(AsyncRingBufferAppender::getQueueSize).sum())
+                .description("Log events waiting for the async appender thread")
+                .register(meterRegistry);
+        Gauge.builder("app.logging.queue.capacity", this, metrics -> metrics.appenders().stream()
+                        .mapToInt(AsyncRingBufferAppender::getRingBufferSize).sum())
+                .description("Slots of the async appender ring buffers")
+                .register(meterRegistry);
+    }
+
+    private void register(MeterRegistry meterRegistry, String reason, ToDoubleFunction<LoggingMetrics> dropped) {
+        FunctionCounter.builder(DROPPED, this, dropped)
+                .description("Log events dropped before reaching an appender")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    List<AsyncRingBufferAppender> appenders() {
+
+        List<AsyncRingBufferAppender> found = new ArrayList<>();
+
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            Iterator<Appender<ILoggingEvent>> iterator = context.getLogger(Logger.ROOT_LOGGER_NAME).iteratorForAppenders();
+
+            while (iterator.hasNext()) {
+                if (iterator.next() instanceof AsyncRingBufferAppender appender) {
+                    found.add(appender);
+                }
+            }
+        }
+        return found;
+    }
+
+    List<RateLimitingTurboFilter> turboFilters() {
+
+        List<RateLimitingTurboFilter> found = new ArrayList<>();
+
+        if (LoggerFactory.getILoggerFactory() instanceof LoggerContext context) {
+            for (TurboFilter filter : context.getTurboFilterList()) {
+                if (filter instanceof RateLimitingTurboFilter rateLimiting) {
+                    found.add(rateLimiting);
+                }
+            }
+        }
+        return found;
+    }
+}
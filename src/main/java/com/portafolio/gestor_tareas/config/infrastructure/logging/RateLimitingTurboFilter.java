@@ -0,0 +1,96 @@
+package com.portafolio.gestor_tareas.config.infrastructure.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Caps how many TRACE, DEBUG and INFO events each logger under the prefix may emit per second.
+// Past the cap only one event out of every sampleEvery is kept, so a flood of identical request logs
+// still leaves a trace without costing an event each. WARN and ERROR always pass. Turbo filters run
+// before the event is built, so a denied call costs one map lookup and one CAS.
+public class RateLimitingTurboFilter extends TurboFilter {
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+    private final LongAdder denied = new LongAdder();
+
+    private String loggerPrefix = "";
+    private int eventsPerSecond = 100;
+    private int sampleEvery = 100;
+
+    private static final class Window {
+
+        // Upper 32 bits are the second, lower 32 bits the events seen in that second
+        private final AtomicLong state = new AtomicLong();
+
+        private long next(long second) {
+
+            while (true) {
+                long current = state.get();
+                long count = (current >>> 32) == second ? (current & 0xFFFFFFFFL) + 1 : 1;
+
+                if (count > 0xFFFFFFFFL || state.compareAndSet(current, (second << 32) | count)) {
+                    return count;
+                }
+            }
+        }
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+
+        if (!isStarted() || level == null || level.isGreaterOrEqual(Level.WARN)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        // isDebugEnabled() style checks carry no format, and disabled levels are rejected by the logger
+        // anyway, neither of them may use up the budget
+        if (format == null || !level.isGreaterOrEqual(logger.getEffectiveLevel()) || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+
+        long count = windows.computeIfAbsent(logger.getName(), name -> new Window())
+                .next(System.currentTimeMillis() / 1000);
+
+        if (count <= eventsPerSecond || (count - eventsPerSecond) % sampleEvery == 0) {
+            return FilterReply.NEUTRAL;
+        }
+
+        denied.increment();
+        return FilterReply.DENY;
+    }
+
+    public long getDenied() {
+        return denied.sum();
+    }
+
+    public String getLoggerPrefix() {
+        return loggerPrefix;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public int getEventsPerSecond() {
+        return eventsPerSecond;
+    }
+
+    public void setEventsPerSecond(int eventsPerSecond) {
+        this.eventsPerSecond = eventsPerSecond;
+    }
+
+    public int getSampleEvery() {
+        return sampleEvery;
+    }
+
+    public void setSampleEvery(int sampleEvery) {
+        this.sampleEvery = Math.max(1, sampleEvery);
+    }
+}
@@ -0,0 +1,23 @@
+package com.portafolio.gestor_tareas.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Keyset page, pass nextCursor as the cursor parameter to get the following page")
+public class CursorPage<T> {
+
+    private List<T> items;
+
+    @Schema(example = "150")
+    private Long nextCursor;
+
+    @Schema(example = "true")
+    private boolean hasNext;
+}
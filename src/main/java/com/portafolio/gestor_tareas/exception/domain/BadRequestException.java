@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-public class BadRequestException extends RuntimeException {
+public class BadRequestException extends DomainException {
 
     private static final String DESCRIPTION = "Bad request exception";
 
@@ -0,0 +1,22 @@
+package com.portafolio.gestor_tareas.exception.domain;
+
+// Base of the exceptions used for expected outcomes (404, 403, 409, per-id errors in bulk loops).
+// They are thrown far more often than real failures, so by default they skip the stack walk:
+// filling in the trace is most of the cost of creating an exception. Stack traces can be turned
+// back on with app.exceptions.stack-traces when tracking down where one comes from.
+public abstract class DomainException extends RuntimeException {
+
+    private static volatile boolean stackTraces = Boolean.getBoolean("app.exceptions.stack-traces");
+
+    protected DomainException(String message) {
+        super(message, null, true, stackTraces);
+    }
+
+    public static boolean isStackTraces() {
+        return stackTraces;
+    }
+
+    public static void setStackTraces(boolean enabled) {
+        stackTraces = enabled;
+    }
+}
@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-public class ForbiddenException extends RuntimeException {
+public class ForbiddenException extends DomainException {
 
     private static final String DESCRIPTION = "Forbidden exception";
 
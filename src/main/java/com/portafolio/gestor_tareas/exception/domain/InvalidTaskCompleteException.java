@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-public class InvalidTaskCompleteException extends RuntimeException {
+public class InvalidTaskCompleteException extends DomainException {
 
     private static final String DESCRIPTION = "Invalid task completion status";
 
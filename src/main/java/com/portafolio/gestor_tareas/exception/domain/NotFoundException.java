@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-    public class NotFoundException extends RuntimeException {
+    public class NotFoundException extends DomainException {
 
         private static final String DESCRIPTION = "Not found exception";
 
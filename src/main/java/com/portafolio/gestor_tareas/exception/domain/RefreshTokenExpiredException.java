@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-public class RefreshTokenExpiredException extends RuntimeException {
+public class RefreshTokenExpiredException extends DomainException {
 
     private static final String DESCRIPTION = "RefreshToken expired";
 
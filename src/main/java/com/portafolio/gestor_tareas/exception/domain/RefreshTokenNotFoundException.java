@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-public class RefreshTokenNotFoundException extends RuntimeException {
+public class RefreshTokenNotFoundException extends DomainException {
 
     private static final String DESCRIPTION = "RefreshToken not found exception";
 
@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-public class RefreshTokenRevokedException extends RuntimeException {
+public class RefreshTokenRevokedException extends DomainException {
 
     private static final String DESCRIPTION = "RefreshToken revoked";
 
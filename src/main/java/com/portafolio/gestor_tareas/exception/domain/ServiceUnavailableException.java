@@ -0,0 +1,17 @@
+package com.portafolio.gestor_tareas.exception.domain;
+
+public class ServiceUnavailableException extends DomainException {
+
+    private static final String DESCRIPTION = "Service unavailable";
+
+    private final long retryAfterSeconds;
+
+    public ServiceUnavailableException(String detail, long retryAfterSeconds) {
+        super(DESCRIPTION + ". " + detail);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
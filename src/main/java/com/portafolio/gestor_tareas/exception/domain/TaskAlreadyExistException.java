@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-public class TaskAlreadyExistException extends RuntimeException {
+public class TaskAlreadyExistException extends DomainException {
 
     private static final String DESCRIPTION = "Task already exists";
 
@@ -0,0 +1,17 @@
+package com.portafolio.gestor_tareas.exception.domain;
+
+public class TooManyRequestsException extends DomainException {
+
+    private static final String DESCRIPTION = "Too many requests";
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String detail, long retryAfterSeconds) {
+        super(DESCRIPTION + ". " + detail);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-public class UserDontHavePermissionsException extends RuntimeException {
+public class UserDontHavePermissionsException extends DomainException {
 
     private static final String DESCRIPTION = "User does not have any permissions";
 
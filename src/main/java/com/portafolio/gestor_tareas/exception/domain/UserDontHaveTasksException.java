@@ -1,6 +1,6 @@
 package com.portafolio.gestor_tareas.exception.domain;
 
-public class UserDontHaveTasksException extends RuntimeException {
+public class UserDontHaveTasksException extends DomainException {
 
   private static final String DESCRIPTION = "User does not have any tasks";
 
@@ -5,6 +5,7 @@ import com.portafolio.gestor_tareas.exception.domain.*;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -33,14 +34,22 @@ public class GlobalExceptionHandler {
                 .build();
     }
 
+    // Expected errors (4xx and load shedding) are logged as a single line. Domain exceptions carry
+    // no stack trace unless app.exceptions.stack-traces is on, and then it is logged too
+    private void logExpectedError(String label, HttpServletRequest request, Exception e) {
+
+        if (DomainException.isStackTraces()) {
+            log.warn("{}: {} {} - {}", label, request.getMethod(), request.getRequestURI(), e.getMessage(), e);
+        } else {
+            log.warn("{}: {} {} - {}", label, request.getMethod(), request.getRequestURI(), e.getMessage());
+        }
+    }
+
     // Validation errors -> HTTP 400
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiError> handleValidation(MethodArgumentNotValidException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[VALIDATION ERROR]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[VALIDATION ERROR]", request, e);
 
         List<String> errors = e.getBindingResult()
                 .getFieldErrors()
@@ -56,10 +65,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BadRequestException.class)
     public ResponseEntity<ApiError> handleBadRequest(BadRequestException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[BAD REQUEST]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[BAD REQUEST]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -71,10 +77,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<ApiError> handleJsonParseError(HttpMessageNotReadableException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[JSON ERRORS]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[JSON ERRORS]", request, e);
 
         return ResponseEntity.badRequest()
                 .body(buildError(HttpStatus.BAD_REQUEST, request, List.of("Invalid request body")));
@@ -84,10 +87,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(RefreshTokenExpiredException.class)
     public ResponseEntity<ApiError> handleUnauthorized(RefreshTokenExpiredException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[REFRESH TOKEN EXPIRED]: {} {} - {}" ,method, path, e.getMessage(), e);
+        logExpectedError("[REFRESH TOKEN EXPIRED]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -99,10 +99,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(ForbiddenException.class)
     public ResponseEntity<ApiError> handleAccessDenied(ForbiddenException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[FORBIDDEN]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[FORBIDDEN]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -114,10 +111,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ApiError> handleSpringSecurityAccessDenied(AccessDeniedException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[ACCESS DENIED]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[ACCESS DENIED]", request, e);
 
         return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(buildError(HttpStatus.FORBIDDEN, request, List.of("Access Denied")));
@@ -127,10 +121,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(RefreshTokenRevokedException.class)
     public ResponseEntity<ApiError> handleRefreshTokenRevoked(RefreshTokenRevokedException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[REFRESH TOKEN REVOKED]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[REFRESH TOKEN REVOKED]", request, e);
 
         return ResponseEntity.status(HttpStatus.FORBIDDEN)
                 .body(buildError(HttpStatus.FORBIDDEN, request, List.of("Refresh token revoked")));
@@ -140,10 +131,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(NotFoundException.class)
     public ResponseEntity<ApiError> handleNotFound(NotFoundException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[NOT FOUND]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[NOT FOUND]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -155,10 +143,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(RefreshTokenNotFoundException.class)
     public ResponseEntity<ApiError> handleRefreshTokenNotFound(RefreshTokenNotFoundException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[REFRESH TOKEN NOT FOUND]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[REFRESH TOKEN NOT FOUND]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -170,10 +155,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(UserAlreadyExistsException.class)
     public ResponseEntity<ApiError> handleUserAlreadyExists(UserAlreadyExistsException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[USER ALREADY EXIST]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[USER ALREADY EXIST]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -185,10 +167,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(TaskAlreadyExistException.class)
     public ResponseEntity<ApiError> handleTaskAlreadyExists(TaskAlreadyExistException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[TASK ALREADY EXIST]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[TASK ALREADY EXIST]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -200,10 +179,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(InvalidTaskCompleteException.class)
     public ResponseEntity<ApiError> handleTaskAlreadyCompleted(InvalidTaskCompleteException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[INVALID TASK COMPLETED]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[INVALID TASK COMPLETED]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -215,10 +191,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(UserDontHavePermissionsException.class)
     public ResponseEntity<ApiError> handleUserDontHavePermissions(UserDontHavePermissionsException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[USER DONT HAVE PERMISSIONS]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[USER DONT HAVE PERMISSIONS]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -230,10 +203,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(UserDontHaveTasksException.class)
     public ResponseEntity<ApiError> handleUserDontHaveTasks(UserDontHaveTasksException e, HttpServletRequest request) {
 
-        String path = request.getRequestURI();
-        String method = request.getMethod();
-
-        log.warn("[USER DONT HAVE TASKS]: {} {} - {}", method, path, e.getMessage(), e);
+        logExpectedError("[USER DONT HAVE TASKS]", request, e);
 
         List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
 
@@ -241,6 +211,32 @@ public class GlobalExceptionHandler {
                 .body(buildError(HttpStatus.CONFLICT, request, errors));
     }
 
+    // TooManyRequests -> HTTP 429
+    @ExceptionHandler(TooManyRequestsException.class)
+    public ResponseEntity<ApiError> handleTooManyRequests(TooManyRequestsException e, HttpServletRequest request) {
+
+        logExpectedError("[TOO MANY REQUESTS]", request, e);
+
+        List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(buildError(HttpStatus.TOO_MANY_REQUESTS, request, errors));
+    }
+
+    // ServiceUnavailable -> HTTP 503
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<ApiError> handleServiceUnavailable(ServiceUnavailableException e, HttpServletRequest request) {
+
+        logExpectedError("[SERVICE UNAVAILABLE]", request, e);
+
+        List<String> errors = List.of(e.getMessage() != null ? e.getMessage() : DEFAULT_ERROR_MESSAGE);
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(buildError(HttpStatus.SERVICE_UNAVAILABLE, request, errors));
+    }
+
     // Exception -> 500
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiError> handleGeneric(Exception e, HttpServletRequest request) {
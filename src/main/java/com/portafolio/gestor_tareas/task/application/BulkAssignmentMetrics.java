@@ -0,0 +1,42 @@
+package com.portafolio.gestor_tareas.task.application;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+// Items processed by the bulk assign and unassign operations, by outcome
+@Component
+public class BulkAssignmentMetrics {
+
+    static final String COUNTER = "app.tasks.bulk.items";
+
+    private final Counter assigned;
+    private final Counter assignFailed;
+    private final Counter unassigned;
+    private final Counter unassignFailed;
+
+    public BulkAssignmentMetrics(MeterRegistry meterRegistry) {
+        this.assigned = counter(meterRegistry, "assign", "success");
+        this.assignFailed = counter(meterRegistry, "assign", "error");
+        this.unassigned = counter(meterRegistry, "unassign", "success");
+        this.unassignFailed = counter(meterRegistry, "unassign", "error");
+    }
+
+    public void assigned(long succeeded, long failed) {
+        assigned.increment(succeeded);
+        assignFailed.increment(failed);
+    }
+
+    public void unassigned(long succeeded, long failed) {
+        unassigned.increment(succeeded);
+        unassignFailed.increment(failed);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String operation, String outcome) {
+        return Counter.builder(COUNTER)
+                .description("Task assignments processed by the bulk operations")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,177 @@
+package com.portafolio.gestor_tareas.task.application;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.exception.domain.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+// Streams a {"assignments":[{"userId":1,"taskIds":[...]}]} payload token by token instead of binding it
+// to BulkTaskDTO. Task ids are handed out in long[] chunks as soon as their userId is known, so memory
+// stays bounded by the chunk size however large the payload is. Ids sent before their userId are held back.
+@Component
+public class BulkAssignmentReader {
+
+    public interface AssignmentHandler {
+
+        void start(Long userId);
+
+        // The array is reused between calls, only the first length ids belong to this chunk
+        void accept(long[] taskIds, int length);
+    }
+
+    private final JsonFactory jsonFactory;
+    private final int chunkSize;
+
+    public BulkAssignmentReader(
+            ObjectMapper objectMapper,
+            @Value("${app.tasks.bulk.chunk-size:1000}") int chunkSize
+    ) {
+        this.jsonFactory = objectMapper.getFactory();
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    public void read(InputStream input, AssignmentHandler handler) {
+
+        try (JsonParser parser = jsonFactory.createParser(input)) {
+
+            expect(parser.nextToken(), JsonToken.START_OBJECT, "The payload must be a JSON object");
+
+            boolean hasAssignments = false;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (!"assignments".equals(field)) {
+                    parser.skipChildren();
+                    continue;
+                }
+
+                expect(value, JsonToken.START_ARRAY, "assignments must be an array");
+
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    readAssignment(parser, handler);
+                    hasAssignments = true;
+                }
+
+                expect(parser.currentToken(), JsonToken.END_ARRAY, "assignments must only contain objects");
+            }
+
+            if (!hasAssignments) {
+                throw new BadRequestException("assignments cannot be empty");
+            }
+        } catch (JsonProcessingException e) {
+            throw new BadRequestException("Malformed JSON request");
+        } catch (IOException e) {
+            throw new UncheckedIOException("The bulk assignment payload couldn´t be read", e);
+        }
+    }
+
+    private void readAssignment(JsonParser parser, AssignmentHandler handler) throws IOException {
+
+        Assignment assignment = new Assignment(handler);
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if ("userId".equals(field)) {
+                assignment.userId(value == JsonToken.VALUE_NULL ? null : readId(parser, "userId"));
+            } else if ("taskIds".equals(field) && value != JsonToken.VALUE_NULL) {
+                expect(value, JsonToken.START_ARRAY, "taskIds must be an array");
+
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    assignment.add(readId(parser, "taskIds"));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        assignment.finish();
+    }
+
+    private static long readId(JsonParser parser, String field) throws IOException {
+
+        JsonToken token = parser.currentToken();
+
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getLongValue();
+        }
+
+        if (token == JsonToken.VALUE_STRING) {
+            try {
+                return Long.parseLong(parser.getText());
+            } catch (NumberFormatException e) {
+                throw new BadRequestException(field + " must only contain numeric ids");
+            }
+        }
+
+        throw new BadRequestException(field + " must only contain numeric ids");
+    }
+
+    private static void expect(JsonToken actual, JsonToken expected, String message) {
+        if (actual != expected) {
+            throw new BadRequestException(message);
+        }
+    }
+
+    private final class Assignment {
+
+        private final AssignmentHandler handler;
+        private long[] ids = new long[chunkSize];
+        private int length;
+        private Long userId;
+        private boolean hasUserId;
+        private boolean started;
+
+        private Assignment(AssignmentHandler handler) {
+            this.handler = handler;
+        }
+
+        private void userId(Long userId) {
+            this.userId = userId;
+            this.hasUserId = true;
+        }
+
+        private void add(long taskId) {
+
+            // The buffer only grows while the userId is still unknown
+            if (length == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+
+            ids[length++] = taskId;
+
+            if (hasUserId && length >= chunkSize) {
+                flush();
+            }
+        }
+
+        private void finish() {
+            flush();
+        }
+
+        private void flush() {
+
+            if (!started) {
+                handler.start(userId);
+                started = true;
+            }
+
+            if (length > 0) {
+                handler.accept(ids, length);
+                length = 0;
+            }
+        }
+    }
+}
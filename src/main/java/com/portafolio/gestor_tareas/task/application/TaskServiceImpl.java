@@ -1,9 +1,11 @@
 package com.portafolio.gestor_tareas.task.application;
 
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
 import com.portafolio.gestor_tareas.config.infrastructure.SecurityConfig;
 import com.portafolio.gestor_tareas.config.infrastructure.SecurityUtils;
 import com.portafolio.gestor_tareas.dto.ApiResponseDTO;
 import com.portafolio.gestor_tareas.dto.ApiResponseFactory;
+import com.portafolio.gestor_tareas.exception.domain.BadRequestException;
 import com.portafolio.gestor_tareas.exception.domain.InvalidTaskCompleteException;
 import com.portafolio.gestor_tareas.exception.domain.NotFoundException;
 import com.portafolio.gestor_tareas.exception.domain.TaskAlreadyExistException;
@@ -11,6 +13,7 @@ import com.portafolio.gestor_tareas.exception.domain.UserDontHaveTasksException;
 import com.portafolio.gestor_tareas.task.domain.Task;
 import com.portafolio.gestor_tareas.task.domain.TaskRepository;
 import com.portafolio.gestor_tareas.task.domain.TaskService;
+import com.portafolio.gestor_tareas.task.infrastructure.dto.BulkAssignmentResultDTO;
 import com.portafolio.gestor_tareas.task.infrastructure.dto.BulkTaskDTO;
 import com.portafolio.gestor_tareas.task.infrastructure.dto.TaskAssignmentDTO;
 import com.portafolio.gestor_tareas.task.infrastructure.dto.TaskDTO;
@@ -19,14 +22,14 @@ import com.portafolio.gestor_tareas.task.infrastructure.mapper.TaskMapper;
 import com.portafolio.gestor_tareas.task.infrastructure.repository.SpringTaskRepository;
 import com.portafolio.gestor_tareas.users.domain.User;
 import com.portafolio.gestor_tareas.users.domain.UserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
 import java.util.*;
 
 @Slf4j
@@ -40,13 +43,14 @@ public class TaskServiceImpl implements TaskService {
     private final UserRepository userRepository;
     private final SecurityConfig securityConfig;
     private final SecurityUtils securityUtils;
-
-    private Task task;
+    private final BulkAssignmentReader bulkAssignmentReader;
+    private final BulkAssignmentMetrics bulkAssignmentMetrics;
 
     private static final String USER_NOT_FOUND = "User not found";
     private static final String TASK_NOT_FOUND = "Task not found";
     private static final String NOT_FOUND = " not found";
     private static final String ERRORS = "errors";
+    private static final int MAX_REPORTED_MESSAGES = 1000;
 
     @Override
     @Transactional
@@ -113,9 +117,10 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TaskDTO findById(Long id, UserDetails userDetails) {
 
-        task = taskRepository.findById(id)
+        Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(TASK_NOT_FOUND));
 
         securityConfig.checkAccess(task.getUser().getId(), userDetails);
@@ -124,23 +129,22 @@ public class TaskServiceImpl implements TaskService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TaskDTO> findAll(Long id, UserDetails userDetails) {
 
+        boolean isAdmin = AuthorityMask.isAdmin(userDetails);
+
         return taskRepository.findAll()
                 .stream()
-                .filter(taskUse -> {
-                    if (userDetails.getAuthorities().contains(new SimpleGrantedAuthority("ROLE_ADMIN"))) {
-                        return true;
-                    }
-                    return taskUse.getUser() != null && taskUse.getUser().getId().equals(id);
-                })
+                .filter(taskUse -> isAdmin
+                        || (taskUse.getUser() != null && taskUse.getUser().getId().equals(id)))
                 .map(taskMapper::taskToTaskDTO)
                 .toList();
     }
 
     @Override
     public void delete(Long id, UserDetails userDetails) {
-        task = taskRepository.findById(id)
+        Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("The task does not exist"));
 
         securityConfig.checkAccess(task.getUser().getId(), userDetails);
@@ -151,7 +155,7 @@ public class TaskServiceImpl implements TaskService {
     @Override
     public void updateCompletionStatus(Long id, boolean complete, UserDetails userDetails) {
 
-        task = taskRepository.findById(id)
+        Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException("The task does not exist"));
 
         securityConfig.checkAccess(task.getUser().getId(), userDetails);
@@ -183,7 +187,7 @@ public class TaskServiceImpl implements TaskService {
         if (taskIds.size() == 1) {
             Long taskId = taskIds.get(0);
 
-            task = taskRepository.findById(taskId)
+            Task task = taskRepository.findById(taskId)
                     .orElseThrow(() -> new NotFoundException(TASK_NOT_FOUND));
 
             task.setUser(user);
@@ -213,6 +217,20 @@ public class TaskServiceImpl implements TaskService {
          return processTaskForUser(bulkTaskDTO.assignments());
     }
 
+    @Override
+    public BulkAssignmentResultDTO addTasksToUsers(InputStream payload) {
+
+        AssignmentReport report = new AssignmentReport(MAX_REPORTED_MESSAGES);
+
+        try {
+            bulkAssignmentReader.read(payload, new AssignHandler(report));
+        } finally {
+            bulkAssignmentMetrics.assigned(report.succeeded, report.failed);
+        }
+
+        return report.toResult();
+    }
+
     @Override
     public Map<String, List<String>> unassignTasksFromUser(Long userId, List<Long> taskIds) {
 
@@ -225,7 +243,7 @@ public class TaskServiceImpl implements TaskService {
         if (taskIds.size() == 1) {
             Long taskId = taskIds.get(0);
 
-            task = taskRepository.findById(taskId)
+            Task task = taskRepository.findById(taskId)
                     .orElseThrow(() -> new NotFoundException(TASK_NOT_FOUND));
 
             if (!user.equals(task.getUser())) {
@@ -259,75 +277,194 @@ public class TaskServiceImpl implements TaskService {
         return removeTasksFromUsers(bulkTaskDTO.assignments());
     }
 
+    @Override
+    public BulkAssignmentResultDTO unassignTasksFromUsers(InputStream payload) {
+
+        AssignmentReport report = new AssignmentReport(MAX_REPORTED_MESSAGES);
+
+        try {
+            bulkAssignmentReader.read(payload, new UnassignHandler(report));
+        } finally {
+            bulkAssignmentMetrics.unassigned(report.succeeded, report.failed);
+        }
+
+        return report.toResult();
+    }
+
     private Map<String, List<String>> processTaskForUser(List<TaskAssignmentDTO> assignments) {
 
-        List<String> successMessages = new ArrayList<>();
-        List<String> errorMessages = new ArrayList<>();
+        AssignmentReport report = new AssignmentReport(Integer.MAX_VALUE);
+        feed(assignments, new AssignHandler(report));
+        bulkAssignmentMetrics.assigned(report.succeeded, report.failed);
+        return report.toMap();
+    }
+
+    private Map<String, List<String>> removeTasksFromUsers(List<TaskAssignmentDTO> deletions) {
+
+        AssignmentReport report = new AssignmentReport(Integer.MAX_VALUE);
+        feed(deletions, new UnassignHandler(report));
+        bulkAssignmentMetrics.unassigned(report.succeeded, report.failed);
+        return report.toMap();
+    }
+
+    private static void feed(List<TaskAssignmentDTO> assignments, BulkAssignmentReader.AssignmentHandler handler) {
 
         for (TaskAssignmentDTO assignment : assignments) {
-            try {
-                User user = userRepository.findById(assignment.userId())
-                        .orElseThrow(() -> new NotFoundException("User with id " + assignment.userId() + NOT_FOUND));
+            long[] taskIds = assignment.taskIds() == null
+                    ? new long[0]
+                    : assignment.taskIds().stream().mapToLong(Long::longValue).toArray();
+
+            handler.start(assignment.userId());
+            handler.accept(taskIds, taskIds.length);
+        }
+    }
+
+    // A streamed payload skips bean validation, so the missing userId is rejected here like TaskAssignmentDTO does
+    private Optional<User> findAssignee(Long userId) {
+
+        if (userId == null) {
+            throw new BadRequestException("userId cannot be null");
+        }
+
+        return userRepository.findById(userId);
+    }
+
+    // Both handlers resolve the user once per assignment and then work through its task ids chunk by chunk.
+    // An assignment stops at its first failing task, the remaining chunks of that assignment are skipped.
+    private final class AssignHandler implements BulkAssignmentReader.AssignmentHandler {
+
+        private final AssignmentReport report;
+        private User user;
+
+        private AssignHandler(AssignmentReport report) {
+            this.report = report;
+        }
 
-                for (Long taskId : assignment.taskIds()) {
+        @Override
+        public void start(Long userId) {
+            user = findAssignee(userId).orElse(null);
 
-                    task = taskRepository.findById(taskId)
+            if (user == null) {
+                report.error(new NotFoundException("User with id " + userId + NOT_FOUND).getMessage());
+            }
+        }
+
+        @Override
+        public void accept(long[] taskIds, int length) {
+
+            if (user == null) {
+                return;
+            }
+
+            try {
+                for (int i = 0; i < length; i++) {
+                    long taskId = taskIds[i];
+
+                    Task taskToAssign = taskRepository.findById(taskId)
                             .orElseThrow(() -> new NotFoundException("Task with id " + taskId + NOT_FOUND));
 
-                    task.setUser(user);
-                    taskRepository.save(task);
-                    successMessages.add("Task " + taskId + " assigned to user " + user.getId());
+                    taskToAssign.setUser(user);
+                    taskRepository.save(taskToAssign);
+                    report.success("Task " + taskId + " assigned to user " + user.getId());
                 }
-
             } catch (NotFoundException e) {
-                errorMessages.add(e.getMessage());
+                report.error(e.getMessage());
+                user = null;
             }
         }
-
-        Map<String, List<String>> result = new HashMap<>();
-        result.put("success", successMessages);
-        result.put(ERRORS, errorMessages);
-        return result;
     }
 
-    private Map<String, List<String>> removeTasksFromUsers(List<TaskAssignmentDTO> deletions) {
+    private final class UnassignHandler implements BulkAssignmentReader.AssignmentHandler {
 
-        List<String> successMessages = new ArrayList<>();
-        List<String> errorMessages = new ArrayList<>();
+        private final AssignmentReport report;
+        private User user;
 
-        for (TaskAssignmentDTO deletion : deletions) {
+        private UnassignHandler(AssignmentReport report) {
+            this.report = report;
+        }
+
+        @Override
+        public void start(Long userId) {
             try {
-                User user = userRepository.findById(deletion.userId())
-                        .orElseThrow(() -> new NotFoundException("User with id " + deletion.userId() + NOT_FOUND));
+                user = findAssignee(userId)
+                        .orElseThrow(() -> new NotFoundException("User with id " + userId + NOT_FOUND));
 
-                List<Task> userTasks = taskRepository.findByUser(user);
+                if (!taskRepository.existsByUser(user)) {
+                    throw new UserDontHaveTasksException("User with id " + userId + " doesn’t have any tasks");
+                }
+            } catch (NotFoundException | UserDontHaveTasksException e) {
+                report.error(e.getMessage());
+                user = null;
+            }
+        }
 
-                if (userTasks.isEmpty()) {
-                    throw new UserDontHaveTasksException("User with id " + deletion.userId() + " doesn’t have any tasks");
-                } else {
-                    for (Long taskId : deletion.taskIds()) {
+        @Override
+        public void accept(long[] taskIds, int length) {
 
-                        task = taskRepository.findById(taskId)
-                                .orElseThrow(() -> new NotFoundException("Task with id " + taskId + NOT_FOUND));
+            if (user == null) {
+                return;
+            }
 
-                        if (!user.equals(task.getUser())) {
-                            throw new UserDontHaveTasksException(
-                                    "Task with id " + taskId + " is not assigned to user " + user.getId());
-                        }
+            try {
+                for (int i = 0; i < length; i++) {
+                    long taskId = taskIds[i];
+
+                    Task taskToUnassign = taskRepository.findById(taskId)
+                            .orElseThrow(() -> new NotFoundException("Task with id " + taskId + NOT_FOUND));
 
-                        task.setUser(null);
-                        taskRepository.save(task);
-                        successMessages.add("Task " + taskId + " removed from user " + user.getId());
+                    if (!user.equals(taskToUnassign.getUser())) {
+                        throw new UserDontHaveTasksException(
+                                "Task with id " + taskId + " is not assigned to user " + user.getId());
                     }
+
+                    taskToUnassign.setUser(null);
+                    taskRepository.save(taskToUnassign);
+                    report.success("Task " + taskId + " removed from user " + user.getId());
                 }
             } catch (NotFoundException | UserDontHaveTasksException e) {
-                errorMessages.add(e.getMessage());
+                report.error(e.getMessage());
+                user = null;
+            }
+        }
+    }
+
+    // Counts every outcome but keeps at most maxMessages of each kind, so the response of a streamed
+    // bulk request doesn't grow with the payload
+    private static final class AssignmentReport {
+
+        private final int maxMessages;
+        private final List<String> successMessages = new ArrayList<>();
+        private final List<String> errorMessages = new ArrayList<>();
+        private long succeeded;
+        private long failed;
+
+        private AssignmentReport(int maxMessages) {
+            this.maxMessages = maxMessages;
+        }
+
+        private void success(String message) {
+            succeeded++;
+            if (successMessages.size() < maxMessages) {
+                successMessages.add(message);
             }
         }
 
-        Map<String, List<String>> result = new HashMap<>();
-        result.put("success", successMessages);
-        result.put(ERRORS, errorMessages);
-        return result;
+        private void error(String message) {
+            failed++;
+            if (errorMessages.size() < maxMessages) {
+                errorMessages.add(message);
+            }
+        }
+
+        private Map<String, List<String>> toMap() {
+            Map<String, List<String>> result = new HashMap<>();
+            result.put("success", successMessages);
+            result.put(ERRORS, errorMessages);
+            return result;
+        }
+
+        private BulkAssignmentResultDTO toResult() {
+            return new BulkAssignmentResultDTO(succeeded, failed, successMessages, errorMessages);
+        }
     }
 }
@@ -18,4 +18,6 @@ public interface TaskRepository {
     Optional<Task> findByUserIdAndTitleIgnoreCase(Long userId, String title);
 
     List<Task> findByUser(User user);
+
+    boolean existsByUser(User user);
 }
@@ -1,9 +1,11 @@
 package com.portafolio.gestor_tareas.task.domain;
 
+import com.portafolio.gestor_tareas.task.infrastructure.dto.BulkAssignmentResultDTO;
 import com.portafolio.gestor_tareas.task.infrastructure.dto.BulkTaskDTO;
 import com.portafolio.gestor_tareas.task.infrastructure.dto.TaskDTO;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -25,7 +27,11 @@ public interface TaskService {
 
     Map<String, List<String>> addTasksToUsers(BulkTaskDTO bulkTaskDTO);
 
+    BulkAssignmentResultDTO addTasksToUsers(InputStream payload);
+
     Map<String, List<String>> unassignTasksFromUser(Long userId, List<Long> taskIds);
 
     Map<String, List<String>> unassignTasksFromUsers(BulkTaskDTO bulkTaskDTO);
+
+    BulkAssignmentResultDTO unassignTasksFromUsers(InputStream payload);
 }
@@ -1,11 +1,13 @@
 package com.portafolio.gestor_tareas.task.infrastructure;
 
 import com.portafolio.gestor_tareas.dto.ApiResponseDTO;
-import com.portafolio.gestor_tareas.task.infrastructure.dto.BulkTaskDTO;
+import com.portafolio.gestor_tareas.task.infrastructure.dto.BulkAssignmentResultDTO;
 import com.portafolio.gestor_tareas.task.infrastructure.dto.TaskDTO;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -25,9 +27,9 @@ public interface TaskController {
 
     ResponseEntity<ApiResponseDTO<Map<String, Object>>> addTasksToUser(Long userId, List<Long> taskIds);
 
-    ResponseEntity<ApiResponseDTO<Map<String, List<String>>>> addTasksToUsers(BulkTaskDTO bulkTaskDTO);
+    ResponseEntity<ApiResponseDTO<BulkAssignmentResultDTO>> addTasksToUsers(HttpServletRequest request) throws IOException;
 
     ResponseEntity<ApiResponseDTO<Map<String, Object>>> unassignTasksFromUser(Long userId, List<Long> taskIds);
 
-    ResponseEntity<ApiResponseDTO<Map<String, List<String>>>> unassignTasksFromUsers(BulkTaskDTO bulkTaskDTO);
+    ResponseEntity<ApiResponseDTO<BulkAssignmentResultDTO>> unassignTasksFromUsers(HttpServletRequest request) throws IOException;
 }
@@ -4,23 +4,28 @@ import com.portafolio.gestor_tareas.config.infrastructure.SecurityUtils;
 import com.portafolio.gestor_tareas.dto.ApiResponseDTO;
 import com.portafolio.gestor_tareas.dto.ApiResponseFactory;
 import com.portafolio.gestor_tareas.task.domain.TaskService;
+import com.portafolio.gestor_tareas.task.infrastructure.dto.BulkAssignmentResultDTO;
 import com.portafolio.gestor_tareas.task.infrastructure.dto.BulkTaskDTO;
 import com.portafolio.gestor_tareas.task.infrastructure.dto.TaskDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 
@@ -196,7 +201,8 @@ public class TaskControllerImpl implements TaskController{
     }
 
     @Operation(summary = "Add tasks to users",
-            description = "Tasks are added to users in bulk")
+            description = "Tasks are added to users in bulk. The payload is streamed, so the response only lists "
+                    + "the first messages of each kind next to the total counters")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "All tasks assigned successfully"),
             @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest", content = @Content),
@@ -205,14 +211,16 @@ public class TaskControllerImpl implements TaskController{
             @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalError")
     })
     @PreAuthorize("hasAuthority('TASK_ASSIGN')")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BulkTaskDTO.class)))
     @PostMapping("/users")
-    public ResponseEntity<ApiResponseDTO<Map<String, List<String>>>> addTasksToUsers(
-            @RequestBody BulkTaskDTO bulkTaskDTO
-    ) {
+    public ResponseEntity<ApiResponseDTO<BulkAssignmentResultDTO>> addTasksToUsers(
+            HttpServletRequest request
+    ) throws IOException {
         log.info("POST /api/task/users - add tasks to users");
-        Map<String, List<String>> result = taskService.addTasksToUsers(bulkTaskDTO);
+        BulkAssignmentResultDTO result = taskService.addTasksToUsers(request.getInputStream());
 
-        String message = result.get("errors").isEmpty()
+        String message = result.getFailed() == 0
                 ? "All tasks assigned successfully"
                 : "Some assignments failed";
         log.info("Tasks assigned successfully");
@@ -252,7 +260,8 @@ public class TaskControllerImpl implements TaskController{
     }
 
     @Operation(summary = "Unassign tasks from users",
-            description = "Removes task assignments in bulk for multiple users")
+            description = "Removes task assignments in bulk for multiple users. The payload is streamed, so the "
+                    + "response only lists the first messages of each kind next to the total counters")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "All tasks successfully deleted"),
             @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest", content = @Content),
@@ -262,14 +271,16 @@ public class TaskControllerImpl implements TaskController{
             @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalError")
     })
     @PreAuthorize("hasAuthority('TASK_UNASSIGN')")
+    @io.swagger.v3.oas.annotations.parameters.RequestBody(required = true, content = @Content(
+            mediaType = MediaType.APPLICATION_JSON_VALUE, schema = @Schema(implementation = BulkTaskDTO.class)))
     @DeleteMapping("/users")
-    public ResponseEntity<ApiResponseDTO<Map<String, List<String>>>> unassignTasksFromUsers(
-            @RequestBody BulkTaskDTO bulkTaskDTO
-    ) {
+    public ResponseEntity<ApiResponseDTO<BulkAssignmentResultDTO>> unassignTasksFromUsers(
+            HttpServletRequest request
+    ) throws IOException {
         log.warn("DELETE /api/task/users - unassing tasks from users");
-        Map<String, List<String>> result = taskService.unassignTasksFromUsers(bulkTaskDTO);
+        BulkAssignmentResultDTO result = taskService.unassignTasksFromUsers(request.getInputStream());
 
-        String message = result.get("errors").isEmpty()
+        String message = result.getFailed() == 0
                 ? "All tasks successfully unassigned"
                 : "Some tasks could not be unassigned";
         log.info("All task successfully unassigned");
@@ -0,0 +1,27 @@
+package com.portafolio.gestor_tareas.task.infrastructure.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk assignment. Counters cover every task, message lists only the first ones")
+public class BulkAssignmentResultDTO {
+
+    @Schema(example = "1000")
+    private long succeeded;
+
+    @Schema(example = "1")
+    private long failed;
+
+    @Schema(example = "[\"Task 1 assigned to user 2\"]")
+    private List<String> success;
+
+    @Schema(example = "[\"Not found exception. Task with id 99 not found\"]")
+    private List<String> errors;
+}
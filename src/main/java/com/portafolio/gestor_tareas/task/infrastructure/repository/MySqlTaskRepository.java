@@ -58,4 +58,9 @@ public class MySqlTaskRepository implements TaskRepository {
         return springTaskRepository.findByUser(userEntity)
                 .stream().map(taskMapper::taskEntityToTask).toList();
     }
+
+    @Override
+    public boolean existsByUser(User user) {
+        return springTaskRepository.existsByUser(userMapper.userToUserEntity(user));
+    }
 }
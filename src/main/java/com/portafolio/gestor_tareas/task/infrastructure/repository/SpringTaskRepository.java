@@ -15,4 +15,6 @@ public interface SpringTaskRepository extends JpaRepository<TaskEntity, Long> {
     Optional<TaskEntity> findByUserIdAndTitleIgnoreCase(Long userId, String title);
 
     List<TaskEntity> findByUser(UserEntity user);
+
+    boolean existsByUser(UserEntity user);
 }
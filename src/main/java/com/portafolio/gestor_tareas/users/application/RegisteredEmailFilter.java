@@ -0,0 +1,80 @@
+package com.portafolio.gestor_tareas.users.application;
+
+import com.portafolio.gestor_tareas.config.application.ScalableBloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Locale;
+
+// Bloom filter of every registered email. A negative answer means the email is certainly new,
+// so signups can skip the existence query; a positive one still has to ask the database.
+// Until the startup scan finishes every email is reported as possibly registered.
+// Deleted users stay in the filter, which only costs an extra query for their old email.
+@Slf4j
+@Component
+public class RegisteredEmailFilter {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int scanFetchSize;
+    private final ScalableBloomFilter filter;
+
+    private volatile boolean ready;
+
+    public RegisteredEmailFilter(
+            JdbcTemplate jdbcTemplate,
+            @Value("${app.users.email-filter.expected-users:100000}") long expectedUsers,
+            @Value("${app.users.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.users.email-filter.scan-fetch-size:1000}") int scanFetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.scanFetchSize = scanFetchSize;
+        this.filter = new ScalableBloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    // Emails registered while the scan runs are added by add(), so none of them can be missed
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(
+                    "SELECT email FROM app_users", ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(scanFetchSize);
+            return statement;
+        }, (RowCallbackHandler) rs -> add(rs.getString("email")));
+
+        ready = true;
+
+        log.info("Registered email filter loaded with {} emails", filter.approximateSize());
+    }
+
+    public boolean mightBeRegistered(String email) {
+
+        if (!ready || email == null) {
+            return true;
+        }
+
+        return filter.mightContain(normalize(email));
+    }
+
+    public void add(String email) {
+        if (email != null) {
+            filter.put(normalize(email));
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Lower case so a database with a case-insensitive collation can never see a false negative
+    private String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
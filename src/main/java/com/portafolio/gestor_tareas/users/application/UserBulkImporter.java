@@ -0,0 +1,430 @@
+package com.portafolio.gestor_tareas.users.application;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
+import com.portafolio.gestor_tareas.config.application.BoundedPasswordEncoder;
+import com.portafolio.gestor_tareas.exception.domain.BadRequestException;
+import com.portafolio.gestor_tareas.exception.domain.ServiceUnavailableException;
+import com.portafolio.gestor_tareas.users.domain.ImportFormat;
+import com.portafolio.gestor_tareas.users.domain.ImportStatus;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserImportResultDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserImportRowDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+// Streams users from a CSV or NDJSON upload and imports them chunk by chunk. Each chunk hashes its
+// passwords in parallel on the bounded hashing pool, finds email collisions with one IN query and
+// writes the remaining users with a single JDBC batch in its own transaction.
+// Only the current chunk and the per-row outcomes are kept in memory.
+@Slf4j
+@Component
+public class UserBulkImporter {
+
+    private static final String INSERT_USER = "INSERT INTO app_users "
+            + "(firstname, lastname, email, password, role, permissions_mask, created_at, updated_at, created_by, updated_by) "
+            + "VALUES (:firstname, :lastname, :email, :password, :role, :permissions, :now, :now, :importedBy, :importedBy)";
+
+    private static final String FIND_EMAILS = "SELECT email FROM app_users WHERE email IN (:emails)";
+
+    private static final List<String> REQUIRED_COLUMNS = List.of("firstname", "lastname", "email", "password");
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final UserSearchIndex userSearchIndex;
+    private final int chunkSize;
+    private final int hashParallelism;
+
+    private record Row(long line, UserDTO user, String error) {}
+
+    private record Candidate(UserDTO user, UserImportRowDTO result) {}
+
+    @FunctionalInterface
+    private interface RowParser {
+        UserDTO parse(String line) throws IOException;
+    }
+
+    public UserBulkImporter(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            PasswordEncoder passwordEncoder,
+            Validator validator,
+            ObjectMapper objectMapper,
+            RegisteredEmailFilter registeredEmailFilter,
+            UserSearchIndex userSearchIndex,
+            @Value("${app.users.import.chunk-size:500}") int chunkSize,
+            @Value("${app.users.import.hash-parallelism:0}") int hashParallelism
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.userSearchIndex = userSearchIndex;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.hashParallelism = hashParallelism > 0 ? hashParallelism : defaultHashParallelism(passwordEncoder);
+    }
+
+    public UserImportResultDTO importUsers(InputStream input, ImportFormat format, String importedBy) {
+
+        List<UserImportRowDTO> results = new ArrayList<>();
+        Set<String> seenEmails = new HashSet<>();
+        List<Row> chunk = new ArrayList<>(chunkSize);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+
+            long line = 0;
+            RowParser parser;
+
+            if (format == ImportFormat.CSV) {
+                parser = csvParser(reader.readLine());
+                line++;
+            } else {
+                parser = text -> objectMapper.readValue(text, UserDTO.class);
+            }
+
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+
+                if (text.isBlank()) {
+                    continue;
+                }
+
+                chunk.add(parse(parser, line, text));
+
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, seenEmails, importedBy, results);
+                    chunk.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("The import file couldn´t be read", e);
+        }
+
+        if (!chunk.isEmpty()) {
+            importChunk(chunk, seenEmails, importedBy, results);
+        }
+
+        long imported = results.stream().filter(row -> row.getStatus() == ImportStatus.IMPORTED).count();
+
+        log.info("Bulk import by {} finished: {} of {} rows imported", importedBy, imported, results.size());
+
+        return new UserImportResultDTO(results.size(), imported, results.size() - imported, results);
+    }
+
+    private void importChunk(List<Row> chunk, Set<String> seenEmails, String importedBy, List<UserImportRowDTO> results) {
+
+        List<Candidate> candidates = new ArrayList<>(chunk.size());
+
+        for (Row row : chunk) {
+
+            UserImportRowDTO result = new UserImportRowDTO(row.line(), null, null, null, null);
+            results.add(result);
+
+            if (row.error() != null) {
+                reject(result, ImportStatus.INVALID, row.error());
+                continue;
+            }
+
+            UserDTO user = row.user();
+            result.setEmail(user.getEmail());
+
+            String violations = validate(user);
+            if (violations != null) {
+                reject(result, ImportStatus.INVALID, violations);
+                continue;
+            }
+
+            user.setEmail(user.getEmail().trim());
+
+            if (!seenEmails.add(normalize(user.getEmail()))) {
+                reject(result, ImportStatus.DUPLICATE, "The email appears more than once in the file");
+                continue;
+            }
+
+            candidates.add(new Candidate(user, result));
+        }
+
+        candidates = withoutRegisteredEmails(candidates);
+
+        if (candidates.isEmpty()) {
+            return;
+        }
+
+        List<String> hashes;
+        try {
+            hashes = hashPasswords(candidates);
+        } catch (ServiceUnavailableException e) {
+            candidates.forEach(candidate -> reject(candidate.result(), ImportStatus.FAILED, e.getMessage()));
+            return;
+        }
+
+        MapSqlParameterSource[] params = new MapSqlParameterSource[candidates.size()];
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        for (int i = 0; i < candidates.size(); i++) {
+            params[i] = insertParams(candidates.get(i).user(), hashes.get(i), now, importedBy);
+        }
+
+        try {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_USER, params, keyHolder, new String[]{"id"}));
+
+            List<Map<String, Object>> keys = keyHolder.getKeyList();
+            for (int i = 0; i < candidates.size(); i++) {
+                imported(candidates.get(i), generatedId(keys.get(i)));
+            }
+        } catch (DataAccessException e) {
+            // A signup raced the import, the batch was rolled back and the rows are retried one by one
+            log.debug("Batch insert failed, retrying the chunk row by row: {}", e.getMessage());
+            for (int i = 0; i < candidates.size(); i++) {
+                insertOne(candidates.get(i), params[i]);
+            }
+        }
+    }
+
+    private List<Candidate> withoutRegisteredEmails(List<Candidate> candidates) {
+
+        // Emails the filter has never seen can't collide, only the rest go to the database
+        List<String> maybeRegistered = candidates.stream()
+                .map(candidate -> candidate.user().getEmail())
+                .filter(registeredEmailFilter::mightBeRegistered)
+                .toList();
+
+        if (maybeRegistered.isEmpty()) {
+            return candidates;
+        }
+
+        Set<String> registered = jdbcTemplate.queryForList(
+                        FIND_EMAILS, new MapSqlParameterSource("emails", maybeRegistered), String.class)
+                .stream()
+                .map(this::normalize)
+                .collect(Collectors.toSet());
+
+        List<Candidate> remaining = new ArrayList<>(candidates.size());
+
+        for (Candidate candidate : candidates) {
+            if (registered.contains(normalize(candidate.user().getEmail()))) {
+                reject(candidate.result(), ImportStatus.DUPLICATE, "The email is already registered");
+            } else {
+                remaining.add(candidate);
+            }
+        }
+
+        return remaining;
+    }
+
+    private List<String> hashPasswords(List<Candidate> candidates) {
+
+        List<String> passwords = candidates.stream().map(candidate -> candidate.user().getPassword()).toList();
+
+        if (passwordEncoder instanceof BoundedPasswordEncoder bounded) {
+            return bounded.encodeAll(passwords, hashParallelism);
+        }
+
+        return passwords.stream().map(passwordEncoder::encode).toList();
+    }
+
+    private void insertOne(Candidate candidate, MapSqlParameterSource params) {
+
+        try {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.update(INSERT_USER, params, keyHolder, new String[]{"id"}));
+            imported(candidate, generatedId(keyHolder.getKeys()));
+        } catch (DuplicateKeyException e) {
+            reject(candidate.result(), ImportStatus.DUPLICATE, "The email is already registered");
+        } catch (DataAccessException e) {
+            log.warn("Import of line {} failed: {}", candidate.result().getLine(), e.getMessage());
+            reject(candidate.result(), ImportStatus.FAILED, "The user couldn´t be saved");
+        }
+    }
+
+    private void imported(Candidate candidate, Long id) {
+
+        UserDTO user = candidate.user();
+
+        candidate.result().setStatus(ImportStatus.IMPORTED);
+        candidate.result().setId(id);
+
+        registeredEmailFilter.add(user.getEmail());
+        userSearchIndex.put(id, user.getEmail(), user.getFirstname(), user.getLastname());
+    }
+
+    private MapSqlParameterSource insertParams(UserDTO user, String hash, Timestamp now, String importedBy) {
+
+        Role role = user.getRole() != null ? user.getRole() : Role.USER;
+
+        return new MapSqlParameterSource()
+                .addValue("firstname", user.getFirstname())
+                .addValue("lastname", user.getLastname())
+                .addValue("email", user.getEmail())
+                .addValue("password", hash)
+                .addValue("role", role.name())
+                .addValue("permissions", AuthorityMask.of(null, user.getPermissions()))
+                .addValue("now", now)
+                .addValue("importedBy", importedBy);
+    }
+
+    private Row parse(RowParser parser, long line, String text) {
+
+        try {
+            UserDTO user = parser.parse(text);
+            return user != null ? new Row(line, user, null) : new Row(line, null, "Empty row");
+        } catch (IOException e) {
+            return new Row(line, null, "Malformed row");
+        } catch (IllegalArgumentException e) {
+            return new Row(line, null, e.getMessage());
+        }
+    }
+
+    private RowParser csvParser(String header) {
+
+        if (header == null || header.isBlank()) {
+            throw new BadRequestException("The CSV file must start with a header row");
+        }
+
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> names = splitCsvLine(header);
+
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+
+        if (!columns.keySet().containsAll(REQUIRED_COLUMNS)) {
+            throw new BadRequestException("The CSV header must contain the columns " + String.join(", ", REQUIRED_COLUMNS));
+        }
+
+        return text -> {
+            List<String> fields = splitCsvLine(text);
+
+            UserDTO user = new UserDTO();
+            user.setFirstname(field(fields, columns.get("firstname")));
+            user.setLastname(field(fields, columns.get("lastname")));
+            user.setEmail(field(fields, columns.get("email")));
+            user.setPassword(field(fields, columns.get("password")));
+
+            String role = field(fields, columns.get("role"));
+            if (role != null && !role.isBlank()) {
+                user.setRole(enumValue(Role.class, role, "role"));
+            }
+
+            // Permissions share one column separated by '|', e.g. TASK_READ|TASK_WRITE
+            String permissions = field(fields, columns.get("permissions"));
+            if (permissions != null && !permissions.isBlank()) {
+                for (String permission : permissions.split("\\|")) {
+                    user.getPermissions().add(enumValue(Permission.class, permission, "permission"));
+                }
+            }
+
+            return user;
+        };
+    }
+
+    // RFC 4180 fields on a single line: commas inside double quotes and "" as an escaped quote
+    private static List<String> splitCsvLine(String line) {
+
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+
+        fields.add(current.toString());
+        return fields;
+    }
+
+    private static String field(List<String> fields, Integer index) {
+        return index != null && index < fields.size() ? fields.get(index).trim() : null;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String value, String name) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + name + " " + value.trim());
+        }
+    }
+
+    private String validate(UserDTO user) {
+
+        Set<ConstraintViolation<UserDTO>> violations = validator.validate(user);
+
+        if (violations.isEmpty()) {
+            return null;
+        }
+
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private void reject(UserImportRowDTO result, ImportStatus status, String message) {
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+
+    private Long generatedId(Map<String, Object> keys) {
+        return keys == null || keys.isEmpty() ? null : ((Number) keys.values().iterator().next()).longValue();
+    }
+
+    private String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    // Half of the hashing pool by default, the other half stays free for interactive logins
+    private static int defaultHashParallelism(PasswordEncoder passwordEncoder) {
+        return passwordEncoder instanceof BoundedPasswordEncoder bounded
+                ? Math.max(1, bounded.getThreads() / 2)
+                : 1;
+    }
+}
@@ -0,0 +1,139 @@
+package com.portafolio.gestor_tareas.users.application;
+
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserSummaryDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// In-memory prefix index over email, first name and last name for the autocomplete endpoint.
+// Every term is a key of a sorted skip list, so a prefix lookup is a range scan and reads never lock.
+// Keys end with the user id so users sharing a term don't overwrite each other.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    private static final char SEPARATOR = '\u0000';
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final SpringUserRepository springUserRepository;
+
+    private final ConcurrentSkipListMap<String, UserSummaryDTO> terms = new ConcurrentSkipListMap<>();
+    private final Map<Long, UserSummaryDTO> users = new ConcurrentHashMap<>();
+
+    // Runs after the CommandLineRunners so users created by the data initializer are included
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+
+        long cursor = 0;
+        List<UserResponseDTO> batch;
+
+        do {
+            batch = springUserRepository.findPageAfter(cursor, PageRequest.of(0, LOAD_BATCH_SIZE));
+            for (UserResponseDTO user : batch) {
+                put(user.getId(), user.getEmail(), user.getFirstname(), user.getLastname());
+                cursor = user.getId();
+            }
+        } while (batch.size() == LOAD_BATCH_SIZE);
+
+        log.info("User search index loaded with {} users", users.size());
+    }
+
+    public void put(Long id, String email, String firstname, String lastname) {
+
+        if (id == null) {
+            return;
+        }
+
+        UserSummaryDTO summary = new UserSummaryDTO(id, email, firstname, lastname);
+
+        // Per user updates are serialized so a concurrent put/remove can't leave stale terms behind
+        users.compute(id, (key, previous) -> {
+            if (previous != null) {
+                removeTerms(previous);
+            }
+            addTerms(summary);
+            return summary;
+        });
+    }
+
+    public void remove(Long id) {
+
+        if (id == null) {
+            return;
+        }
+
+        users.computeIfPresent(id, (key, previous) -> {
+            removeTerms(previous);
+            return null;
+        });
+    }
+
+    public List<UserSummaryDTO> search(String prefix, int limit) {
+
+        String normalized = normalize(prefix);
+
+        if (normalized == null || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, UserSummaryDTO> matches = new LinkedHashMap<>();
+
+        for (UserSummaryDTO summary : terms.subMap(normalized, normalized + Character.MAX_VALUE).values()) {
+            matches.putIfAbsent(summary.getId(), summary);
+            if (matches.size() == limit) {
+                break;
+            }
+        }
+
+        return new ArrayList<>(matches.values());
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    private void addTerms(UserSummaryDTO summary) {
+        for (String term : termsOf(summary)) {
+            terms.put(term + SEPARATOR + summary.getId(), summary);
+        }
+    }
+
+    private void removeTerms(UserSummaryDTO summary) {
+        for (String term : termsOf(summary)) {
+            terms.remove(term + SEPARATOR + summary.getId());
+        }
+    }
+
+    private List<String> termsOf(UserSummaryDTO summary) {
+
+        List<String> result = new ArrayList<>(3);
+
+        for (String value : new String[]{summary.getEmail(), summary.getFirstname(), summary.getLastname()}) {
+            String term = normalize(value);
+            if (term != null) {
+                result.add(term);
+            }
+        }
+
+        return result;
+    }
+
+    private String normalize(String value) {
+
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
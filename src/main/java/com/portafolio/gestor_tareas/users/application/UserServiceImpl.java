@@ -1,29 +1,40 @@
 package com.portafolio.gestor_tareas.users.application;
 
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
 import com.portafolio.gestor_tareas.config.infrastructure.SecurityConfig;
 import com.portafolio.gestor_tareas.dto.ApiResponseDTO;
+import com.portafolio.gestor_tareas.dto.CursorPage;
 import com.portafolio.gestor_tareas.dto.ApiResponseFactory;
 import com.portafolio.gestor_tareas.exception.domain.BadRequestException;
 import com.portafolio.gestor_tareas.exception.domain.NotFoundException;
 import com.portafolio.gestor_tareas.exception.domain.UserAlreadyExistsException;
 import com.portafolio.gestor_tareas.exception.domain.UserDontHavePermissionsException;
+import com.portafolio.gestor_tareas.users.domain.ImportFormat;
 import com.portafolio.gestor_tareas.users.domain.Permission;
 import com.portafolio.gestor_tareas.users.domain.User;
 import com.portafolio.gestor_tareas.users.domain.UserRepository;
 import com.portafolio.gestor_tareas.users.domain.UserService;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsRequestDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsResultDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserImportResultDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserSummaryDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserWithPermissionsDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
 import com.portafolio.gestor_tareas.users.infrastructure.mapper.UserMapper;
 import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.InputStream;
 import java.util.*;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -33,25 +44,38 @@ public class UserServiceImpl implements UserService {
     private final SpringUserRepository springUserRepository;
     private final SecurityConfig securityConfig;
     private final UserMapper userMapper;
+    private final UserSearchIndex userSearchIndex;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final UserBulkImporter userBulkImporter;
 
     private static final String NOT_FOUND = "User not found";
-
-    private User user;
-
-    private boolean existUser;
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_SEARCH_RESULTS = 50;
+    private static final int BULK_CHUNK_SIZE = 1000;
 
     @Override
     public UserResponseDTO register(UserDTO userDTO) {
 
-        user = userMapper.userDTOToUser(userDTO);
+        User user = userMapper.userDTOToUser(userDTO);
 
-        existUser = userRepository.existsEmail(userDTO.getEmail());
+        // Emails the filter has never seen are new for sure and skip the existence query
+        boolean existUser = registeredEmailFilter.mightBeRegistered(userDTO.getEmail())
+                && userRepository.existsEmail(userDTO.getEmail());
 
         if (existUser) {
             throw new UserAlreadyExistsException("The email is already registered");
         }
 
-        UserEntity savedEntity = springUserRepository.save(userMapper.userToUserEntity(user));
+        UserEntity savedEntity;
+
+        try {
+            savedEntity = springUserRepository.save(userMapper.userToUserEntity(user));
+        } catch (DataIntegrityViolationException e) {
+            // The unique constraint on email is the final guard for concurrent signups
+            throw new UserAlreadyExistsException("The email is already registered");
+        }
+
+        trackUser(savedEntity);
 
         return userMapper.userEntityToUserResponseDTO(savedEntity);
     }
@@ -64,10 +88,13 @@ public class UserServiceImpl implements UserService {
 
         securityConfig.checkAccess(userDTO.getId(), userDetails);
 
-        existUser = userRepository.existsEmail(userDTO.getEmail());
+        boolean emailChanged = !updateUser.getEmail().equals(userDTO.getEmail());
 
-        if (!updateUser.getEmail().equals(userDTO.getEmail()) &&
-                existUser) {
+        boolean existUser = emailChanged
+                && registeredEmailFilter.mightBeRegistered(userDTO.getEmail())
+                && userRepository.existsEmail(userDTO.getEmail());
+
+        if (existUser) {
             throw new UserAlreadyExistsException("The email is already registered by another user");
         }
 
@@ -81,15 +108,24 @@ public class UserServiceImpl implements UserService {
         updateUser.setEmail(userDTO.getEmail());
         updateUser.setPassword(userDTO.getPassword());
 
-        UserEntity savedEntity = springUserRepository.save(userMapper.userToUserEntity(updateUser));
+        UserEntity savedEntity;
+
+        try {
+            savedEntity = springUserRepository.save(userMapper.userToUserEntity(updateUser));
+        } catch (DataIntegrityViolationException e) {
+            throw new UserAlreadyExistsException("The email is already registered by another user");
+        }
+
+        trackUser(savedEntity);
 
         return userMapper.userEntityToUserResponseDTO(savedEntity);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserResponseDTO findById(Long id, UserDetails userDetails) throws NotFoundException {
 
-        user = userRepository.findById(id)
+        User user = userRepository.findById(id)
                 .orElseThrow(() -> new NotFoundException(NOT_FOUND));
 
         securityConfig.checkAccess(id, userDetails);
@@ -98,23 +134,64 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> findAll() {
 
         return userRepository.findAll().stream()
                 .map(userMapper::userToUserResponseDTO).toList();
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserResponseDTO> findPage(Long cursor, int size) {
+
+        int pageSize = validatePageSize(size);
+
+        return toCursorPage(
+                springUserRepository.findPageAfter(cursorOrStart(cursor), PageRequest.of(0, pageSize + 1)),
+                pageSize,
+                UserResponseDTO::getId
+        );
+    }
+
     @Override
     public void delete(Long id) {
 
-        user = userRepository.findById(id)
-                        .orElseThrow(() -> new NotFoundException("The user does not exist"));
+        if (userRepository.findById(id).isEmpty()) {
+            throw new NotFoundException("The user does not exist");
+        }
+
         userRepository.deleteById(id);
+        userSearchIndex.remove(id);
+    }
+
+    @Override
+    public List<UserSummaryDTO> search(String query, int limit) {
+
+        if (query == null || query.isBlank()) {
+            throw new BadRequestException("The search query cannot be empty");
+        }
+
+        if (limit < 1) {
+            throw new BadRequestException("The limit must be greater than zero");
+        }
+
+        return userSearchIndex.search(query, Math.min(limit, MAX_SEARCH_RESULTS));
+    }
+
+    @Override
+    public UserImportResultDTO importUsers(InputStream input, ImportFormat format, UserDetails userDetails) {
+
+        securityConfig.checkAdminAccess(userDetails);
+
+        return userBulkImporter.importUsers(input, format, userDetails.getUsername());
     }
 
     @Transactional
     public void addPermissions(Long userId, String email, Set<Permission> permissions) {
 
+        User user;
+
         if (userId != null) {
             user = userRepository.findById(userId)
                     .orElseThrow(() -> new NotFoundException(NOT_FOUND));
@@ -129,9 +206,7 @@ public class UserServiceImpl implements UserService {
             throw new BadRequestException("Permissions must be provided");
         }
 
-        user.getPermissions().addAll(permissions);
-
-        userRepository.save(user);
+        userRepository.grantPermissions(user.getId(), permissions);
     }
 
     @Transactional
@@ -142,6 +217,8 @@ public class UserServiceImpl implements UserService {
             Set<Permission> permissions
     ) {
 
+        User user;
+
         if (userId != null) {
             user = userRepository.findById(userId)
                     .orElseThrow(() -> new NotFoundException(NOT_FOUND));
@@ -155,8 +232,7 @@ public class UserServiceImpl implements UserService {
         }
 
         if (allPermissions) {
-            user.setPermissions(null);
-            userRepository.save(user);
+            userRepository.revokePermissions(user.getId(), EnumSet.allOf(Permission.class));
 
             Map<String, Object> response = new HashMap<>();
             response.put("removedAll", true);
@@ -166,10 +242,58 @@ public class UserServiceImpl implements UserService {
         return deleteSpecificPermissions(permissions, user);
     }
 
-    @Transactional
+    // Not transactional on purpose: every chunk is its own short statement and transaction,
+    // so rolling a permission out to the whole table never holds all the row locks at once
+    @Override
+    public BulkPermissionsResultDTO updatePermissionsInBulk(BulkPermissionsRequestDTO request) {
+
+        Set<Permission> grant = request.getGrant() != null ? request.getGrant() : Set.of();
+        Set<Permission> revoke = request.getRevoke() != null ? request.getRevoke() : Set.of();
+
+        if (grant.isEmpty() && revoke.isEmpty()) {
+            throw new BadRequestException("Permissions to grant or revoke must be provided");
+        }
+
+        if (!Collections.disjoint(grant, revoke)) {
+            throw new BadRequestException("A permission cannot be granted and revoked at the same time");
+        }
+
+        boolean byIds = request.getUserIds() != null && !request.getUserIds().isEmpty();
+        boolean byEmails = request.getEmails() != null && !request.getEmails().isEmpty();
+        boolean byFilter = request.getRole() != null || request.isAllUsers();
+
+        if ((byIds ? 1 : 0) + (byEmails ? 1 : 0) + (byFilter ? 1 : 0) != 1
+                || (request.getRole() != null && request.isAllUsers())) {
+            throw new BadRequestException("Exactly one target must be provided: userIds, emails, role or allUsers");
+        }
+
+        int keepMask = ~AuthorityMask.of(null, revoke);
+        int grantMask = AuthorityMask.of(null, grant);
+        long updated = 0;
+
+        if (byIds) {
+            for (List<Long> chunk : chunks(request.getUserIds())) {
+                updated += springUserRepository.updatePermissionsByIds(chunk, keepMask, grantMask);
+            }
+        } else if (byEmails) {
+            for (List<String> chunk : chunks(request.getEmails())) {
+                updated += springUserRepository.updatePermissionsByEmails(chunk, keepMask, grantMask);
+            }
+        } else {
+            long maxId = springUserRepository.findMaxId();
+            for (long afterId = 0; afterId < maxId; afterId += BULK_CHUNK_SIZE) {
+                updated += springUserRepository.updatePermissionsInRange(
+                        afterId, afterId + BULK_CHUNK_SIZE, request.getRole(), keepMask, grantMask);
+            }
+        }
+
+        return new BulkPermissionsResultDTO(updated, grant, revoke);
+    }
+
+    @Transactional(readOnly = true)
     public List<Permission> showPermissions(Long userId, UserDetails userDetails) {
 
-        user = userRepository.findById(userId)
+        User user = userRepository.findById(userId)
                 .orElseThrow(() -> new NotFoundException(NOT_FOUND));
 
         securityConfig.checkAccess(user.getId(), userDetails);
@@ -178,6 +302,7 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<UserWithPermissionsDTO> showAllUsersWithPermissions(UserDetails userDetails) {
 
         securityConfig.checkAdminAccess(userDetails);
@@ -187,6 +312,21 @@ public class UserServiceImpl implements UserService {
         return userMapper.userToUserWithPermissionsDTOs(users);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<UserWithPermissionsDTO> showUsersWithPermissionsPage(Long cursor, int size, UserDetails userDetails) {
+
+        securityConfig.checkAdminAccess(userDetails);
+
+        int pageSize = validatePageSize(size);
+
+        return toCursorPage(
+                springUserRepository.findPermissionsPageAfter(cursorOrStart(cursor), PageRequest.of(0, pageSize + 1)),
+                pageSize,
+                UserWithPermissionsDTO::getId
+        );
+    }
+
     public Map<String, Object> deleteSpecificPermissions(
             Set<Permission> permissions,
             User user
@@ -213,8 +353,7 @@ public class UserServiceImpl implements UserService {
             }
         }
 
-        user.setPermissions(permissionsUser);
-        userRepository.save(user);
+        userRepository.revokePermissions(user.getId(), removedPermissions);
 
         Map<String, Object> response = new HashMap<>();
         response.put("removed", removedPermissions);
@@ -222,4 +361,47 @@ public class UserServiceImpl implements UserService {
 
         return response;
     }
+
+    private void trackUser(UserEntity userEntity) {
+        if (userEntity != null) {
+            registeredEmailFilter.add(userEntity.getEmail());
+            userSearchIndex.put(userEntity.getId(), userEntity.getEmail(),
+                    userEntity.getFirstname(), userEntity.getLastname());
+        }
+    }
+
+    private <T> List<List<T>> chunks(Collection<T> values) {
+
+        List<T> list = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+
+        for (int from = 0; from < list.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(list.subList(from, Math.min(from + BULK_CHUNK_SIZE, list.size())));
+        }
+
+        return chunks;
+    }
+
+    private int validatePageSize(int size) {
+
+        if (size < 1) {
+            throw new BadRequestException("The page size must be greater than zero");
+        }
+
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private long cursorOrStart(Long cursor) {
+        return cursor != null ? cursor : 0L;
+    }
+
+    // One extra row is fetched to know whether another page exists without a count query
+    private <T> CursorPage<T> toCursorPage(List<T> rows, int pageSize, Function<T, Long> idOf) {
+
+        boolean hasNext = rows.size() > pageSize;
+        List<T> items = hasNext ? rows.subList(0, pageSize) : rows;
+        Long nextCursor = hasNext ? idOf.apply(items.get(items.size() - 1)) : null;
+
+        return new CursorPage<>(items, nextCursor, hasNext);
+    }
 }
@@ -0,0 +1,7 @@
+package com.portafolio.gestor_tareas.users.domain;
+
+public enum ImportFormat {
+
+    CSV,
+    NDJSON
+}
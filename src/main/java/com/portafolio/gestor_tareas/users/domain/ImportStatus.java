@@ -0,0 +1,9 @@
+package com.portafolio.gestor_tareas.users.domain;
+
+public enum ImportStatus {
+
+    IMPORTED,
+    DUPLICATE,
+    INVALID,
+    FAILED
+}
@@ -2,9 +2,20 @@ package com.portafolio.gestor_tareas.users.domain;
 
 public enum Permission {
 
-    TASK_READ,
-    TASK_WRITE,
-    TASK_DELETE,
-    TASK_ASSIGN,
-    TASK_UNASSIGN
+    // Bits are explicit so reordering the constants never changes what a stored mask means
+    TASK_READ(1),
+    TASK_WRITE(1 << 1),
+    TASK_DELETE(1 << 2),
+    TASK_ASSIGN(1 << 3),
+    TASK_UNASSIGN(1 << 4);
+
+    private final int bit;
+
+    Permission(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
 }
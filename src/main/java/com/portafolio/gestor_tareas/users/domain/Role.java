@@ -1,6 +1,18 @@
 package com.portafolio.gestor_tareas.users.domain;
 
 public enum Role {
-    USER,
-    ADMIN
+
+    // Roles live in the upper half of the authority mask, permissions in the lower one
+    USER(1 << 16),
+    ADMIN(1 << 17);
+
+    private final int bit;
+
+    Role(int bit) {
+        this.bit = bit;
+    }
+
+    public int getBit() {
+        return bit;
+    }
 }
@@ -4,6 +4,7 @@ import com.portafolio.gestor_tareas.users.infrastructure.dto.UserWithPermissions
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 public interface UserRepository {
 
@@ -18,4 +19,8 @@ public interface UserRepository {
     Boolean existsEmail(String email);
 
     void deleteById(Long id);
+
+    void grantPermissions(Long id, Set<Permission> permissions);
+
+    void revokePermissions(Long id, Set<Permission> permissions);
 }
@@ -1,10 +1,16 @@
 package com.portafolio.gestor_tareas.users.domain;
 
+import com.portafolio.gestor_tareas.dto.CursorPage;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsRequestDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsResultDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserImportResultDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserSummaryDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserWithPermissionsDTO;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.io.InputStream;
 import java.util.Map;
 import java.util.List;
 import java.util.Set;
@@ -19,8 +25,14 @@ public interface UserService {
 
     List<UserResponseDTO> findAll();
 
+    CursorPage<UserResponseDTO> findPage(Long cursor, int size);
+
     void delete(Long id);
 
+    List<UserSummaryDTO> search(String query, int limit);
+
+    UserImportResultDTO importUsers(InputStream input, ImportFormat format, UserDetails userDetails);
+
     void addPermissions(Long userId, String email, Set<Permission> permissions);
 
     Map<String, Object> deletePermissions(
@@ -30,7 +42,11 @@ public interface UserService {
             Set<Permission> permissions
     );
 
+    BulkPermissionsResultDTO updatePermissionsInBulk(BulkPermissionsRequestDTO request);
+
     List<Permission> showPermissions(Long id, UserDetails userDetails);
 
     List<UserWithPermissionsDTO> showAllUsersWithPermissions(UserDetails userDetails);
+
+    CursorPage<UserWithPermissionsDTO> showUsersWithPermissionsPage(Long cursor, int size, UserDetails userDetails);
 }
@@ -1,13 +1,20 @@
 package com.portafolio.gestor_tareas.users.infrastructure;
 
 import com.portafolio.gestor_tareas.dto.ApiResponseDTO;
+import com.portafolio.gestor_tareas.dto.CursorPage;
 import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsRequestDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsResultDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserImportResultDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserSummaryDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserWithPermissionsDTO;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -23,8 +30,17 @@ public interface UserController {
 
     ResponseEntity<ApiResponseDTO<List<UserResponseDTO>>> findAll();
 
+    ResponseEntity<ApiResponseDTO<CursorPage<UserResponseDTO>>> findPage(Long cursor, int size);
+
     ResponseEntity<ApiResponseDTO<Void>> delete(Long id, UserDetails userDetails);
 
+    ResponseEntity<ApiResponseDTO<List<UserSummaryDTO>>> search(String query, int limit);
+
+    ResponseEntity<ApiResponseDTO<UserImportResultDTO>> importUsers(
+            HttpServletRequest request,
+            UserDetails userDetails
+    ) throws IOException;
+
     ResponseEntity<ApiResponseDTO<Object>> addPermissionsById(Long userId, Set<Permission> permissions);
 
     ResponseEntity<ApiResponseDTO<Object>> addPermissionsByEmail(String email, Set<Permission> permissions);
@@ -41,7 +57,15 @@ public interface UserController {
             Set<Permission> permissions
     );
 
+    ResponseEntity<ApiResponseDTO<BulkPermissionsResultDTO>> updatePermissionsInBulk(BulkPermissionsRequestDTO request);
+
     ResponseEntity<ApiResponseDTO<List<Permission>>> showPermissionsById(Long id, UserDetails userDetails);
 
     ResponseEntity<ApiResponseDTO<List<UserWithPermissionsDTO>>> showAllUsersWithPermissions(UserDetails userDetails);
+
+    ResponseEntity<ApiResponseDTO<CursorPage<UserWithPermissionsDTO>>> showUsersWithPermissionsPage(
+            Long cursor,
+            int size,
+            UserDetails userDetails
+    );
 }
@@ -2,12 +2,18 @@ package com.portafolio.gestor_tareas.users.infrastructure;
 
 import com.portafolio.gestor_tareas.dto.ApiResponseDTO;
 import com.portafolio.gestor_tareas.dto.ApiResponseFactory;
+import com.portafolio.gestor_tareas.dto.CursorPage;
 import com.portafolio.gestor_tareas.exception.domain.BadRequestException;
 import com.portafolio.gestor_tareas.exception.domain.NotFoundException;
+import com.portafolio.gestor_tareas.users.domain.ImportFormat;
 import com.portafolio.gestor_tareas.users.domain.Permission;
 import com.portafolio.gestor_tareas.users.domain.UserService;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsRequestDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsResultDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserImportResultDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserSummaryDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserWithPermissionsDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -15,15 +21,18 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -117,6 +126,26 @@ public class UserControllerImpl implements UserController{
         return ApiResponseFactory.success(userDTOS, "Users found");
     }
 
+    @Operation(summary = "List users page by page",
+            description = "Returns users ordered by ID after the given cursor (admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users found"),
+            @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest", content = @Content),
+            @ApiResponse(responseCode = "403", ref = "#/components/responses/AccessDenied"),
+            @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalError")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/page")
+    public ResponseEntity<ApiResponseDTO<CursorPage<UserResponseDTO>>> findPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        log.info("GET /api/users/page - fetching users after cursor {}", cursor);
+        CursorPage<UserResponseDTO> page = userService.findPage(cursor, size);
+        log.debug("Fetched {} users, next cursor {}", page.getItems().size(), page.getNextCursor());
+        return ApiResponseFactory.success(page, "Users found");
+    }
+
     @Operation(summary = "Delete user by id",
             description = "Deletes a user by their ID")
     @ApiResponses(value = {
@@ -138,6 +167,50 @@ public class UserControllerImpl implements UserController{
         return ApiResponseFactory.success(null, "User deleted");
     }
 
+    @Operation(summary = "Search users by prefix",
+            description = "Autocomplete over email, first name and last name served from memory (admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users found"),
+            @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest", content = @Content),
+            @ApiResponse(responseCode = "403", ref = "#/components/responses/AccessDenied"),
+            @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalError")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/search")
+    public ResponseEntity<ApiResponseDTO<List<UserSummaryDTO>>> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        log.debug("GET /api/users/search - searching users by prefix {}", query);
+        List<UserSummaryDTO> users = userService.search(query, limit);
+        return ApiResponseFactory.success(users, "Users found");
+    }
+
+    @Operation(summary = "Import users in bulk",
+            description = "Streams users from a CSV file with a firstname,lastname,email,password[,role][,permissions] "
+                    + "header or from NDJSON, one user object per line, and reports the outcome of every row (admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import finished, see the outcome of each row"),
+            @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest", content = @Content),
+            @ApiResponse(responseCode = "403", ref = "#/components/responses/AccessDenied"),
+            @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalError")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ApiResponseDTO<UserImportResultDTO>> importUsers(
+            HttpServletRequest request,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) throws IOException {
+        ImportFormat format = MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(request.getContentType()))
+                ? ImportFormat.NDJSON
+                : ImportFormat.CSV;
+
+        log.info("POST /api/users/import - importing users from {}", format);
+        UserImportResultDTO result = userService.importUsers(request.getInputStream(), format, userDetails);
+        log.info("Imported {} of {} users", result.getImported(), result.getTotal());
+        return ApiResponseFactory.success(result, "Import finished");
+    }
+
     @Operation(summary = "Add permission by ID",
             description = "Aggregation of permissions in the user by ID")
     @ApiResponses(value = {
@@ -232,6 +305,26 @@ public class UserControllerImpl implements UserController{
         return ApiResponseFactory.success(response, "Permissions updated successfully");
     }
 
+    @Operation(summary = "Grant and revoke permissions in bulk",
+            description = "Applies the same grants and revokes to the given user IDs, emails, "
+                    + "every user with a role or every user, in chunked set-based updates (admin only)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Permissions updated successfully"),
+            @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest", content = @Content),
+            @ApiResponse(responseCode = "403", ref = "#/components/responses/AccessDenied"),
+            @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalError")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/permissions/bulk")
+    public ResponseEntity<ApiResponseDTO<BulkPermissionsResultDTO>> updatePermissionsInBulk(
+            @RequestBody BulkPermissionsRequestDTO request
+    ) {
+        log.warn("POST /api/users/permissions/bulk - granting {} and revoking {}", request.getGrant(), request.getRevoke());
+        BulkPermissionsResultDTO result = userService.updatePermissionsInBulk(request);
+        log.info("Permissions of {} users updated", result.getUpdated());
+        return ApiResponseFactory.success(result, "Permissions updated successfully");
+    }
+
     @Operation(summary = "List user permissions by ID",
             description = "Returns the list of permissions assigned to a specific user")
     @ApiResponses(value = {
@@ -277,4 +370,25 @@ public class UserControllerImpl implements UserController{
         log.info("Permissions from users found");
         return ApiResponseFactory.success(users, "Users with permissions found");
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "List users with their permissions page by page",
+            description = "Returns users with their permissions ordered by ID after the given cursor")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Users with permissions found"),
+            @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest", content = @Content),
+            @ApiResponse(responseCode = "403", ref = "#/components/responses/AccessDenied"),
+            @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalError")
+    })
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/permissions/page")
+    public ResponseEntity<ApiResponseDTO<CursorPage<UserWithPermissionsDTO>>> showUsersWithPermissionsPage(
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "50") int size,
+            @AuthenticationPrincipal UserDetails userDetails
+    ) {
+        log.info("GET /api/users/permissions/page - fetching users with permissions after cursor {}", cursor);
+        CursorPage<UserWithPermissionsDTO> page = userService.showUsersWithPermissionsPage(cursor, size, userDetails);
+        log.debug("Fetched {} users, next cursor {}", page.getItems().size(), page.getNextCursor());
+        return ApiResponseFactory.success(page, "Users with permissions found");
+    }
+}
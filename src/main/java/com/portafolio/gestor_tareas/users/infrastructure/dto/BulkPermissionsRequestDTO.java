@@ -0,0 +1,39 @@
+package com.portafolio.gestor_tareas.users.infrastructure.dto;
+
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashSet;
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Schema(description = "Grants and revokes applied to many users at once. Exactly one target must be given: "
+        + "userIds, emails, role or allUsers")
+public class BulkPermissionsRequestDTO {
+
+    @Builder.Default
+    private Set<Long> userIds = new HashSet<>();
+
+    @Builder.Default
+    private Set<String> emails = new HashSet<>();
+
+    @Schema(description = "Every user with this role", example = "USER")
+    private Role role;
+
+    @Schema(description = "Every user in the system", example = "false")
+    private boolean allUsers;
+
+    @Builder.Default
+    private Set<Permission> grant = new HashSet<>();
+
+    @Builder.Default
+    private Set<Permission> revoke = new HashSet<>();
+}
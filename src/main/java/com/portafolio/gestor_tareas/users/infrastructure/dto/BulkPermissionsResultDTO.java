@@ -0,0 +1,22 @@
+package com.portafolio.gestor_tareas.users.infrastructure.dto;
+
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Set;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkPermissionsResultDTO {
+
+    @Schema(description = "Users whose permissions were rewritten", example = "25000")
+    private long updated;
+
+    private Set<Permission> granted;
+
+    private Set<Permission> revoked;
+}
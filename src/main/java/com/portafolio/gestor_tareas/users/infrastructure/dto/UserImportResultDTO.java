@@ -0,0 +1,26 @@
+package com.portafolio.gestor_tareas.users.infrastructure.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Outcome of a bulk import, with one entry per data row of the file")
+public class UserImportResultDTO {
+
+    @Schema(example = "1000")
+    private long total;
+
+    @Schema(example = "990")
+    private long imported;
+
+    @Schema(example = "10")
+    private long rejected;
+
+    private List<UserImportRowDTO> rows;
+}
@@ -0,0 +1,28 @@
+package com.portafolio.gestor_tareas.users.infrastructure.dto;
+
+import com.portafolio.gestor_tareas.users.domain.ImportStatus;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportRowDTO {
+
+    @Schema(description = "Line of the uploaded file, the CSV header is line 1", example = "2")
+    private long line;
+
+    @Schema(example = "jane.doe@example.com")
+    private String email;
+
+    @Schema(example = "IMPORTED")
+    private ImportStatus status;
+
+    @Schema(description = "ID of the created user, only set for imported rows", example = "42")
+    private Long id;
+
+    @Schema(description = "Why the row was not imported")
+    private String message;
+}
@@ -0,0 +1,16 @@
+package com.portafolio.gestor_tareas.users.infrastructure.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserSummaryDTO {
+
+    private Long id;
+    private String email;
+    private String firstname;
+    private String lastname;
+}
@@ -0,0 +1,24 @@
+package com.portafolio.gestor_tareas.users.infrastructure.entity;
+
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+// Stores the permission set as the permission bits of AuthorityMask in a single int column
+@Converter
+public class PermissionMaskConverter implements AttributeConverter<Set<Permission>, Integer> {
+
+    @Override
+    public Integer convertToDatabaseColumn(Set<Permission> permissions) {
+        return AuthorityMask.of(null, permissions);
+    }
+
+    @Override
+    public Set<Permission> convertToEntityAttribute(Integer mask) {
+        return mask == null ? EnumSet.noneOf(Permission.class) : AuthorityMask.permissionsOf(mask);
+    }
+}
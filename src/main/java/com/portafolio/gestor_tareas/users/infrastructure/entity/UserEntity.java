@@ -1,26 +1,38 @@
 package com.portafolio.gestor_tareas.users.infrastructure.entity;
 
 import com.portafolio.gestor_tareas.audit.Auditable;
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
+import com.portafolio.gestor_tareas.config.application.AuthorityMaskPrincipal;
 import com.portafolio.gestor_tareas.task.infrastructure.entity.TaskEntity;
 import com.portafolio.gestor_tareas.users.domain.Permission;
 import com.portafolio.gestor_tareas.users.domain.Role;
 import com.portafolio.gestor_tareas.users.domain.User;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.*;
 
+// Read on every authenticated request, so entities and email lookups are served from the second-level cache.
+// The permissions mask is a plain column and is cached with the entity
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 @Getter
 @Setter
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Table(name = "app_users")
-public class UserEntity extends Auditable implements UserDetails {
+public class UserEntity extends Auditable implements UserDetails, AuthorityMaskPrincipal {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -28,6 +40,7 @@ public class UserEntity extends Auditable implements UserDetails {
     private String firstname;
     private String lastname;
 
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
     private String password;
@@ -35,14 +48,11 @@ public class UserEntity extends Auditable implements UserDetails {
     @Enumerated(EnumType.STRING)
     private Role role;
 
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(
-            name = "user_permissions",
-            joinColumns = @JoinColumn(name = "user_id")
-    )
-    @Enumerated(EnumType.STRING)
-    @Column(name = "permission")
-    private Set<Permission> permissions = new HashSet<>();
+    // Permission bits packed in one column, grants and revokes are bitwise updates on it
+    @Convert(converter = PermissionMaskConverter.class)
+    @Column(name = "permissions_mask", nullable = false)
+    @ColumnDefault("0")
+    private Set<Permission> permissions = EnumSet.noneOf(Permission.class);
 
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<TaskEntity> tasks = new ArrayList<>();
@@ -76,6 +86,11 @@ public class UserEntity extends Auditable implements UserDetails {
         return authorities;
     }
 
+    @Override
+    public int getAuthorityMask() {
+        return AuthorityMask.of(role, permissions);
+    }
+
     @Override
     public String getUsername() {
         return email;
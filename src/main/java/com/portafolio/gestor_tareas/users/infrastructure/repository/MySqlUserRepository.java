@@ -1,5 +1,7 @@
 package com.portafolio.gestor_tareas.users.infrastructure.repository;
 
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
+import com.portafolio.gestor_tareas.users.domain.Permission;
 import com.portafolio.gestor_tareas.users.domain.User;
 import com.portafolio.gestor_tareas.users.domain.UserRepository;
 import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 @RequiredArgsConstructor
@@ -51,4 +54,14 @@ public class MySqlUserRepository implements UserRepository {
     public void deleteById(Long id) {
         springUserRepository.deleteById(id);
     }
+
+    @Override
+    public void grantPermissions(Long id, Set<Permission> permissions) {
+        springUserRepository.grantPermissions(List.of(id), AuthorityMask.of(null, permissions));
+    }
+
+    @Override
+    public void revokePermissions(Long id, Set<Permission> permissions) {
+        springUserRepository.keepPermissions(List.of(id), ~AuthorityMask.of(null, permissions));
+    }
 }
@@ -1,15 +1,83 @@
 package com.portafolio.gestor_tareas.users.infrastructure.repository;
 
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserWithPermissionsDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface SpringUserRepository extends JpaRepository<UserEntity, Long> {
+public interface SpringUserRepository extends JpaRepository<UserEntity, Long>, UserNaturalIdRepository {
 
     Boolean existsByEmail(String email);
 
-    Optional<UserEntity> findByEmail(String email);
+    // Keyset pages projected straight into the DTOs, the primary key index serves both filter and order
+    @Query("SELECT new com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO(" +
+            "u.id, u.firstname, u.lastname, u.email, u.role, u.permissions) " +
+            "FROM UserEntity u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserResponseDTO> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT new com.portafolio.gestor_tareas.users.infrastructure.dto.UserWithPermissionsDTO(" +
+            "u.id, u.email, u.firstname, u.lastname, u.permissions) " +
+            "FROM UserEntity u WHERE u.id > :afterId ORDER BY u.id")
+    List<UserWithPermissionsDTO> findPermissionsPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    // Single statement grants and revokes, concurrent changes to other bits are never lost.
+    // The cast is there because H2 can't infer the type of a bare parameter inside bitor/bitand
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.permissions = bitor(u.permissions, cast(:mask as Integer)) WHERE u.id IN :ids")
+    int grantPermissions(@Param("ids") Collection<Long> ids, @Param("mask") int mask);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.permissions = bitand(u.permissions, cast(:mask as Integer)) WHERE u.id IN :ids")
+    int keepPermissions(@Param("ids") Collection<Long> ids, @Param("mask") int mask);
+
+    // Bulk variants clear the revoked bits and set the granted ones in the same statement
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.permissions = " +
+            "bitor(bitand(u.permissions, cast(:keep as Integer)), cast(:grant as Integer)) WHERE u.id IN :ids")
+    int updatePermissionsByIds(
+            @Param("ids") Collection<Long> ids,
+            @Param("keep") int keep,
+            @Param("grant") int grant
+    );
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.permissions = " +
+            "bitor(bitand(u.permissions, cast(:keep as Integer)), cast(:grant as Integer)) WHERE u.email IN :emails")
+    int updatePermissionsByEmails(
+            @Param("emails") Collection<String> emails,
+            @Param("keep") int keep,
+            @Param("grant") int grant
+    );
+
+    // Filters walk the table in primary key ranges so each statement only locks one slice of rows
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE UserEntity u SET u.permissions = " +
+            "bitor(bitand(u.permissions, cast(:keep as Integer)), cast(:grant as Integer)) " +
+            "WHERE u.id > :afterId AND u.id <= :upToId AND (:role IS NULL OR u.role = :role)")
+    int updatePermissionsInRange(
+            @Param("afterId") long afterId,
+            @Param("upToId") long upToId,
+            @Param("role") Role role,
+            @Param("keep") int keep,
+            @Param("grant") int grant
+    );
+
+    @Query("SELECT COALESCE(MAX(u.id), 0) FROM UserEntity u")
+    long findMaxId();
 }
@@ -0,0 +1,13 @@
+package com.portafolio.gestor_tareas.users.infrastructure.repository;
+
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+// Replaces the derived findByEmail query with a natural-id load, which the second-level cache can serve
+public interface UserNaturalIdRepository {
+
+    @Transactional(readOnly = true)
+    Optional<UserEntity> findByEmail(String email);
+}
@@ -1,17 +1,15 @@
 package com.portafolio.gestor_tareas.users.infrastructure.security;
 
-import com.portafolio.gestor_tareas.users.domain.User;
 import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
-import com.portafolio.gestor_tareas.users.infrastructure.mapper.UserMapper;
-import com.portafolio.gestor_tareas.users.infrastructure.repository.MySqlUserRepository;
 import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final SpringUserRepository springUserRepository;
 
@@ -24,4 +22,16 @@ public class CustomUserDetailsService implements UserDetailsService {
         return springUserRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
+
+    // Called by the authentication provider with the password rehashed at the current cost
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+
+        UserEntity userEntity = springUserRepository.findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+
+        userEntity.setPassword(newPassword);
+
+        return springUserRepository.save(userEntity);
+    }
 }
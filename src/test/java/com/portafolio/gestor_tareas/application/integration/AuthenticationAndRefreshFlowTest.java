@@ -14,6 +14,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -84,4 +85,29 @@ class AuthenticationAndRefreshFlowTest {
         assertThrows(RuntimeException.class, () ->
                 refreshTokenService.generateNewAccessToken(authResponse.getRefreshToken()), "The revoked refresh token should not generate a token.");
     }
+
+    @Test
+    void shouldRehashPasswordWithOutdatedCostOnLogin() {
+
+        RegisterRequest request = new RegisterRequest(
+                "Luis",
+                "Medina",
+                testEmail,
+                "123456"
+        );
+
+        authenticationService.register(userMapper.registerRequestToUser(request));
+
+        UserEntity userEntity = userRepository.findByEmail(testEmail).orElseThrow();
+        userEntity.setPassword(new BCryptPasswordEncoder(5).encode("123456"));
+        userRepository.save(userEntity);
+
+        authenticationService.authenticate(new AuthenticationRequest(testEmail, "123456"));
+
+        String storedHash = userRepository.findByEmail(testEmail).orElseThrow().getPassword();
+
+        assertTrue(storedHash.startsWith("$2a$04$"), "The hash must be rewritten with the configured cost");
+        assertTrue(passwordEncoder.matches("123456", storedHash), "The rehashed password must still match");
+        assertFalse(passwordEncoder.upgradeEncoding(storedHash), "The rehashed password must not need another upgrade");
+    }
 }
@@ -0,0 +1,150 @@
+package com.portafolio.gestor_tareas.application.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.config.TestUserFactory;
+import com.portafolio.gestor_tareas.config.application.FlightRecorderService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class FlightRecorderEndpointIntTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestUserFactory userFactory;
+
+    @Autowired
+    private FlightRecorderService flightRecorderService;
+
+    private TestUserFactory.TestUser adminUser;
+    private TestUserFactory.TestUser regularUser;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        adminUser = userFactory.createAdminUser();
+        regularUser = userFactory.createRegularUser();
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRecorderService.stop();
+    }
+
+    // Test that validates that only admins can reach the recording endpoint
+    @Test
+    void shouldRejectNonAdminUsers() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/jfr")
+                        .header("Authorization", regularUser.getToken()))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/actuator/jfr")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{}"))
+                .andExpect(status().isForbidden());
+    }
+
+    // Test that validates that a recording can be started, stopped and summarized through HTTP calls
+    @Test
+    void shouldRecordAndSummarize() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/actuator/jfr")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"profile\":\"profile\",\"durationSeconds\":30}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").value("RUNNING"))
+                .andExpect(jsonPath("$.profile").value("profile"))
+                .andExpect(jsonPath("$.durationSeconds").value(30));
+
+        List<byte[]> garbage = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            garbage.add(new byte[16 * 1024]);
+            if (garbage.size() > 100) {
+                garbage.clear();
+            }
+        }
+        System.gc();
+
+        String body = mockMvc.perform(MockMvcRequestBuilders.delete("/actuator/jfr")
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.allocationSites").isArray())
+                .andExpect(jsonPath("$.hotMethods").isArray())
+                .andExpect(jsonPath("$.lockContention").isArray())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode summary = objectMapper.readTree(body);
+        String recording = summary.get("recording").asText();
+
+        assertTrue(summary.get("events").asLong() > 0);
+        assertTrue(summary.get("gc").get("collections").asLong() > 0);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/jfr")
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recordings[0]").value(recording));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/jfr/{recording}", recording)
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.recording").value(recording));
+    }
+
+    // Test that validates that a second recording can't start while one is running
+    @Test
+    void shouldRejectConcurrentRecordings() throws Exception {
+
+        for (int expected : new int[]{200, 409}) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/actuator/jfr")
+                            .header("Authorization", adminUser.getToken())
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("{\"durationSeconds\":30}"))
+                    .andExpect(status().is(expected));
+        }
+    }
+
+    // Test that validates that unknown profiles and recordings are rejected
+    @Test
+    void shouldRejectUnknownProfilesAndRecordings() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/actuator/jfr")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"profile\":\"../../etc/passwd\"}"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/actuator/jfr/{recording}", "missing.jfr")
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isNotFound());
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/actuator/jfr")
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,41 @@
+package com.portafolio.gestor_tareas.application.integration;
+
+import ch.qos.logback.classic.LoggerContext;
+import com.portafolio.gestor_tareas.config.infrastructure.logging.AsyncRingBufferAppender;
+import com.portafolio.gestor_tareas.config.infrastructure.logging.RateLimitingTurboFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LoggingPipelineIntTest {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    // Test that validates that the root logger writes through the async appender and the rate limiter
+    @Test
+    void shouldLogThroughTheAsyncAppender() {
+
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+
+        assertInstanceOf(AsyncRingBufferAppender.class, context.getLogger(Logger.ROOT_LOGGER_NAME).getAppender("ASYNC"));
+        assertTrue(context.getTurboFilterList().stream().anyMatch(RateLimitingTurboFilter.class::isInstance));
+    }
+
+    // Test that validates that dropped events and the queue depth are exported as meters
+    @Test
+    void shouldExportDroppedEvents() {
+
+        assertEquals(3, meterRegistry.find("app.logging.events.dropped").meters().size());
+        assertNotNull(meterRegistry.find("app.logging.events.dropped").tag("reason", "queue_full").functionCounter());
+        assertTrue(meterRegistry.get("app.logging.queue.capacity").gauge().value() >= 8192);
+    }
+}
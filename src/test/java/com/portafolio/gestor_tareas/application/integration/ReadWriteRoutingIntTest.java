@@ -0,0 +1,256 @@
+package com.portafolio.gestor_tareas.application.integration;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.auth.infrastructure.AuthenticationRequest;
+import com.portafolio.gestor_tareas.auth.infrastructure.RefreshTokenController;
+import com.portafolio.gestor_tareas.auth.infrastructure.RegisterRequest;
+import com.portafolio.gestor_tareas.config.TestUserFactory;
+import com.portafolio.gestor_tareas.config.infrastructure.datasource.ReplicaLagMonitor;
+import com.portafolio.gestor_tareas.task.infrastructure.dto.TaskDTO;
+import com.portafolio.gestor_tareas.task.infrastructure.repository.SpringTaskRepository;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two in-memory databases stand in for the primary and a replica. The replica is a snapshot of the primary
+// taken after the users are created, so it never sees the tasks written during a test, and its lag is
+// whatever the replica_lag table says. The second-level cache is off so every read reaches a database.
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadWriteRoutingIntTest.PRIMARY_URL,
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=false",
+        "app.datasource.routing.enabled=true",
+        "app.datasource.routing.replica-urls=" + ReadWriteRoutingIntTest.REPLICA_URL,
+        "app.datasource.routing.lag-query=SELECT lag_seconds FROM replica_lag",
+        "app.datasource.routing.lag-check-interval-ms=3600000",
+        "app.datasource.routing.max-lag-ms=5000",
+        "app.datasource.routing.read-your-writes-ms=1000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadWriteRoutingIntTest {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routingprimary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routingreplica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestUserFactory userFactory;
+
+    @Autowired
+    private SpringTaskRepository springTaskRepository;
+
+    @Autowired
+    private SpringUserRepository springUserRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TestUserFactory.TestUser adminUser;
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        adminUser = userFactory.createAdminUser();
+
+        copyPrimaryToReplica();
+        setReplicaLag(0);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+
+        // Without its lag table the replica leaves the rotation, so the next set up only sees the primary
+        execute(REPLICA_URL, List.of("DROP ALL OBJECTS"));
+        replicaLagMonitor.check();
+
+        springTaskRepository.deleteAll();
+        springUserRepository.deleteAll();
+    }
+
+    // Test that validates that a user reads their own write from the primary, and from the replica once the window is over
+    @Test
+    void shouldReadYourOwnWritesFromThePrimary() throws Exception {
+
+        double pinnedBefore = routed("primary", "read_your_writes");
+        double replicaBefore = routed("replica", "read_only");
+        Long taskId = createTask();
+
+        fetchTask(taskId, 200);
+        assertTrue(routed("primary", "read_your_writes") > pinnedBefore);
+
+        Thread.sleep(1200);
+
+        // The replica snapshot was taken before the task existed
+        fetchTask(taskId, 404);
+        assertTrue(routed("replica", "read_only") > replicaBefore);
+    }
+
+    // Test that validates that a lagging replica is taken out of rotation and reads fall back to the primary
+    @Test
+    void shouldFallBackToThePrimaryWhenTheReplicaLags() throws Exception {
+
+        Long taskId = createTask();
+        Thread.sleep(1200);
+        fetchTask(taskId, 404);
+
+        setReplicaLag(30);
+
+        assertFalse(replicaLagMonitor.replicas().get(0).healthy());
+        assertEquals(30.0, replicaLagMonitor.replicas().get(0).lagSeconds());
+        fetchTask(taskId, 200);
+
+        setReplicaLag(0);
+
+        assertTrue(replicaLagMonitor.replicas().get(0).healthy());
+        fetchTask(taskId, 404);
+    }
+
+    // Test that validates that a new user can sign up, call the API, log in and refresh while the replica doesn't have them yet
+    @Test
+    void shouldSeeANewUserBeforeTheReplicaDoes() throws Exception {
+
+        RegisterRequest registration = new RegisterRequest("Fresh", "User", "fresh@test.com", "123456");
+
+        JsonNode registered = post("/api/auth/register", registration, 201);
+        String accessToken = registered.get("accessToken").asText();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/{id}", primaryUserId("fresh@test.com"))
+                        .header("Authorization", "Bearer " + accessToken))
+                .andExpect(status().isOk());
+
+        post("/api/auth/authenticate", new AuthenticationRequest("fresh@test.com", "123456"), 200);
+
+        RefreshTokenController.RefreshTokenRequest refresh = new RefreshTokenController.RefreshTokenRequest();
+        refresh.refreshToken = registered.get("refreshToken").asText();
+        post("/api/auth/refresh-token", refresh, 200);
+
+        assertFalse(replicaHasUser("fresh@test.com"));
+        assertTrue(replicaLagMonitor.replicas().get(0).healthy());
+    }
+
+    // Test that validates that a replica without a readable lag is never used
+    @Test
+    void shouldNotUseAReplicaWithUnknownLag() throws Exception {
+
+        execute(REPLICA_URL, List.of("DROP TABLE replica_lag"));
+        replicaLagMonitor.check();
+
+        assertFalse(replicaLagMonitor.replicas().get(0).healthy());
+        assertTrue(Double.isNaN(replicaLagMonitor.replicas().get(0).lagSeconds()));
+    }
+
+    private Long createTask() throws Exception {
+
+        TaskDTO task = new TaskDTO(null, "Routed task", "Written to the primary only", false, adminUser.getUserID(), null);
+
+        String response = mockMvc.perform(MockMvcRequestBuilders.post("/api/task")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(task)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode data = objectMapper.readTree(response).get("data");
+        return data.get("id").asLong();
+    }
+
+    private JsonNode post(String url, Object body, int expectedStatus) throws Exception {
+
+        String response = mockMvc.perform(MockMvcRequestBuilders.post(url)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().is(expectedStatus))
+                .andReturn().getResponse().getContentAsString();
+
+        return objectMapper.readTree(response).get("data");
+    }
+
+    private long primaryUserId(String email) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(PRIMARY_URL, "sa", "password");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id FROM app_users WHERE email = '" + email + "'")) {
+            assertTrue(resultSet.next());
+            return resultSet.getLong(1);
+        }
+    }
+
+    private boolean replicaHasUser(String email) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "password");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT id FROM app_users WHERE email = '" + email + "'")) {
+            return resultSet.next();
+        }
+    }
+
+    private void fetchTask(Long taskId, int expectedStatus) throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task/{id}", taskId)
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().is(expectedStatus));
+    }
+
+    private double routed(String target, String reason) {
+        return meterRegistry.get("app.datasource.routing").tag("target", target).tag("reason", reason).counter().count();
+    }
+
+    private void setReplicaLag(int seconds) throws SQLException {
+        execute(REPLICA_URL, List.of(
+                "CREATE TABLE IF NOT EXISTS replica_lag (lag_seconds INT)",
+                "DELETE FROM replica_lag",
+                "INSERT INTO replica_lag VALUES (" + seconds + ")"));
+        replicaLagMonitor.check();
+    }
+
+    private void copyPrimaryToReplica() throws SQLException {
+
+        List<String> script = new ArrayList<>();
+        script.add("DROP ALL OBJECTS");
+
+        try (Connection connection = DriverManager.getConnection(PRIMARY_URL, "sa", "password");
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SCRIPT")) {
+            while (resultSet.next()) {
+                script.add(resultSet.getString(1));
+            }
+        }
+
+        execute(REPLICA_URL, script);
+    }
+
+    private void execute(String url, List<String> statements) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "password");
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.execute(sql);
+            }
+        }
+    }
+}
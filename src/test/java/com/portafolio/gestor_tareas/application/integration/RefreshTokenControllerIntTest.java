@@ -7,22 +7,30 @@ import com.portafolio.gestor_tareas.auth.domain.RefreshTokenRepository;
 import com.portafolio.gestor_tareas.auth.infrastructure.RefreshTokenController;
 import com.portafolio.gestor_tareas.config.TestUserFactory;
 import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.UUID;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -50,8 +58,8 @@ class RefreshTokenControllerIntTest {
     @Autowired
     private SpringUserRepository userRepository;
 
-    @Autowired
-    private PasswordEncoder passwordEncoder;
+    @Value("${jwt.secret}")
+    private String secretKey;
 
     private TestUserFactory.TestUser regularUser;
 
@@ -97,6 +105,28 @@ class RefreshTokenControllerIntTest {
                 .andExpect(status().isBadRequest());
     }
 
+    // Test where the access token sent with the logout can no longer be used
+    @Test
+    void shouldRejectAccessTokenAfterLogout() throws Exception {
+
+        var request = new RefreshTokenController.RefreshTokenRequest();
+        request.refreshToken = regularUser.getRefreshToken();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task")
+                        .header("Authorization", regularUser.getToken()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/logout")
+                        .header("Authorization", regularUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task")
+                        .header("Authorization", regularUser.getToken()))
+                .andExpect(status().isForbidden());
+    }
+
     // Test to test when a token is sent that does not exist
     @Test
     void shouldReturnNotFoundForNoExistRefreshToken() throws Exception {
@@ -123,7 +153,7 @@ class RefreshTokenControllerIntTest {
                 .getId();
 
         RefreshToken token = new RefreshToken(
-                passwordEncoder.encode(tokenValue),
+                RefreshTokenService.hash(tokenValue),
                 userId,
                 Instant.now().plus(1, ChronoUnit.DAYS),
                 true
@@ -150,7 +180,7 @@ class RefreshTokenControllerIntTest {
                 .getId();
 
         RefreshToken token = new RefreshToken(
-                tokenValue,
+                RefreshTokenService.hash(tokenValue),
                 userId,
                 Instant.now().minus(1, ChronoUnit.HOURS),
                 false
@@ -216,4 +246,42 @@ class RefreshTokenControllerIntTest {
                 .andExpect(jsonPath("$.message").value("Successful global logout"));
     }
 
+    // Test where a global logout also rejects the access tokens of the other devices, renewals included
+    @Test
+    void shouldRejectEveryDeviceTokenAfterGlobalLogout() throws Exception {
+
+        TestUserFactory.TestUser otherDevice = userFactory.createRegularUser();
+        String expiredToken = "Bearer " + expiredToken(regularUser.getEmail());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/logout-all")
+                        .header("Authorization", regularUser.getToken()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task")
+                        .header("Authorization", otherDevice.getToken()))
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task")
+                        .header("Authorization", expiredToken))
+                .andExpect(status().isForbidden())
+                .andExpect(header().doesNotExist("Authorization"));
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task")
+                        .header("Authorization", userFactory.createRegularUser().getToken()))
+                .andExpect(status().isOk());
+    }
+
+    // An access token past its expiration but still inside the renewal window
+    private String expiredToken(String email) {
+
+        long now = System.currentTimeMillis();
+
+        return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
+                .setSubject(email)
+                .setIssuedAt(new Date(now - Duration.ofDays(2).toMillis()))
+                .setExpiration(new Date(now - Duration.ofDays(1).toMillis()))
+                .signWith(Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey)), SignatureAlgorithm.HS256)
+                .compact();
+    }
 }
@@ -12,7 +12,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.time.Instant;
@@ -32,9 +31,6 @@ class RefreshTokenIntegrationTest {
     @Autowired
     private SpringUserRepository userRepository;
 
-    @Autowired
-    private PasswordEncoder passwordEncoder;
-
     private UserEntity user;
 
     @BeforeEach
@@ -97,7 +93,7 @@ class RefreshTokenIntegrationTest {
         String tokenValue = "expiredToken";
 
         RefreshToken expiredToken = new RefreshToken(
-                passwordEncoder.encode(tokenValue),
+                RefreshTokenService.hash(tokenValue),
                 user.getId(),
                 Instant.now().minusSeconds(60),
                 false
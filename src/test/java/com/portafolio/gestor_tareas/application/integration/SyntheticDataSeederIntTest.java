@@ -0,0 +1,119 @@
+package com.portafolio.gestor_tareas.application.integration;
+
+import com.portafolio.gestor_tareas.auth.application.RefreshTokenService;
+import com.portafolio.gestor_tareas.config.infrastructure.SyntheticDataSeeder;
+import com.portafolio.gestor_tareas.exception.domain.RefreshTokenExpiredException;
+import com.portafolio.gestor_tareas.exception.domain.RefreshTokenRevokedException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs on its own in-memory database so the seeded rows don't reach the other test contexts
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:seedtest;DB_CLOSE_DELAY=-1",
+        "app.seed.users=200",
+        "app.seed.tasks=3000",
+        "app.seed.refresh-tokens-per-user=3",
+        "app.seed.threads=4",
+        "app.seed.batch-size=32",
+        "app.seed.seed=7"
+})
+@ActiveProfiles({"test", "seed"})
+class SyntheticDataSeederIntTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private SyntheticDataSeeder seeder;
+
+    // Test that validates that the requested users, tasks and refresh tokens are created besides the admin
+    @Test
+    void shouldSeedTheRequestedRows() {
+
+        assertEquals(200, count("SELECT COUNT(*) FROM app_users WHERE email LIKE 'seed.user%'"));
+        assertEquals(1, count("SELECT COUNT(*) FROM app_users WHERE email = 'admin@local'"));
+        assertEquals(3000, count("SELECT COUNT(*) FROM app_tasks"));
+        assertEquals(600, count("SELECT COUNT(*) FROM refresh_tokens"));
+    }
+
+    // Test that validates that a few users own most of the tasks
+    @Test
+    void shouldSkewTasksPerUser() {
+
+        List<Long> perUser = jdbcTemplate.queryForList(
+                "SELECT COUNT(*) FROM app_tasks GROUP BY user_id ORDER BY COUNT(*) DESC", Long.class);
+
+        long topTen = perUser.stream().limit(10).mapToLong(Long::longValue).sum();
+
+        assertTrue(topTen > 3000 / 3);
+        assertTrue(perUser.get(0) > 10 * perUser.get(perUser.size() - 1));
+    }
+
+    // Test that validates that the generated users get different permission mixes
+    @Test
+    void shouldMixPermissions() {
+
+        assertTrue(count("SELECT COUNT(DISTINCT permissions_mask) FROM app_users WHERE email LIKE 'seed.user%'") >= 3);
+    }
+
+    // Test that validates that seeded refresh tokens can be rebuilt from the seed and validated
+    @Test
+    void shouldCreateUsableRefreshTokens() {
+
+        Long userId = jdbcTemplate.queryForObject("SELECT id FROM app_users WHERE email = ?", Long.class,
+                SyntheticDataSeeder.email(5));
+
+        assertEquals(userId, refreshTokenService.validateRefreshToken(SyntheticDataSeeder.refreshToken(7, 5, 0)).getUserId());
+        assertThrows(RefreshTokenExpiredException.class,
+                () -> refreshTokenService.validateRefreshToken(SyntheticDataSeeder.refreshToken(7, 5, 1)));
+        assertThrows(RefreshTokenRevokedException.class,
+                () -> refreshTokenService.validateRefreshToken(SyntheticDataSeeder.refreshToken(7, 5, 2)));
+    }
+
+    // Test that validates that running the seeder again doesn't duplicate the data
+    @Test
+    void shouldSkipWhenAlreadySeeded() throws Exception {
+
+        seeder.run();
+
+        assertEquals(200, count("SELECT COUNT(*) FROM app_users WHERE email LIKE 'seed.user%'"));
+    }
+
+    // Test that validates that a run that stopped halfway is completed with the same rows it would have written
+    @Test
+    void shouldResumeAnInterruptedRun() throws Exception {
+
+        Timestamp createdAt = jdbcTemplate.queryForObject("SELECT created_at FROM app_users WHERE email = ?",
+                Timestamp.class, SyntheticDataSeeder.email(40));
+        long tasks = count("SELECT COUNT(*) FROM app_tasks");
+
+        String missing = "SELECT id FROM app_users WHERE email IN ('" + SyntheticDataSeeder.email(40) + "', '"
+                + SyntheticDataSeeder.email(41) + "', '" + SyntheticDataSeeder.email(199) + "')";
+        jdbcTemplate.update("DELETE FROM refresh_tokens WHERE user_id IN (" + missing + ")");
+        jdbcTemplate.update("DELETE FROM app_tasks WHERE user_id IN (" + missing + ")");
+        jdbcTemplate.update("DELETE FROM app_users WHERE id IN (" + missing + ")");
+
+        seeder.run();
+
+        assertEquals(200, count("SELECT COUNT(*) FROM app_users WHERE email LIKE 'seed.user%'"));
+        assertEquals(tasks, count("SELECT COUNT(*) FROM app_tasks"));
+        assertEquals(600, count("SELECT COUNT(*) FROM refresh_tokens"));
+        assertEquals(createdAt, jdbcTemplate.queryForObject("SELECT created_at FROM app_users WHERE email = ?",
+                Timestamp.class, SyntheticDataSeeder.email(40)));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+}
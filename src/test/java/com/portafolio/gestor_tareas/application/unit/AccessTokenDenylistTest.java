@@ -0,0 +1,86 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.AccessTokenDenylist;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenDenylistTest {
+
+    private AccessTokenDenylist denylist;
+
+    @BeforeEach
+    void setUp() {
+        denylist = new AccessTokenDenylist(16, 0.01);
+    }
+
+    @Test
+    void shouldDenyRevokedToken() {
+
+        String tokenId = UUID.randomUUID().toString();
+
+        denylist.revoke(tokenId, System.currentTimeMillis() + 60_000);
+
+        assertTrue(denylist.isRevoked(tokenId), "The revoked token must be denied");
+        assertFalse(denylist.isRevoked(UUID.randomUUID().toString()), "A token never revoked must be allowed");
+    }
+
+    @Test
+    void shouldIgnoreTokensWithoutId() {
+
+        denylist.revoke(null, System.currentTimeMillis() + 60_000);
+
+        assertFalse(denylist.isRevoked(null));
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    void shouldPurgeEntriesOnceTheyExpire() throws InterruptedException {
+
+        String tokenId = UUID.randomUUID().toString();
+
+        denylist.revoke(tokenId, System.currentTimeMillis() + 50);
+        assertTrue(denylist.isRevoked(tokenId));
+
+        Thread.sleep(100);
+
+        assertFalse(denylist.isRevoked(tokenId), "An expired entry must not deny the token");
+
+        denylist.purgeExpired();
+
+        assertEquals(0, denylist.size());
+    }
+
+    @Test
+    void shouldKeepEveryEntryWhenTheFilterGrowsBeyondItsCapacity() {
+
+        String[] tokenIds = new String[200];
+
+        for (int i = 0; i < tokenIds.length; i++) {
+            tokenIds[i] = UUID.randomUUID().toString();
+            denylist.revoke(tokenIds[i], System.currentTimeMillis() + 60_000);
+        }
+
+        for (String tokenId : tokenIds) {
+            assertTrue(denylist.isRevoked(tokenId));
+        }
+        assertEquals(tokenIds.length, denylist.size());
+    }
+
+    @Test
+    void shouldDenyTokensIssuedBeforeTheSubjectCutoff() {
+
+        long now = System.currentTimeMillis();
+
+        denylist.revokeIssuedBefore("user@example.com", now, now + 60_000);
+        denylist.revokeIssuedBefore("user@example.com", now - 1_000, now + 30_000);
+
+        assertTrue(denylist.isIssuedBeforeCutoff("user@example.com", now - 1), "Older tokens must be denied");
+        assertTrue(denylist.isIssuedBeforeCutoff("user@example.com", now), "An earlier logout must not move the cutoff back");
+        assertFalse(denylist.isIssuedBeforeCutoff("user@example.com", now + 1), "Tokens issued afterwards must be allowed");
+        assertFalse(denylist.isIssuedBeforeCutoff("other@example.com", now - 1), "Other users must not be affected");
+    }
+}
@@ -0,0 +1,152 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.AppenderBase;
+import com.portafolio.gestor_tareas.config.infrastructure.logging.AsyncRingBufferAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncRingBufferAppenderTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private final Logger logger = context.getLogger("com.portafolio.gestor_tareas.test");
+    private final CountDownLatch release = new CountDownLatch(1);
+    private final List<ILoggingEvent> written = new CopyOnWriteArrayList<>();
+    private final List<String> writerThreads = new CopyOnWriteArrayList<>();
+
+    private AsyncRingBufferAppender appender;
+
+    // Stands in for the console appender, optionally stalled until the test releases it
+    private final class RecordingAppender extends AppenderBase<ILoggingEvent> {
+
+        private final boolean stalled;
+
+        private RecordingAppender(boolean stalled) {
+            this.stalled = stalled;
+        }
+
+        @Override
+        protected void append(ILoggingEvent event) {
+            try {
+                if (stalled) {
+                    release.await();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writerThreads.add(Thread.currentThread().getName());
+            written.add(event);
+        }
+    }
+
+    private AsyncRingBufferAppender start(boolean stalled, int size, AsyncRingBufferAppender.DiscardPolicy policy) {
+
+        context.setMDCAdapter(MDC.getMDCAdapter());
+
+        RecordingAppender recording = new RecordingAppender(stalled);
+        recording.setContext(context);
+        recording.start();
+
+        appender = new AsyncRingBufferAppender();
+        appender.setContext(context);
+        appender.setName("ASYNC");
+        appender.setRingBufferSize(size);
+        appender.setDiscardPolicy(policy);
+        appender.setDiscardingThreshold(50);
+        appender.addAppender(recording);
+        appender.start();
+        return appender;
+    }
+
+    private ILoggingEvent event(Level level, String message) {
+        return new LoggingEvent(Logger.class.getName(), logger, level, message, null, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        MDC.clear();
+        if (appender != null) {
+            appender.stop();
+        }
+    }
+
+    // Test that validates that events are written by the background thread with the caller's MDC
+    @Test
+    void shouldWriteEventsOnTheBackgroundThread() throws Exception {
+
+        start(false, 16, AsyncRingBufferAppender.DiscardPolicy.DROP);
+
+        MDC.put("traceId", "0af7651916cd43dd8448eb211c80319c");
+        appender.doAppend(event(Level.INFO, "GET /api/task/1 - fetching task details"));
+        MDC.clear();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (written.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertEquals(1, written.size());
+        assertEquals("logback-async-ASYNC", writerThreads.get(0));
+        assertEquals("0af7651916cd43dd8448eb211c80319c", written.get(0).getMDCPropertyMap().get("traceId"));
+    }
+
+    // Test that validates that a full buffer drops events instead of blocking the caller
+    @Test
+    void shouldDropEventsWhenFull() {
+
+        start(true, 4, AsyncRingBufferAppender.DiscardPolicy.DROP);
+
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(event(Level.ERROR, "event " + i));
+        }
+
+        // The worker holds one event inside the stalled appender, four more fill the buffer
+        assertTrue(appender.getDiscardedWhenFull() >= 15);
+        assertEquals(0, appender.getDiscardedBelowWarn());
+    }
+
+    // Test that validates that INFO events are shed first so warnings still find room
+    @Test
+    void shouldShedEventsBelowWarnFirst() {
+
+        start(true, 8, AsyncRingBufferAppender.DiscardPolicy.DROP_BELOW_WARN);
+
+        for (int i = 0; i < 20; i++) {
+            appender.doAppend(event(Level.INFO, "event " + i));
+        }
+        long discardedBelowWarn = appender.getDiscardedBelowWarn();
+        appender.doAppend(event(Level.WARN, "still written"));
+
+        assertTrue(discardedBelowWarn >= 15);
+        assertEquals(0, appender.getDiscardedWhenFull());
+    }
+
+    // Test that validates that stopping the appender flushes the events still in the buffer
+    @Test
+    void shouldFlushPendingEventsOnStop() {
+
+        start(true, 16, AsyncRingBufferAppender.DiscardPolicy.BLOCK);
+
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event(Level.INFO, "event " + i));
+        }
+        release.countDown();
+        appender.stop();
+
+        assertEquals(10, written.size());
+        assertEquals("event 9", written.get(9).getMessage());
+    }
+}
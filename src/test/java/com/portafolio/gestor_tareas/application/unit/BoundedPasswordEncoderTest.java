@@ -0,0 +1,135 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.BoundedPasswordEncoder;
+import com.portafolio.gestor_tareas.exception.domain.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundedPasswordEncoderTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private BoundedPasswordEncoder encoder;
+
+    @AfterEach
+    void tearDown() {
+        encoder.destroy();
+    }
+
+    @Test
+    void shouldDelegateHashingToTheWrappedEncoder() {
+
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 10, 1, meterRegistry);
+
+        String hash = encoder.encode("password");
+
+        assertTrue(encoder.matches("password", hash));
+        assertFalse(encoder.matches("other", hash));
+        assertEquals(1, meterRegistry.get("password.hash.time").tag("operation", "encode").timer().count());
+        assertEquals(2, meterRegistry.get("password.hash.time").tag("operation", "matches").timer().count());
+        assertEquals(3, meterRegistry.get("password.hash.queue.wait").timer().count());
+    }
+
+    @Test
+    void shouldRejectWhenTheQueueIsFull() throws Exception {
+
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+
+        encoder = new BoundedPasswordEncoder(blockingEncoder(started, release), 1, 1, 2, meterRegistry);
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // One call takes the only hashing thread, the next one fills the queue
+            Future<String> running = callers.submit(() -> encoder.encode("first"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<String> queued = callers.submit(() -> encoder.encode("second"));
+            waitForQueuedTask();
+
+            ServiceUnavailableException exception = assertThrows(ServiceUnavailableException.class,
+                    () -> encoder.encode("third"));
+
+            assertEquals(2, exception.getRetryAfterSeconds());
+            assertEquals(1.0, meterRegistry.get("password.hash.rejected").counter().count());
+
+            release.countDown();
+            assertEquals("hashed-first", running.get(5, TimeUnit.SECONDS));
+            assertEquals("hashed-second", queued.get(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldPropagateDelegateFailures() {
+
+        PasswordEncoder failing = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                throw new IllegalArgumentException("boom");
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return false;
+            }
+        };
+
+        encoder = new BoundedPasswordEncoder(failing, 1, 1, 1, meterRegistry);
+
+        assertThrows(IllegalArgumentException.class, () -> encoder.encode("password"));
+    }
+
+    @Test
+    void shouldEncodeBatchesInOrderWithoutFillingTheQueue() {
+
+        // A queue of two would reject the batch if it were submitted all at once
+        encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 2, 2, 1, meterRegistry);
+
+        List<String> passwords = List.of("a1", "b2", "c3", "d4", "e5", "f6", "g7", "h8");
+
+        List<String> hashes = encoder.encodeAll(passwords, 2);
+
+        assertEquals(passwords.size(), hashes.size());
+        for (int i = 0; i < passwords.size(); i++) {
+            assertTrue(encoder.matches(passwords.get(i), hashes.get(i)));
+        }
+        assertEquals(0.0, meterRegistry.get("password.hash.rejected").counter().count());
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("executor.queued").gauge().value() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private PasswordEncoder blockingEncoder(CountDownLatch started, CountDownLatch release) {
+        return new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return "hashed-" + rawPassword;
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                return encode(rawPassword).equals(encodedPassword);
+            }
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.CalibratedBCryptPasswordEncoder;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CalibratedBCryptPasswordEncoderTest {
+
+    @Test
+    void shouldFlagHashesWithADifferentCostForUpgrade() {
+
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("password")));
+        assertTrue(encoder.upgradeEncoding(new BCryptPasswordEncoder(6).encode("password")));
+        assertFalse(encoder.upgradeEncoding(encoder.encode("password")));
+    }
+
+    @Test
+    void shouldNotFlagValuesThatAreNotBCryptHashes() {
+
+        CalibratedBCryptPasswordEncoder encoder = new CalibratedBCryptPasswordEncoder(5);
+
+        assertFalse(encoder.upgradeEncoding(null));
+        assertFalse(encoder.upgradeEncoding("plain-text"));
+    }
+
+    @Test
+    void shouldStayAtMinimumStrengthWhenTargetIsTooLow() {
+
+        CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder.calibrate(0, 4, 8);
+
+        assertEquals(4, encoder.getStrength());
+    }
+
+    @Test
+    void shouldNotExceedMaximumStrength() {
+
+        CalibratedBCryptPasswordEncoder encoder = CalibratedBCryptPasswordEncoder.calibrate(60_000, 4, 6);
+
+        assertEquals(6, encoder.getStrength());
+        assertTrue(encoder.matches("password", encoder.encode("password")));
+    }
+}
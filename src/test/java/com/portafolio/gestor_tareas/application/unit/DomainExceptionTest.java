@@ -0,0 +1,47 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.exception.domain.DomainException;
+import com.portafolio.gestor_tareas.exception.domain.ForbiddenException;
+import com.portafolio.gestor_tareas.exception.domain.NotFoundException;
+import com.portafolio.gestor_tareas.exception.domain.TaskAlreadyExistException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DomainExceptionTest {
+
+    @AfterEach
+    void tearDown() {
+        DomainException.setStackTraces(false);
+    }
+
+    // Test that validates that domain exceptions skip the stack trace by default
+    @Test
+    void shouldNotCaptureStackTracesByDefault() {
+
+        assertEquals(0, new NotFoundException("Task with id 1 not found").getStackTrace().length);
+        assertEquals(0, new ForbiddenException("You do not have access").getStackTrace().length);
+        assertEquals(0, new TaskAlreadyExistException("Duplicated title").getStackTrace().length);
+    }
+
+    // Test that validates that the message keeps its description and detail
+    @Test
+    void shouldKeepTheMessage() {
+
+        assertEquals("Not found exception. Task with id 1 not found",
+                new NotFoundException("Task with id 1 not found").getMessage());
+    }
+
+    // Test that validates that stack traces come back when they are enabled for debugging
+    @Test
+    void shouldCaptureStackTracesWhenEnabled() {
+
+        DomainException.setStackTraces(true);
+
+        StackTraceElement[] stackTrace = new NotFoundException("Task with id 1 not found").getStackTrace();
+
+        assertTrue(stackTrace.length > 0);
+        assertEquals(DomainExceptionTest.class.getName(), stackTrace[0].getClassName());
+    }
+}
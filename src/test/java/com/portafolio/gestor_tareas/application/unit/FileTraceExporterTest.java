@@ -0,0 +1,67 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.config.application.Tracing;
+import com.portafolio.gestor_tareas.config.infrastructure.FileTraceExporter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileTraceExporterTest {
+
+    @TempDir
+    private Path directory;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // Test that validates that a full trace file is rotated and only max-files rotated files are kept
+    @Test
+    void shouldRotateTheFileOnceItReachesTheMaximumSize() throws Exception {
+
+        FileTraceExporter exporter = new FileTraceExporter(new ObjectMapper(), meterRegistry,
+                directory.resolve("traces.jsonl").toString(), 16, 1, 2, "gestor-tareas");
+
+        try {
+            // Each trace is about half of the 1 MB limit, so every second trace starts a new file
+            for (int i = 1; i <= 7; i++) {
+                exporter.export(trace());
+                awaitExported(exporter, i);
+            }
+        } finally {
+            exporter.destroy();
+        }
+
+        assertTrue(Files.exists(exporter.file()));
+        assertTrue(Files.exists(exporter.rotated(1)));
+        assertTrue(Files.exists(exporter.rotated(2)));
+        assertFalse(Files.exists(exporter.rotated(3)));
+        assertEquals(2, Files.readAllLines(exporter.rotated(1)).size());
+        assertTrue(Files.size(exporter.rotated(1)) < 2 * 1024 * 1024);
+    }
+
+    private static Tracing.Trace trace() {
+
+        try (Tracing.Trace trace = Tracing.begin(null, null, true, 10, "GET /api/task")) {
+            trace.root().attribute("payload", "x".repeat(600 * 1024)).end(true);
+            return trace;
+        }
+    }
+
+    private void awaitExported(FileTraceExporter exporter, int traces) throws InterruptedException {
+
+        for (int attempt = 0; attempt < 100; attempt++) {
+            if (meterRegistry.get("app.tracing.traces").tag("outcome", "exported").counter().count() >= traces) {
+                return;
+            }
+            Thread.sleep(20);
+        }
+
+        fail("Only " + meterRegistry.get("app.tracing.traces").tag("outcome", "exported").counter().count()
+                + " traces were written to " + exporter.file());
+    }
+}
@@ -1,13 +1,22 @@
 package com.portafolio.gestor_tareas.application.unit;
 
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
 import com.portafolio.gestor_tareas.config.application.JwtService;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
 import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -74,4 +83,22 @@ class JwtServiceTest {
 
         assertFalse(isValid, "The altered token should not be valid");
     }
-}
\ No newline at end of file
+
+    // Test that validates that the token carries the role and permissions as a mask and as the old claims
+    @Test
+    @SuppressWarnings("deprecation")
+    void shouldCarryAuthoritiesInTheToken() {
+
+        user.setRole(Role.ADMIN);
+        user.setPermissions(EnumSet.of(Permission.TASK_READ, Permission.TASK_ASSIGN));
+
+        Claims claims = jwtService.extractAllClaims(jwtService.generateToken(user));
+        int mask = claims.get(JwtService.AUTHORITIES_CLAIM, Integer.class);
+
+        assertEquals(Role.ADMIN, AuthorityMask.roleOf(mask));
+        assertEquals(EnumSet.of(Permission.TASK_READ, Permission.TASK_ASSIGN), AuthorityMask.permissionsOf(mask));
+        assertEquals(List.of("ROLE_ADMIN"), claims.get(JwtService.ROLES_CLAIM, List.class));
+        assertEquals(Set.of("TASK_READ", "TASK_ASSIGN"),
+                new HashSet<>(claims.get(JwtService.PERMISSIONS_CLAIM, List.class)));
+    }
+}
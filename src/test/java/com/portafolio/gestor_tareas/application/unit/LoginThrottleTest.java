@@ -0,0 +1,94 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.auth.application.LoginThrottle;
+import com.portafolio.gestor_tareas.exception.domain.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoginThrottleTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private LoginThrottle loginThrottle;
+
+    private final String email = "test@example.com";
+    private final String clientIp = "10.0.0.1";
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        loginThrottle = new LoginThrottle(meterRegistry, 300, 3, 10, 1000, 60_000);
+    }
+
+    @Test
+    void shouldAllowAttemptsBelowTheLimit() {
+
+        loginThrottle.recordFailure(email, clientIp);
+        loginThrottle.recordFailure(email, clientIp);
+
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed(email, clientIp));
+    }
+
+    @Test
+    void shouldThrottleEmailOnceTheLimitIsReached() {
+
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure(email, clientIp);
+        }
+
+        TooManyRequestsException exception = assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.checkAllowed("TEST@example.com", "10.0.0.2"));
+
+        assertTrue(exception.getRetryAfterSeconds() >= 1, "Retry-After must be at least one second");
+        assertEquals(1.0, meterRegistry.get("auth.login.throttled").tag("scope", "email").counter().count());
+        assertEquals(3.0, meterRegistry.get("auth.login.failures").counter().count());
+    }
+
+    @Test
+    void shouldBackOffExponentially() {
+
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure(email, null);
+        }
+        long firstBackoff = retryAfter(email, null);
+
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure(email, null);
+        }
+        long laterBackoff = retryAfter(email, null);
+
+        assertTrue(laterBackoff >= firstBackoff * 8, "The backoff must double with every extra failure");
+    }
+
+    @Test
+    void shouldThrottleClientIpAcrossEmails() {
+
+        for (int i = 0; i < 10; i++) {
+            loginThrottle.recordFailure("user" + i + "@example.com", clientIp);
+        }
+
+        assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.checkAllowed("another@example.com", clientIp));
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed("another@example.com", "10.0.0.2"));
+    }
+
+    @Test
+    void shouldResetEmailAfterSuccessfulLogin() {
+
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.recordFailure(email, null);
+        }
+
+        loginThrottle.recordSuccess(email);
+
+        assertDoesNotThrow(() -> loginThrottle.checkAllowed(email, null));
+    }
+
+    private long retryAfter(String email, String clientIp) {
+        return assertThrows(TooManyRequestsException.class,
+                () -> loginThrottle.checkAllowed(email, clientIp)).getRetryAfterSeconds();
+    }
+}
@@ -0,0 +1,137 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
+import com.portafolio.gestor_tareas.config.infrastructure.PrecompiledAuthorizationManager;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class PrecompiledAuthorizationManagerTest {
+
+    static class SecuredTarget {
+
+        @PreAuthorize("hasAuthority('TASK_READ')")
+        public void read() {
+        }
+
+        @PreAuthorize("hasRole('ADMIN')")
+        public void admin() {
+        }
+
+        @PreAuthorize("hasAnyAuthority('TASK_DELETE', 'TASK_ASSIGN')")
+        public void deleteOrAssign() {
+        }
+
+        @PreAuthorize("hasAuthority('TASK_READ') and #id == 1")
+        public void complex(Long id) {
+        }
+    }
+
+    private AuthorizationManager<MethodInvocation> fallback;
+    private PrecompiledAuthorizationManager manager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        fallback = mock(AuthorizationManager.class);
+        manager = new PrecompiledAuthorizationManager(fallback);
+    }
+
+    @Test
+    void shouldGrantWhenThePrincipalHasTheAuthority() throws Exception {
+
+        Authentication user = authentication(Role.USER, EnumSet.of(Permission.TASK_READ));
+
+        assertTrue(manager.authorize(() -> user, invocation("read")).isGranted());
+        assertFalse(manager.authorize(() -> user, invocation("admin")).isGranted());
+        assertFalse(manager.authorize(() -> user, invocation("deleteOrAssign")).isGranted());
+        verifyNoInteractions(fallback);
+    }
+
+    @Test
+    void shouldGrantRolesAndAnyOfSeveralAuthorities() throws Exception {
+
+        Authentication admin = authentication(Role.ADMIN, EnumSet.of(Permission.TASK_ASSIGN));
+
+        assertTrue(manager.authorize(() -> admin, invocation("admin")).isGranted());
+        assertTrue(manager.authorize(() -> admin, invocation("deleteOrAssign")).isGranted());
+        assertFalse(manager.authorize(() -> admin, invocation("read")).isGranted());
+    }
+
+    @Test
+    void shouldDenyAnonymousUsers() throws Exception {
+
+        Authentication anonymous = new AnonymousAuthenticationToken(
+                "key", "anonymous", AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+        assertFalse(manager.authorize(() -> anonymous, invocation("read")).isGranted());
+    }
+
+    @Test
+    void shouldUseAuthoritiesWhenThePrincipalHasNoMask() throws Exception {
+
+        Authentication token = new UsernamePasswordAuthenticationToken(
+                "user", null, AuthorityUtils.createAuthorityList("TASK_READ"));
+
+        assertTrue(manager.authorize(() -> token, invocation("read")).isGranted());
+    }
+
+    @Test
+    void shouldDelegateExpressionsItCannotCompile() throws Exception {
+
+        Authentication user = authentication(Role.USER, EnumSet.of(Permission.TASK_READ));
+        when(fallback.authorize(any(), any())).thenReturn(new AuthorizationDecision(true));
+
+        MethodInvocation invocation = new SimpleMethodInvocation(
+                new SecuredTarget(), SecuredTarget.class.getMethod("complex", Long.class), 1L);
+
+        assertTrue(manager.authorize(() -> user, invocation).isGranted());
+        verify(fallback).authorize(any(), eq(invocation));
+    }
+
+    @Test
+    void shouldRoundTripRoleAndPermissionsThroughTheMask() {
+
+        Set<Permission> permissions = EnumSet.of(Permission.TASK_WRITE, Permission.TASK_UNASSIGN);
+
+        int mask = AuthorityMask.of(Role.ADMIN, permissions);
+
+        assertEquals(Role.ADMIN, AuthorityMask.roleOf(mask));
+        assertEquals(permissions, AuthorityMask.permissionsOf(mask));
+        assertEquals(mask, AuthorityMask.of(AuthorityUtils.createAuthorityList("ROLE_ADMIN", "TASK_WRITE", "TASK_UNASSIGN")));
+    }
+
+    private MethodInvocation invocation(String methodName) throws NoSuchMethodException {
+        return new SimpleMethodInvocation(new SecuredTarget(), SecuredTarget.class.getMethod(methodName));
+    }
+
+    private Authentication authentication(Role role, Set<Permission> permissions) {
+
+        UserEntity user = UserEntity.builder()
+                .id(1L)
+                .email("user@example.com")
+                .role(role)
+                .permissions(permissions)
+                .build();
+
+        return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+    }
+}
@@ -0,0 +1,52 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.QueryStats;
+import com.portafolio.gestor_tareas.config.infrastructure.filter.QueryStatsFilter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QueryStatsFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final QueryStatsFilter filter = new QueryStatsFilter(meterRegistry, 20);
+
+    // Test that validates that the statements of a request are recorded
+    @Test
+    void shouldRecordStatementsPerRequest() throws Exception {
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/task/1"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    QueryStats.record(1_000);
+                    QueryStats.record(1_000);
+                });
+
+        DistributionSummary statements = meterRegistry.get("app.db.statements").summary();
+
+        assertEquals(1, statements.count());
+        assertEquals(2, statements.totalAmount());
+        assertNull(QueryStats.current());
+    }
+
+    // Test that validates that the statements are recorded when the request fails
+    @Test
+    void shouldRecordFailedRequests() {
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/task/1"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    QueryStats.record(1_000);
+                    throw new IllegalStateException("boom");
+                }));
+
+        DistributionSummary statements = meterRegistry.get("app.db.statements").summary();
+
+        assertEquals(1, statements.count());
+        assertEquals(1, statements.totalAmount());
+        assertNull(QueryStats.current());
+    }
+}
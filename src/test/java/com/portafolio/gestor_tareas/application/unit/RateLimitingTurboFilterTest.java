@@ -0,0 +1,82 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.portafolio.gestor_tareas.config.infrastructure.logging.RateLimitingTurboFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitingTurboFilterTest {
+
+    private final LoggerContext context = new LoggerContext();
+    private RateLimitingTurboFilter filter;
+
+    @BeforeEach
+    void setUp() {
+
+        filter = new RateLimitingTurboFilter();
+        filter.setLoggerPrefix("com.portafolio.gestor_tareas");
+        filter.setEventsPerSecond(10);
+        filter.setSampleEvery(5);
+        filter.setContext(context);
+        filter.start();
+
+        context.getLogger("com.portafolio.gestor_tareas").setLevel(Level.INFO);
+    }
+
+    private int accepted(Logger logger, Level level, int events) {
+
+        int accepted = 0;
+        for (int i = 0; i < events; i++) {
+            if (filter.decide(null, logger, level, "fetching task {}", new Object[]{i}, null) == FilterReply.NEUTRAL) {
+                accepted++;
+            }
+        }
+        return accepted;
+    }
+
+    // Test that validates that a logger past its budget only keeps a sample of its events
+    @Test
+    void shouldSampleEventsPastTheBudget() {
+
+        Logger controller = context.getLogger("com.portafolio.gestor_tareas.task.infrastructure.TaskControllerImpl");
+
+        // Stay inside one second so the window does not roll over mid test
+        long second = System.currentTimeMillis() / 1000;
+        int accepted = accepted(controller, Level.INFO, 60);
+
+        if (System.currentTimeMillis() / 1000 == second) {
+            assertEquals(10 + 50 / 5, accepted);
+            assertEquals(40, filter.getDenied());
+        }
+    }
+
+    // Test that validates that each logger has its own budget
+    @Test
+    void shouldLimitEachLoggerSeparately() {
+
+        Logger tasks = context.getLogger("com.portafolio.gestor_tareas.task.infrastructure.TaskControllerImpl");
+        Logger users = context.getLogger("com.portafolio.gestor_tareas.users.infrastructure.UserControllerImpl");
+
+        accepted(tasks, Level.INFO, 100);
+
+        assertTrue(accepted(users, Level.INFO, 10) >= 1);
+    }
+
+    // Test that validates that warnings, disabled levels and foreign loggers are never limited
+    @Test
+    void shouldNeverLimitWarningsOrOtherLoggers() {
+
+        Logger controller = context.getLogger("com.portafolio.gestor_tareas.task.infrastructure.TaskControllerImpl");
+        Logger hibernate = context.getLogger("org.hibernate.SQL");
+
+        assertEquals(100, accepted(controller, Level.WARN, 100));
+        assertEquals(100, accepted(controller, Level.DEBUG, 100));
+        assertEquals(100, accepted(hibernate, Level.INFO, 100));
+        assertEquals(0, filter.getDenied());
+    }
+}
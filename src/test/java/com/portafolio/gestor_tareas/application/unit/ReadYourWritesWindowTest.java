@@ -0,0 +1,39 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.ReadYourWritesWindow;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadYourWritesWindowTest {
+
+    // Test that validates that only users who just wrote are pinned to the primary
+    @Test
+    void shouldPinUsersWhoJustWrote() {
+
+        ReadYourWritesWindow window = new ReadYourWritesWindow(60_000);
+
+        window.recordWrite("admintest@test.com");
+
+        assertTrue(window.isPinned("admintest@test.com"));
+        assertFalse(window.isPinned("usertest@test.com"));
+    }
+
+    // Test that validates that the pin is released once the window is over
+    @Test
+    void shouldReleaseThePinAfterTheWindow() throws Exception {
+
+        ReadYourWritesWindow window = new ReadYourWritesWindow(50);
+
+        window.recordWrite("admintest@test.com");
+        window.recordWrite("usertest@test.com");
+        Thread.sleep(100);
+
+        assertFalse(window.isPinned("admintest@test.com"));
+        assertEquals(1, window.size());
+
+        window.purge();
+
+        assertEquals(0, window.size());
+    }
+}
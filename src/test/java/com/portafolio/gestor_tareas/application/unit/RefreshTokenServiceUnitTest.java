@@ -12,15 +12,15 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 class RefreshTokenServiceUnitTest {
@@ -34,9 +34,6 @@ class RefreshTokenServiceUnitTest {
     @Mock
     private JwtService jwtService;
 
-    @Mock
-    private PasswordEncoder passwordEncoder;
-
     @InjectMocks
     private RefreshTokenService refreshTokenService;
 
@@ -56,9 +53,7 @@ class RefreshTokenServiceUnitTest {
     void shouldCreateRefreshToken() {
 
         Long userId = user.getId();
-        String hashedToken = "hashed-token";
 
-        when(passwordEncoder.encode(anyString())).thenReturn(hashedToken);
         when(refreshTokenRepository.saveAndFlush(any(RefreshToken.class)))
                 .thenAnswer(invocation -> {
                     RefreshToken saved = invocation.getArgument(0);
@@ -74,15 +69,15 @@ class RefreshTokenServiceUnitTest {
         assertFalse(created.isRevoked(), "A new token should not be revoked by default");
         assertTrue(created.getExpired().isAfter(Instant.now()), "The expiry date should be in the future");
 
-        verify(passwordEncoder, times(1)).encode(anyString());
-        verify(refreshTokenRepository, times(1)).saveAndFlush(any(RefreshToken.class));
+        verify(refreshTokenRepository, times(1)).saveAndFlush(argThat(saved ->
+                RefreshTokenService.hash(created.getToken()).equals(saved.getToken())));
     }
 
     @Test
     void shouldValidateValidRefreshToken() {
 
         String rawToken = UUID.randomUUID().toString();
-        String hashedToken = "hashedToken";
+        String hashedToken = RefreshTokenService.hash(rawToken);
 
         RefreshToken refreshToken = new RefreshToken(
                 hashedToken,
@@ -91,8 +86,7 @@ class RefreshTokenServiceUnitTest {
                 false
         );
 
-        when(refreshTokenRepository.findAll()).thenReturn(List.of(refreshToken));
-        when(passwordEncoder.matches(rawToken, hashedToken)).thenReturn(true);
+        when(refreshTokenRepository.findByToken(hashedToken)).thenReturn(Optional.of(refreshToken));
 
         RefreshToken validated = refreshTokenService.validateRefreshToken(rawToken);
 
@@ -104,7 +98,7 @@ class RefreshTokenServiceUnitTest {
     void shouldThrowExceptionWhenTokenExpired() {
 
         String rawToken = UUID.randomUUID().toString();
-        String hashedToken = "hashedToken";
+        String hashedToken = RefreshTokenService.hash(rawToken);
 
         RefreshToken expiredToken = new RefreshToken(
                 hashedToken,
@@ -113,8 +107,7 @@ class RefreshTokenServiceUnitTest {
                 false
         );
 
-        when(refreshTokenRepository.findAll()).thenReturn(List.of(expiredToken));
-        when(passwordEncoder.matches(rawToken, hashedToken)).thenReturn(true);
+        when(refreshTokenRepository.findByToken(hashedToken)).thenReturn(Optional.of(expiredToken));
 
         RefreshTokenExpiredException exception = assertThrows(
                 RefreshTokenExpiredException.class,
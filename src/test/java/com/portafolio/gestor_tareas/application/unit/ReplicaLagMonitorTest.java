@@ -0,0 +1,44 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.ReadYourWritesWindow;
+import com.portafolio.gestor_tareas.config.infrastructure.datasource.ReplicaLagMonitor;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReplicaLagMonitorTest {
+
+    // Test that validates that an unreachable replica doesn't hold up the start and stays out of the rotation
+    @Test
+    void shouldNotWaitForAnUnreachableReplica() throws Exception {
+
+        CountDownLatch checking = new CountDownLatch(1);
+        DataSource unreachable = mock(DataSource.class);
+
+        when(unreachable.getConnection()).thenAnswer(invocation -> {
+            checking.countDown();
+            Thread.sleep(5_000);
+            throw new SQLException("Connection is not available, request timed out");
+        });
+
+        long start = System.nanoTime();
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(List.of(unreachable), new ReadYourWritesWindow(1000),
+                new SimpleMeterRegistry(), "SHOW REPLICA STATUS", "Seconds_Behind_Source", 1000, 1000);
+
+        try {
+            assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+            assertTrue(checking.await(1, TimeUnit.SECONDS), "The first check must start right away");
+            assertFalse(monitor.replicas().get(0).healthy());
+        } finally {
+            monitor.destroy();
+        }
+    }
+}
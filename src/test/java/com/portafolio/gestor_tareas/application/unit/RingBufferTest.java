@@ -0,0 +1,88 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.RingBuffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RingBufferTest {
+
+    // Test that validates that the capacity is rounded up to a power of two
+    @Test
+    void shouldRoundCapacityToPowerOfTwo() {
+
+        assertEquals(8, new RingBuffer<String>(5).capacity());
+        assertEquals(8, new RingBuffer<String>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new RingBuffer<String>(1));
+    }
+
+    // Test that validates that elements come out in order and offers fail once the buffer is full
+    @Test
+    void shouldRejectOffersWhenFull() {
+
+        RingBuffer<Integer> buffer = new RingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+        assertEquals(0, buffer.poll());
+        assertTrue(buffer.offer(4));
+        assertEquals(List.of(1, 2, 3, 4), List.of(buffer.poll(), buffer.poll(), buffer.poll(), buffer.poll()));
+        assertNull(buffer.poll());
+    }
+
+    // Test that validates that no element is lost or duplicated with concurrent producers
+    @Test
+    void shouldKeepEveryElementWithConcurrentProducers() throws Exception {
+
+        RingBuffer<Integer> buffer = new RingBuffer<>(64);
+        int producers = 4;
+        int perProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < producers; p++) {
+                int base = p * perProducer;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perProducer; i++) {
+                        while (!buffer.offer(base + i)) {
+                            Thread.onSpinWait();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            Set<Integer> received = new HashSet<>();
+            while (received.size() < producers * perProducer) {
+                Integer value = buffer.poll();
+                if (value != null) {
+                    assertTrue(received.add(value));
+                }
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            assertNull(buffer.poll());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.QueryStats;
+import com.portafolio.gestor_tareas.config.infrastructure.StatementCountingDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementCountingDataSourceTest {
+
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+
+        DriverManagerDataSource target = new DriverManagerDataSource(
+                "jdbc:h2:mem:statement-counting;DB_CLOSE_DELAY=-1", "sa", "");
+
+        dataSource = new StatementCountingDataSource(target, 500);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS items (id INT PRIMARY KEY)");
+        jdbcTemplate.execute("DELETE FROM items");
+    }
+
+    // Test that validates that every executed statement is counted in the open scope
+    @Test
+    void shouldCountExecutedStatements() {
+
+        try (QueryStats.Scope scope = QueryStats.open()) {
+            jdbcTemplate.update("INSERT INTO items (id) VALUES (?)", 1);
+            jdbcTemplate.queryForList("SELECT id FROM items", Integer.class);
+            jdbcTemplate.execute("DELETE FROM items");
+
+            assertEquals(3, scope.statements());
+            assertTrue(scope.nanos() > 0);
+        }
+    }
+
+    // Test that validates that a batch counts as a single statement
+    @Test
+    void shouldCountBatchAsOneStatement() {
+
+        try (QueryStats.Scope scope = QueryStats.open()) {
+            jdbcTemplate.batchUpdate("INSERT INTO items (id) VALUES (?)",
+                    List.of(new Object[]{1}, new Object[]{2}, new Object[]{3}));
+
+            assertEquals(1, scope.statements());
+        }
+    }
+
+    // Test that validates that nested scopes add their statements to the outer ones
+    @Test
+    void shouldAddNestedScopesToTheOuterScope() {
+
+        try (QueryStats.Scope outer = QueryStats.open()) {
+            jdbcTemplate.queryForList("SELECT id FROM items", Integer.class);
+
+            try (QueryStats.Scope inner = QueryStats.open()) {
+                jdbcTemplate.queryForList("SELECT id FROM items", Integer.class);
+                assertEquals(1, inner.statements());
+            }
+
+            assertSame(outer, QueryStats.current());
+            assertEquals(2, outer.statements());
+        }
+
+        assertNull(QueryStats.current());
+    }
+
+    // Test that validates that statements keep returning the counted connection and the pool can be unwrapped
+    @Test
+    void shouldKeepTheWrappedConnection() throws Exception {
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT 1")) {
+
+            assertSame(connection, statement.getConnection());
+            assertTrue(dataSource.isWrapperFor(DriverManagerDataSource.class));
+        }
+    }
+}
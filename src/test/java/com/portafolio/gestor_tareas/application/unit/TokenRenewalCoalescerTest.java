@@ -0,0 +1,124 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.JwtService;
+import com.portafolio.gestor_tareas.config.application.TokenRenewalCoalescer;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TokenRenewalCoalescerTest {
+
+    @Mock
+    private JwtService jwtService;
+
+    private TokenRenewalCoalescer coalescer;
+
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        coalescer = new TokenRenewalCoalescer(jwtService, 30_000);
+
+        user = new UserEntity();
+        user.setId(1L);
+        user.setEmail("test@example.com");
+    }
+
+    @Test
+    void shouldSignOnceForConcurrentRenewalsOfTheSameToken() throws Exception {
+
+        when(jwtService.renewToken(anyString(), any())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return UUID.randomUUID().toString();
+        });
+
+        int requests = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        CountDownLatch start = new CountDownLatch(1);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return coalescer.renew("expired-token", user);
+                }));
+            }
+
+            start.countDown();
+
+            Set<String> renewedTokens = results.stream()
+                    .map(this::getUnchecked)
+                    .collect(Collectors.toSet());
+
+            assertEquals(1, renewedTokens.size(), "Every request must receive the same renewed token");
+            verify(jwtService, times(1)).renewToken(anyString(), any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void shouldRenewDifferentTokensIndependently() {
+
+        when(jwtService.renewToken(anyString(), any()))
+                .thenAnswer(invocation -> "renewed-" + invocation.getArgument(0));
+
+        assertEquals("renewed-first", coalescer.renew("first", user));
+        assertEquals("renewed-second", coalescer.renew("second", user));
+        assertEquals("renewed-first", coalescer.renew("first", user));
+
+        verify(jwtService, times(2)).renewToken(anyString(), any());
+    }
+
+    @Test
+    void shouldNotCacheFailedRenewals() {
+
+        when(jwtService.renewToken(anyString(), any()))
+                .thenThrow(new IllegalArgumentException("The JWT couldn´t be renewed"))
+                .thenReturn("renewed");
+
+        assertThrows(IllegalArgumentException.class, () -> coalescer.renew("token", user));
+        assertEquals("renewed", coalescer.renew("token", user));
+    }
+
+    @Test
+    void shouldSignAgainOnceTheCachedRenewalExpires() throws InterruptedException {
+
+        coalescer = new TokenRenewalCoalescer(jwtService, 20);
+
+        when(jwtService.renewToken(anyString(), any())).thenReturn("first", "second");
+
+        assertEquals("first", coalescer.renew("token", user));
+
+        Thread.sleep(40);
+        coalescer.purgeExpired();
+
+        assertEquals(0, coalescer.size());
+        assertEquals("second", coalescer.renew("token", user));
+    }
+
+    private String getUnchecked(Future<String> future) {
+        try {
+            return future.get(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.Tracing;
+import com.portafolio.gestor_tareas.config.infrastructure.filter.TracingFilter;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingFilterTest {
+
+    private final List<Tracing.Trace> exported = new ArrayList<>();
+
+    private TracingFilter filter(double sampleRate, long slowThresholdMillis) {
+        return filter(sampleRate, slowThresholdMillis, true);
+    }
+
+    private TracingFilter filter(double sampleRate, long slowThresholdMillis, boolean trustIncomingSampled) {
+        return new TracingFilter(exported::add, true, sampleRate, trustIncomingSampled, slowThresholdMillis, 100);
+    }
+
+    // Test that validates that unsampled fast requests are not exported
+    @Test
+    void shouldDropFastUnsampledRequests() throws Exception {
+
+        filter(0.0, 60_000).doFilter(new MockHttpServletRequest("GET", "/api/task/1"), new MockHttpServletResponse(),
+                (request, response) -> Tracing.start("TaskServiceImpl.findById").end(true));
+
+        assertTrue(exported.isEmpty());
+        assertNull(Tracing.current());
+        assertNull(MDC.get(TracingFilter.TRACE_ID));
+    }
+
+    // Test that validates that slow requests are kept even when the head sampler dropped them
+    @Test
+    void shouldKeepSlowRequests() throws Exception {
+
+        filter(0.0, 0).doFilter(new MockHttpServletRequest("GET", "/api/task/1"), new MockHttpServletResponse(),
+                (request, response) -> Tracing.start("TaskServiceImpl.findById").end(true));
+
+        assertEquals(1, exported.size());
+        assertEquals(2, exported.get(0).spans().size());
+    }
+
+    // Test that validates that server errors are kept even when the head sampler dropped them
+    @Test
+    void shouldKeepServerErrors() throws Exception {
+
+        filter(0.0, 60_000).doFilter(new MockHttpServletRequest("GET", "/api/task/1"), new MockHttpServletResponse(),
+                (request, response) -> ((MockHttpServletResponse) response).setStatus(500));
+
+        assertEquals(1, exported.size());
+        assertTrue(exported.get(0).root().error());
+    }
+
+    // Test that validates that a sampled traceparent forces the export and keeps the incoming trace ID
+    @Test
+    void shouldFollowIncomingTraceparent() throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/task/1");
+        request.addHeader("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        List<String> loggedTraceIds = new ArrayList<>();
+
+        filter(0.0, 60_000).doFilter(request, response, (req, res) -> loggedTraceIds.add(MDC.get(TracingFilter.TRACE_ID)));
+
+        assertEquals(1, exported.size());
+        assertEquals("0af7651916cd43dd8448eb211c80319c", exported.get(0).traceId());
+        assertEquals("0af7651916cd43dd8448eb211c80319c", response.getHeader(TracingFilter.TRACE_ID_HEADER));
+        assertEquals(List.of("0af7651916cd43dd8448eb211c80319c"), loggedTraceIds);
+    }
+
+    // Test that validates that an untrusted traceparent keeps its trace ID but can't force the export
+    @Test
+    void shouldIgnoreIncomingSampledFlagUnlessTrusted() throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/task/1");
+        request.addHeader("traceparent", "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter(0.0, 60_000, false).doFilter(request, response, (req, res) -> { });
+
+        assertTrue(exported.isEmpty());
+        assertEquals("0af7651916cd43dd8448eb211c80319c", response.getHeader(TracingFilter.TRACE_ID_HEADER));
+    }
+}
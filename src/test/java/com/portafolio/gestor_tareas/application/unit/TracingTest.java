@@ -0,0 +1,71 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.Tracing;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TracingTest {
+
+    // Test that validates that spans nest under the span that was open when they started
+    @Test
+    void shouldNestSpans() {
+
+        try (Tracing.Trace trace = Tracing.begin(null, null, true, 100, "GET /api/task")) {
+            Tracing.Span service = Tracing.start("TaskServiceImpl.findById");
+            Tracing.Span sql = Tracing.start("SQL executeQuery", Tracing.Kind.CLIENT);
+            sql.end(true);
+            service.end(true);
+            Tracing.Span serialization = Tracing.start("Jackson.write");
+            serialization.end(false);
+            trace.root().end(true);
+
+            assertEquals(32, trace.traceId().length());
+            assertEquals(4, trace.spans().size());
+            assertEquals(trace.root().spanId(), service.parentSpanId());
+            assertEquals(service.spanId(), sql.parentSpanId());
+            assertEquals(trace.root().spanId(), serialization.parentSpanId());
+            assertTrue(serialization.error());
+            assertTrue(service.durationNanos() >= sql.durationNanos());
+        }
+
+        assertNull(Tracing.current());
+    }
+
+    // Test that validates that the trace and parent of an incoming traceparent are kept
+    @Test
+    void shouldContinueIncomingTraces() {
+
+        try (Tracing.Trace trace = Tracing.begin("0af7651916cd43dd8448eb211c80319c", "b7ad6b7169203331", false, 100, "GET")) {
+            assertEquals("0af7651916cd43dd8448eb211c80319c", trace.traceId());
+            assertEquals("b7ad6b7169203331", trace.root().parentSpanId());
+            assertFalse(trace.sampled());
+        }
+    }
+
+    // Test that validates that spans outside a trace cost nothing and are never recorded
+    @Test
+    void shouldIgnoreSpansWithoutTrace() {
+
+        Tracing.Span span = Tracing.start("orphan").attribute("layer", "service");
+        span.end(true);
+
+        assertNull(span.spanId());
+        assertTrue(span.attributes().isEmpty());
+    }
+
+    // Test that validates that a trace keeps at most maxSpans spans and counts the rest
+    @Test
+    void shouldBoundTheSpansOfATrace() {
+
+        try (Tracing.Trace trace = Tracing.begin(null, null, true, 10, "POST /api/task/users")) {
+            for (int i = 0; i < 50; i++) {
+                Tracing.start("SQL executeUpdate").end(true);
+            }
+            trace.root().end(true);
+
+            assertEquals(10, trace.spans().size());
+            assertEquals(41, trace.dropped());
+        }
+    }
+}
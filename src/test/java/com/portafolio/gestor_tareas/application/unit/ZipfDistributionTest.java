@@ -0,0 +1,57 @@
+package com.portafolio.gestor_tareas.application.unit;
+
+import com.portafolio.gestor_tareas.config.application.ZipfDistribution;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfDistributionTest {
+
+    // Test that validates that the bucket counts always add up to the total
+    @Test
+    void shouldSplitTheWholeTotal() {
+
+        ZipfDistribution distribution = new ZipfDistribution(1000, 1.1);
+
+        long sum = 0;
+        for (int rank = 1; rank <= distribution.buckets(); rank++) {
+            sum += distribution.count(rank, 123_457);
+        }
+
+        assertEquals(123_457, sum);
+    }
+
+    // Test that validates that lower ranks get larger buckets following 1 / rank
+    @Test
+    void shouldSkewCountsTowardsTheFirstRanks() {
+
+        ZipfDistribution distribution = new ZipfDistribution(100, 1.0);
+
+        long first = distribution.count(1, 1_000_000);
+        long second = distribution.count(2, 1_000_000);
+        long tenth = distribution.count(10, 1_000_000);
+
+        assertTrue(first > second && second > tenth);
+        assertEquals(2.0, (double) first / second, 0.01);
+        assertEquals(10.0, (double) first / tenth, 0.01);
+    }
+
+    // Test that validates that an exponent of zero spreads the total evenly
+    @Test
+    void shouldBeUniformWithZeroExponent() {
+
+        ZipfDistribution distribution = new ZipfDistribution(10, 0);
+
+        for (int rank = 1; rank <= 10; rank++) {
+            assertEquals(100, distribution.count(rank, 1000));
+        }
+    }
+
+    // Test that validates that invalid parameters are rejected
+    @Test
+    void shouldRejectInvalidParameters() {
+
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(0, 1.0));
+        assertThrows(IllegalArgumentException.class, () -> new ZipfDistribution(10, -1.0));
+    }
+}
@@ -0,0 +1,151 @@
+package com.portafolio.gestor_tareas.benchmark;
+
+import com.portafolio.gestor_tareas.config.application.AuthorityMask;
+import com.portafolio.gestor_tareas.config.infrastructure.PrecompiledAuthorizationManager;
+import com.portafolio.gestor_tareas.config.infrastructure.SecurityConfig;
+import com.portafolio.gestor_tareas.config.infrastructure.SecurityUtils;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import org.aopalliance.intercept.MethodInvocation;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import java.util.EnumSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Authorization overhead per call: SpEL @PreAuthorize against the precompiled bit test,
+// the old authorities stream admin check against AuthorityMask, and SecurityConfig.checkAccess.
+// Run with ./mvnw -Pbenchmark test -Djmh.include=AuthorizationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuthorizationBenchmark {
+
+    public static class SecuredTarget {
+
+        @PreAuthorize("hasAuthority('TASK_READ')")
+        public void read() {
+        }
+
+        @PreAuthorize("hasRole('ADMIN')")
+        public void admin() {
+        }
+    }
+
+    // The security context is thread local, so checkAccess needs a state owned by the benchmark thread
+    @State(Scope.Thread)
+    public static class AccessCheckState {
+
+        private SecurityConfig securityConfig;
+        private UserEntity user;
+        private UserEntity admin;
+
+        @Setup
+        public void setUp() {
+
+            securityConfig = new SecurityConfig(null, null, null, null, null, new SecurityUtils(null), null, null);
+            user = BenchmarkFixtures.user(1L, Role.USER);
+            admin = BenchmarkFixtures.user(2L, Role.ADMIN);
+
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        }
+
+        @TearDown
+        public void tearDown() {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private PreAuthorizeAuthorizationManager spelManager;
+    private PrecompiledAuthorizationManager precompiledManager;
+
+    private MethodInvocation readInvocation;
+    private MethodInvocation adminInvocation;
+
+    private UserEntity user;
+    private Supplier<Authentication> authentication;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+
+        spelManager = new PreAuthorizeAuthorizationManager();
+        precompiledManager = new PrecompiledAuthorizationManager(spelManager);
+
+        SecuredTarget target = new SecuredTarget();
+        readInvocation = new SimpleMethodInvocation(target, SecuredTarget.class.getMethod("read"));
+        adminInvocation = new SimpleMethodInvocation(target, SecuredTarget.class.getMethod("admin"));
+
+        user = UserEntity.builder()
+                .id(1L)
+                .email("benchmark@example.com")
+                .role(Role.USER)
+                .permissions(EnumSet.of(Permission.TASK_READ, Permission.TASK_WRITE))
+                .build();
+
+        Authentication token = new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+        authentication = () -> token;
+    }
+
+    @Benchmark
+    public boolean spelHasAuthority() {
+        return spelManager.authorize(authentication, readInvocation).isGranted();
+    }
+
+    @Benchmark
+    public boolean precompiledHasAuthority() {
+        return precompiledManager.authorize(authentication, readInvocation).isGranted();
+    }
+
+    @Benchmark
+    public boolean spelHasRole() {
+        return spelManager.authorize(authentication, adminInvocation).isGranted();
+    }
+
+    @Benchmark
+    public boolean precompiledHasRole() {
+        return precompiledManager.authorize(authentication, adminInvocation).isGranted();
+    }
+
+    @Benchmark
+    public boolean authoritiesStreamAdminCheck() {
+        return user.getAuthorities().stream()
+                .anyMatch(a -> a.getAuthority().equals("ROLE_ADMIN"));
+    }
+
+    @Benchmark
+    public boolean authorityMaskAdminCheck() {
+        return AuthorityMask.isAdmin(user);
+    }
+
+    @Benchmark
+    public UserEntity checkAccessOwnResource(AccessCheckState state) {
+        state.securityConfig.checkAccess(1L, state.user);
+        return state.user;
+    }
+
+    @Benchmark
+    public UserEntity checkAccessAsAdmin(AccessCheckState state) {
+        state.securityConfig.checkAccess(1L, state.admin);
+        return state.admin;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AuthorizationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,69 @@
+package com.portafolio.gestor_tareas.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.config.application.AccessTokenDenylist;
+import com.portafolio.gestor_tareas.config.application.JwtService;
+import com.portafolio.gestor_tareas.task.infrastructure.entity.TaskEntity;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+
+// Objects shaped like the ones a real request carries, shared by the benchmarks so their numbers are comparable
+final class BenchmarkFixtures {
+
+    static final String JWT_SECRET = "bXlCZW5jaG1hcmtTZWNyZXRLZXlUaGF0SXNMb25nRW5vdWdoMTIzNDU2Nzg5MA==";
+
+    // Size of a typical task list page
+    static final int TASKS_PER_USER = 50;
+
+    private BenchmarkFixtures() {
+    }
+
+    static UserEntity user(long id, Role role) {
+        return UserEntity.builder()
+                .id(id)
+                .firstname("Benchmark")
+                .lastname("User " + id)
+                .email("benchmark.user" + id + "@example.com")
+                .password("$2a$10$7EqJtq98hPqEX7fNZaFWoOhi5BWX4Z2ZzK5l1T0vJ8Ihbd7YJ0fQm")
+                .role(role)
+                .permissions(role == Role.ADMIN
+                        ? EnumSet.allOf(Permission.class)
+                        : EnumSet.of(Permission.TASK_READ, Permission.TASK_WRITE))
+                .build();
+    }
+
+    static List<TaskEntity> tasks(UserEntity owner, int count) {
+
+        List<TaskEntity> tasks = new ArrayList<>(count);
+
+        for (int i = 1; i <= count; i++) {
+            tasks.add(TaskEntity.builder()
+                    .id(owner.getId() * 1000 + i)
+                    .title("Task " + i + " of " + owner.getEmail())
+                    .description("Review the pull request, update the changelog and notify the team about release " + i)
+                    .completed(i % 3 == 0)
+                    .user(owner)
+                    .build());
+        }
+
+        return tasks;
+    }
+
+    static JwtService jwtService() {
+        JwtService jwtService = new JwtService(new AccessTokenDenylist(10_000, 0.01));
+        ReflectionTestUtils.setField(jwtService, "secretKey", JWT_SECRET);
+        return jwtService;
+    }
+
+    // Same modules as the ObjectMapper Spring Boot builds for the controllers
+    static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json().build();
+    }
+}
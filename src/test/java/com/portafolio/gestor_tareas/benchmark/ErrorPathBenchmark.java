@@ -0,0 +1,108 @@
+package com.portafolio.gestor_tareas.benchmark;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.OutputStreamAppender;
+import com.portafolio.gestor_tareas.dto.ApiError;
+import com.portafolio.gestor_tareas.exception.domain.DomainException;
+import com.portafolio.gestor_tareas.exception.domain.NotFoundException;
+import com.portafolio.gestor_tareas.exception.insfrastructure.GlobalExceptionHandler;
+import net.logstash.logback.encoder.LogstashEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+// Cost of a 404: throwing a NotFoundException from deep in the call stack, and the full error path
+// through GlobalExceptionHandler including its JSON log line. stackTraces=true is the old behaviour.
+// Run with ./mvnw -Pbenchmark test -Djmh.include=ErrorPathBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorPathBenchmark {
+
+    // A request through Tomcat, the security chain and the Spring MVC dispatch is well over 100 frames deep
+    @Param({"32", "128"})
+    private int depth;
+
+    @Param({"false", "true"})
+    private boolean stackTraces;
+
+    private GlobalExceptionHandler handler;
+    private MockHttpServletRequest request;
+    private OutputStreamAppender<ILoggingEvent> appender;
+
+    @Setup
+    public void setUp() {
+
+        DomainException.setStackTraces(stackTraces);
+        handler = new GlobalExceptionHandler();
+        request = new MockHttpServletRequest("GET", "/api/task/42");
+
+        // Encode the handler's log lines as in production, but into a sink instead of stdout
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        LogstashEncoder encoder = new LogstashEncoder();
+        encoder.setContext(context);
+        encoder.start();
+
+        appender = new OutputStreamAppender<>();
+        appender.setContext(context);
+        appender.setEncoder(encoder);
+        appender.setOutputStream(OutputStream.nullOutputStream());
+        appender.start();
+
+        Logger logger = context.getLogger(GlobalExceptionHandler.class);
+        logger.detachAndStopAllAppenders();
+        logger.setAdditive(false);
+        logger.addAppender(appender);
+    }
+
+    @TearDown
+    public void tearDown() {
+        appender.stop();
+        DomainException.setStackTraces(false);
+    }
+
+    @Benchmark
+    public RuntimeException throwAndCatch() {
+        try {
+            return descend(depth);
+        } catch (NotFoundException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiError> handleNotFound() {
+        try {
+            descend(depth);
+            return null;
+        } catch (NotFoundException e) {
+            return handler.handleNotFound(e, request);
+        }
+    }
+
+    private RuntimeException descend(int remaining) {
+
+        if (remaining == 0) {
+            throw new NotFoundException("Task with id 42 not found");
+        }
+        return descend(remaining - 1);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ErrorPathBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
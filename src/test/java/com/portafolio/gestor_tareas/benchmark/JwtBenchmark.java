@@ -0,0 +1,94 @@
+package com.portafolio.gestor_tareas.benchmark;
+
+import com.portafolio.gestor_tareas.config.application.JwtService;
+import com.portafolio.gestor_tareas.config.application.LayerMetrics;
+import com.portafolio.gestor_tareas.config.application.TokenRenewalCoalescer;
+import com.portafolio.gestor_tareas.config.infrastructure.filter.JwtAuthFilter;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost of the JWT work every authenticated request pays: signing, parsing and the whole
+// JwtAuthFilter pass with an in-memory user lookup, so only the filter itself is measured.
+// Run with ./mvnw -Pbenchmark test -Djmh.include=JwtBenchmark
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtService jwtService;
+    private JwtAuthFilter jwtAuthFilter;
+    private UserEntity user;
+    private String token;
+    private String authorizationHeader;
+    private FilterChain filterChain;
+
+    @Setup
+    public void setUp() {
+
+        jwtService = BenchmarkFixtures.jwtService();
+        user = BenchmarkFixtures.user(1L, Role.USER);
+        token = jwtService.generateToken(user);
+        authorizationHeader = "Bearer " + token;
+
+        jwtAuthFilter = new JwtAuthFilter(
+                jwtService,
+                new TokenRenewalCoalescer(jwtService, 30_000),
+                username -> user,
+                (request, response, handler, exception) -> null,
+                new LayerMetrics(new SimpleMeterRegistry())
+        );
+
+        filterChain = (request, response) -> { };
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String signToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Claims parseToken() {
+        return jwtService.extractAllClaims(token);
+    }
+
+    // A fresh request per call, as OncePerRequestFilter skips requests it has already seen
+    @Benchmark
+    public Authentication authFilter() throws Exception {
+
+        SecurityContextHolder.clearContext();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/task");
+        request.addHeader("Authorization", authorizationHeader);
+
+        jwtAuthFilter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,84 @@
+package com.portafolio.gestor_tareas.benchmark;
+
+import com.portafolio.gestor_tareas.task.domain.Task;
+import com.portafolio.gestor_tareas.task.infrastructure.dto.TaskDTO;
+import com.portafolio.gestor_tareas.task.infrastructure.entity.TaskEntity;
+import com.portafolio.gestor_tareas.task.infrastructure.mapper.TaskMapper;
+import com.portafolio.gestor_tareas.task.infrastructure.mapper.TaskMapperImpl;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.domain.User;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import com.portafolio.gestor_tareas.users.infrastructure.mapper.UserMapper;
+import com.portafolio.gestor_tareas.users.infrastructure.mapper.UserMapperImpl;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// MapStruct conversions on the read path: a single entity and a whole page of tasks
+// Run with ./mvnw -Pbenchmark test -Djmh.include=MappingBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappingBenchmark {
+
+    private TaskMapper taskMapper;
+    private UserMapper userMapper;
+
+    private UserEntity userEntity;
+    private User user;
+    private TaskEntity taskEntity;
+    private Task task;
+    private List<TaskEntity> taskPage;
+
+    @Setup
+    public void setUp() {
+
+        taskMapper = new TaskMapperImpl();
+        userMapper = new UserMapperImpl();
+
+        userEntity = BenchmarkFixtures.user(1L, Role.USER);
+        user = userMapper.userEntityToUser(userEntity);
+        taskPage = BenchmarkFixtures.tasks(userEntity, BenchmarkFixtures.TASKS_PER_USER);
+        taskEntity = taskPage.get(0);
+        task = taskMapper.taskEntityToTask(taskEntity);
+    }
+
+    @Benchmark
+    public TaskDTO taskEntityToTaskDTO() {
+        return taskMapper.taskEntityToTaskDTO(taskEntity);
+    }
+
+    @Benchmark
+    public TaskDTO taskToTaskDTO() {
+        return taskMapper.taskToTaskDTO(task);
+    }
+
+    @Benchmark
+    public List<TaskDTO> taskPageToTaskDTOs() {
+        return taskPage.stream().map(taskMapper::taskEntityToTaskDTO).toList();
+    }
+
+    @Benchmark
+    public UserResponseDTO userEntityToUserResponseDTO() {
+        return userMapper.userEntityToUserResponseDTO(userEntity);
+    }
+
+    @Benchmark
+    public UserResponseDTO userToUserResponseDTO() {
+        return userMapper.userToUserResponseDTO(user);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MappingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
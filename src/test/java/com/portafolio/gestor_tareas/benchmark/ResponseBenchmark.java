@@ -0,0 +1,67 @@
+package com.portafolio.gestor_tareas.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.dto.ApiResponseDTO;
+import com.portafolio.gestor_tareas.dto.ApiResponseFactory;
+import com.portafolio.gestor_tareas.task.infrastructure.dto.TaskDTO;
+import com.portafolio.gestor_tareas.task.infrastructure.mapper.TaskMapperImpl;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Building the ApiResponseDTO envelope and writing a page of tasks as JSON, the last steps of GET /api/task
+// Run with ./mvnw -Pbenchmark test -Djmh.include=ResponseBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResponseBenchmark {
+
+    private ObjectMapper objectMapper;
+    private List<TaskDTO> tasks;
+    private ApiResponseDTO<List<TaskDTO>> response;
+
+    @Setup
+    public void setUp() {
+
+        objectMapper = BenchmarkFixtures.objectMapper();
+
+        TaskMapperImpl taskMapper = new TaskMapperImpl();
+        tasks = BenchmarkFixtures.tasks(BenchmarkFixtures.user(1L, Role.USER), BenchmarkFixtures.TASKS_PER_USER)
+                .stream()
+                .map(taskMapper::taskEntityToTaskDTO)
+                .toList();
+
+        response = ApiResponseFactory.success(tasks, "Tasks found").getBody();
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponseDTO<List<TaskDTO>>> buildEnvelope() {
+        return ApiResponseFactory.success(tasks, "Tasks found");
+    }
+
+    @Benchmark
+    public byte[] serializeTaskPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] buildAndSerialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(ApiResponseFactory.success(tasks, "Tasks found").getBody());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ResponseBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
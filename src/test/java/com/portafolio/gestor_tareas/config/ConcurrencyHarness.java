@@ -0,0 +1,65 @@
+package com.portafolio.gestor_tareas.config;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Runs the same work on many threads at once. Every round starts behind a barrier so the calls
+// really overlap inside the service, and the first failure of any thread fails the test.
+public final class ConcurrencyHarness {
+
+    public static final int THREADS = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+
+    @FunctionalInterface
+    public interface Work {
+        void run(int thread, int round) throws Exception;
+    }
+
+    private ConcurrencyHarness() {
+    }
+
+    public static void run(int threads, int rounds, Work work) throws Exception {
+
+        CyclicBarrier barrier = new CyclicBarrier(threads);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+
+                futures.add(executor.submit(() -> {
+                    try {
+                        for (int round = 0; round < rounds && failure.get() == null; round++) {
+                            barrier.await(30, TimeUnit.SECONDS);
+                            work.run(thread, round);
+                        }
+                    } catch (Throwable e) {
+                        // Breaks the barrier so the other threads stop instead of waiting for this one
+                        failure.compareAndSet(null, e);
+                        barrier.reset();
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get(2, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Throwable error = failure.get();
+
+        if (error instanceof AssertionError assertionError) {
+            throw assertionError;
+        }
+
+        if (error != null) {
+            throw new AssertionError("A concurrent call failed", error);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.portafolio.gestor_tareas.config;
+
+import com.portafolio.gestor_tareas.config.application.QueryStats;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Fails a test when the wrapped work issues more SQL statements than its budget, e.g.
+// QueryBudget.atMost(3, () -> mockMvc.perform(get("/api/task/1")))
+public final class QueryBudget {
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T run() throws Exception;
+    }
+
+    private QueryBudget() {
+    }
+
+    public static <T> T atMost(int maxStatements, Work<T> work) throws Exception {
+
+        try (QueryStats.Scope scope = QueryStats.open()) {
+            T result = work.run();
+
+            assertTrue(scope.statements() <= maxStatements,
+                    "Expected at most " + maxStatements + " SQL statements but " + scope.statements() + " were issued");
+
+            return result;
+        }
+    }
+
+    public static int count(Work<?> work) throws Exception {
+
+        try (QueryStats.Scope scope = QueryStats.open()) {
+            work.run();
+            return scope.statements();
+        }
+    }
+}
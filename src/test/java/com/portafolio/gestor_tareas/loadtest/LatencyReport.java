@@ -0,0 +1,192 @@
+package com.portafolio.gestor_tareas.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// One HDR histogram per endpoint, in microseconds. Latency is measured from the intended start of a request,
+// not from when it was sent, so a stalled server shows up in the percentiles instead of being hidden by it.
+final class LatencyReport {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+    private static final double[] PERCENTILES = {50, 90, 95, 99, 99.9};
+
+    private final Map<Operation, Endpoint> endpoints = new EnumMap<>(Operation.class);
+
+    private static final class Endpoint {
+        private final Histogram histogram = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+        private final LongAdder failures = new LongAdder();
+        private final Map<String, LongAdder> failureCauses = new ConcurrentHashMap<>();
+        private final LongAdder dropped = new LongAdder();
+    }
+
+    LatencyReport() {
+        for (Operation operation : Operation.values()) {
+            endpoints.put(operation, new Endpoint());
+        }
+    }
+
+    void record(Operation operation, int status, long latencyNanos) {
+        Endpoint endpoint = endpoints.get(operation);
+        endpoint.histogram.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), HIGHEST_TRACKABLE_MICROS));
+        endpoint.statuses.computeIfAbsent(status, code -> new LongAdder()).increment();
+    }
+
+    // Requests that never got a response, e.g. connection errors or timeouts
+    void failure(Operation operation, Throwable cause) {
+        Endpoint endpoint = endpoints.get(operation);
+        endpoint.failures.increment();
+
+        Throwable root = cause;
+        while (root.getCause() != null && root.getCause() != root) {
+            root = root.getCause();
+        }
+        endpoint.failureCauses.computeIfAbsent(root.getClass().getSimpleName(), name -> new LongAdder()).increment();
+    }
+
+    // Arrivals skipped because max-in-flight was reached, the server could not keep up with the rate
+    void dropped(Operation operation) {
+        endpoints.get(operation).dropped.increment();
+    }
+
+    Map<String, Object> summary(LoadTestConfig config, double measuredSeconds) {
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        Map<String, Object> perEndpoint = new LinkedHashMap<>();
+        Histogram total = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+        long totalErrors = 0;
+        long totalFailures = 0;
+        long totalDropped = 0;
+
+        for (Map.Entry<Operation, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint endpoint = entry.getValue();
+            long count = endpoint.histogram.getTotalCount();
+
+            if (count == 0 && endpoint.failures.sum() == 0 && endpoint.dropped.sum() == 0) {
+                continue;
+            }
+
+            long errors = errors(endpoint);
+            total.add(endpoint.histogram);
+            totalErrors += errors;
+            totalFailures += endpoint.failures.sum();
+            totalDropped += endpoint.dropped.sum();
+
+            Map<String, Object> stats = stats(endpoint.histogram, measuredSeconds, errors,
+                    endpoint.failures.sum(), endpoint.dropped.sum());
+
+            Map<String, Long> statuses = new TreeMap<>();
+            endpoint.statuses.forEach((status, adder) -> statuses.put(String.valueOf(status), adder.sum()));
+            stats.put("statuses", statuses);
+
+            Map<String, Long> failureCauses = new TreeMap<>();
+            endpoint.failureCauses.forEach((cause, adder) -> failureCauses.put(cause, adder.sum()));
+            stats.put("failureCauses", failureCauses);
+            stats.put("histogram", encode(endpoint.histogram));
+
+            perEndpoint.put(entry.getKey().label(), stats);
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("rate", config.rate());
+        settings.put("warmupSeconds", config.warmup().toSeconds());
+        settings.put("durationSeconds", config.duration().toSeconds());
+        settings.put("users", config.users());
+        settings.put("tasksPerUser", config.tasksPerUser());
+        settings.put("maxInFlight", config.maxInFlight());
+        settings.put("seed", config.seed());
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        config.mix().forEach((operation, weight) -> mix.put(operation.name().toLowerCase(Locale.ROOT), weight));
+        settings.put("mix", mix);
+
+        result.put("config", settings);
+        result.put("measuredSeconds", measuredSeconds);
+        result.put("total", stats(total, measuredSeconds, totalErrors, totalFailures, totalDropped));
+        result.put("endpoints", perEndpoint);
+        return result;
+    }
+
+    void write(Map<String, Object> summary, Path output) throws IOException {
+
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(output.toFile(), summary);
+    }
+
+    String table(Map<String, Object> summary) {
+
+        StringBuilder table = new StringBuilder(String.format(Locale.ROOT, "%-30s %9s %9s %9s %9s %9s %9s %9s %7s%n",
+                "endpoint", "req/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms", "count", "errors"));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Map<String, Object>> perEndpoint = (Map<String, Map<String, Object>>) summary.get("endpoints");
+
+        perEndpoint.forEach((label, stats) -> table.append(row(label, stats)));
+
+        @SuppressWarnings("unchecked")
+        Map<String, Object> total = (Map<String, Object>) summary.get("total");
+
+        return table.append(row("total", total)).toString();
+    }
+
+    private static String row(String label, Map<String, Object> stats) {
+
+        @SuppressWarnings("unchecked")
+        Map<String, Double> latency = (Map<String, Double>) stats.get("latencyMs");
+
+        return String.format(Locale.ROOT, "%-30s %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f %9d %7d%n",
+                label, stats.get("throughput"), latency.get("p50"), latency.get("p95"), latency.get("p99"),
+                latency.get("p99.9"), latency.get("max"), stats.get("count"),
+                (long) stats.get("errors") + (long) stats.get("failures"));
+    }
+
+    private static Map<String, Object> stats(Histogram histogram, double seconds, long errors, long failures, long dropped) {
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("count", histogram.getTotalCount());
+        stats.put("errors", errors);
+        stats.put("failures", failures);
+        stats.put("dropped", dropped);
+        stats.put("throughput", seconds > 0 ? histogram.getTotalCount() / seconds : 0.0);
+
+        Map<String, Double> latency = new LinkedHashMap<>();
+        latency.put("mean", histogram.getMean() / 1000.0);
+        for (double percentile : PERCENTILES) {
+            latency.put("p" + (percentile == Math.rint(percentile) ? String.valueOf((int) percentile) : String.valueOf(percentile)),
+                    histogram.getValueAtPercentile(percentile) / 1000.0);
+        }
+        latency.put("max", histogram.getMaxValue() / 1000.0);
+        stats.put("latencyMs", latency);
+
+        return stats;
+    }
+
+    private static long errors(Endpoint endpoint) {
+        return endpoint.statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 400)
+                .mapToLong(entry -> entry.getValue().sum())
+                .sum();
+    }
+
+    // Compressed HDR histogram, so runs can be merged or re-plotted later without losing precision
+    private static String encode(Histogram histogram) {
+        ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+        int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+        return Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length));
+    }
+}
@@ -0,0 +1,245 @@
+package com.portafolio.gestor_tareas.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.GestorDeTareasApplication;
+import com.portafolio.gestor_tareas.task.infrastructure.entity.TaskEntity;
+import com.portafolio.gestor_tareas.task.infrastructure.repository.SpringTaskRepository;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+// Starts the app on the test profile (H2 in memory), seeds users and tasks and drives a mixed workload
+// at a constant arrival rate (open model): requests are started on schedule whether or not the previous
+// ones finished, so the reported latencies are the ones clients would see at that rate.
+// Run with ./mvnw -Ploadtest test -Dloadtest.rate=500 -Dloadtest.duration=120
+public final class LoadTest {
+
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+
+        try (ConfigurableApplicationContext context = start()) {
+
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            LoadTestClient client = new LoadTestClient(baseUrl, context.getBean(ObjectMapper.class));
+
+            List<VirtualUser> users = seed(context, config);
+            VirtualUser admin = users.remove(users.size() - 1);
+
+            for (VirtualUser user : users) {
+                login(client, user);
+            }
+            login(client, admin);
+
+            System.out.printf(Locale.ROOT, "Seeded %d users with %d tasks each, driving %.0f req/s for %ds after %ds of warmup%n",
+                    users.size(), config.tasksPerUser(), config.rate(),
+                    config.duration().toSeconds(), config.warmup().toSeconds());
+
+            LatencyReport report = new LatencyReport();
+            drive(config, client, users, admin, report);
+
+            Map<String, Object> summary = report.summary(config, config.duration().toNanos() / 1e9);
+            report.write(summary, config.output());
+
+            System.out.println(report.table(summary));
+            System.out.println("Results written to " + config.output().toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(GestorDeTareasApplication.class).run(
+                "--spring.profiles.active=test",
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--logging.level.com.portafolio.gestor_tareas=WARN"
+        );
+    }
+
+    // Users go straight through the repositories with one precomputed hash, the last one is the admin
+    private static List<VirtualUser> seed(ConfigurableApplicationContext context, LoadTestConfig config) {
+
+        SpringUserRepository userRepository = context.getBean(SpringUserRepository.class);
+        SpringTaskRepository taskRepository = context.getBean(SpringTaskRepository.class);
+        String password = context.getBean(PasswordEncoder.class).encode(LoadTestClient.PASSWORD);
+
+        List<UserEntity> entities = new ArrayList<>(config.users() + 1);
+
+        for (int i = 0; i <= config.users(); i++) {
+            boolean admin = i == config.users();
+
+            entities.add(UserEntity.builder()
+                    .firstname("Load")
+                    .lastname(admin ? "Admin" : "User " + i)
+                    .email(admin ? "loadtest.admin@example.com" : "loadtest.user" + i + "@example.com")
+                    .password(password)
+                    .role(admin ? Role.ADMIN : Role.USER)
+                    .permissions(admin
+                            ? EnumSet.allOf(Permission.class)
+                            : EnumSet.of(Permission.TASK_READ, Permission.TASK_WRITE, Permission.TASK_DELETE))
+                    .build());
+        }
+
+        entities = userRepository.saveAll(entities);
+
+        List<List<TaskEntity>> tasksByUser = new ArrayList<>(entities.size());
+        List<TaskEntity> batch = new ArrayList<>(SEED_BATCH_SIZE);
+
+        for (UserEntity entity : entities) {
+            List<TaskEntity> tasks = new ArrayList<>(config.tasksPerUser());
+
+            for (int t = 0; t < config.tasksPerUser(); t++) {
+                TaskEntity task = TaskEntity.builder()
+                        .title("Seeded task " + t)
+                        .description("Seeded by the load test")
+                        .user(entity)
+                        .build();
+
+                tasks.add(task);
+                batch.add(task);
+
+                if (batch.size() == SEED_BATCH_SIZE) {
+                    taskRepository.saveAll(batch);
+                    batch.clear();
+                }
+            }
+
+            tasksByUser.add(tasks);
+        }
+
+        taskRepository.saveAll(batch);
+
+        // Identity ids are set on the saved entities, so they can be read back without another query
+        List<VirtualUser> users = new ArrayList<>(entities.size());
+
+        for (int i = 0; i < entities.size(); i++) {
+            long[] taskIds = tasksByUser.get(i).stream().mapToLong(TaskEntity::getId).toArray();
+            users.add(new VirtualUser(entities.get(i).getId(), entities.get(i).getEmail(), taskIds));
+        }
+
+        return users;
+    }
+
+    private static void login(LoadTestClient client, VirtualUser user) throws IOException, InterruptedException {
+
+        HttpResponse<byte[]> response = client.sendAndWait(client.login(user));
+
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + user.email() + " failed with status " + response.statusCode());
+        }
+
+        client.apply(Operation.LOGIN, user, response);
+    }
+
+    private static void drive(
+            LoadTestConfig config,
+            LoadTestClient client,
+            List<VirtualUser> users,
+            VirtualUser admin,
+            LatencyReport report
+    ) throws InterruptedException {
+
+        Operation[] operations = config.mix().keySet().toArray(Operation[]::new);
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+
+        for (int i = 0; i < operations.length; i++) {
+            totalWeight += config.mix().get(operations[i]);
+            cumulativeWeights[i] = totalWeight;
+        }
+
+        SplittableRandom random = new SplittableRandom(config.seed());
+        AtomicInteger inFlight = new AtomicInteger();
+
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / config.rate());
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmup().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+
+        for (long arrival = 0; ; arrival++) {
+
+            long intendedStart = start + arrival * interval;
+
+            if (intendedStart >= end) {
+                break;
+            }
+
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            int pick = random.nextInt(totalWeight);
+            int index = 0;
+            while (cumulativeWeights[index] <= pick) {
+                index++;
+            }
+
+            Operation operation = operations[index];
+            VirtualUser user = users.get(random.nextInt(users.size()));
+            int taskIndex = random.nextInt(user.seededTaskIds().length);
+            boolean measured = intendedStart >= measureFrom;
+
+            if (inFlight.get() >= config.maxInFlight()) {
+                if (measured) {
+                    report.dropped(operation);
+                }
+                continue;
+            }
+
+            LoadTestClient.Call call;
+            try {
+                call = client.call(operation, user, admin, taskIndex);
+            } catch (IOException e) {
+                report.failure(operation, e);
+                continue;
+            }
+
+            inFlight.incrementAndGet();
+
+            client.send(call.request()).whenComplete((response, error) -> {
+                long latency = System.nanoTime() - intendedStart;
+
+                try {
+                    if (error != null) {
+                        if (measured) {
+                            report.failure(call.operation(), error);
+                        }
+                        return;
+                    }
+
+                    if (measured) {
+                        report.record(call.operation(), response.statusCode(), latency);
+                    }
+
+                    client.apply(call.operation(), user, response);
+                } catch (IOException e) {
+                    // A response body that can't be parsed only leaves the user's tokens as they were
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(10);
+        }
+    }
+}
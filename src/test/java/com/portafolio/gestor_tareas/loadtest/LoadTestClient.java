@@ -0,0 +1,150 @@
+package com.portafolio.gestor_tareas.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+// Builds the requests of every operation and applies the state changes of their responses to the virtual user
+final class LoadTestClient {
+
+    static final String PASSWORD = "loadtest-password";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final int BULK_ASSIGN_TASKS = 10;
+
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String baseUrl;
+    private final AtomicLong createdTitles = new AtomicLong();
+
+    record Call(Operation operation, HttpRequest request) {}
+
+    LoadTestClient(String baseUrl, ObjectMapper objectMapper) {
+        this.baseUrl = baseUrl;
+        this.objectMapper = objectMapper;
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(TIMEOUT)
+                .build();
+    }
+
+    CompletableFuture<HttpResponse<byte[]>> send(HttpRequest request) {
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    HttpResponse<byte[]> sendAndWait(HttpRequest request) throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // DELETE falls back to CREATE while the user has no task of its own left to delete
+    Call call(Operation operation, VirtualUser user, VirtualUser admin, int taskIndex) throws IOException {
+
+        long taskId = user.seededTaskIds()[taskIndex];
+
+        return switch (operation) {
+            case LOGIN -> new Call(operation, login(user));
+            case REFRESH -> new Call(operation, post("/api/auth/refresh-token", null,
+                    Map.of("refreshToken", user.refreshToken())));
+            case LIST -> new Call(operation, request("/api/task", user).GET().build());
+            case GET -> new Call(operation, request("/api/task/" + taskId, user).GET().build());
+            case CREATE -> create(user);
+            case UPDATE -> new Call(operation, update(user, taskId, taskIndex));
+            case DELETE -> {
+                Long created = user.createdTaskIds().pollFirst();
+                yield created == null
+                        ? create(user)
+                        : new Call(operation, request("/api/task/" + created, user).DELETE().build());
+            }
+            case BULK_ASSIGN -> new Call(operation, bulkAssign(user, admin));
+        };
+    }
+
+    HttpRequest login(VirtualUser user) throws IOException {
+        return post("/api/auth/authenticate", null, Map.of("email", user.email(), "password", PASSWORD));
+    }
+
+    // Keeps tokens and created task ids up to date, the rest of the responses are only timed
+    void apply(Operation operation, VirtualUser user, HttpResponse<byte[]> response) throws IOException {
+
+        if (response.statusCode() >= 300) {
+            return;
+        }
+
+        switch (operation) {
+            case LOGIN, REFRESH -> {
+                JsonNode data = objectMapper.readTree(response.body()).path("data");
+                user.tokens(data.path("accessToken").asText(), operation == Operation.LOGIN
+                        ? data.path("refreshToken").asText()
+                        : null);
+            }
+            case CREATE -> user.createdTaskIds().addLast(objectMapper.readTree(response.body()).path("data").path("id").asLong());
+            default -> {
+            }
+        }
+    }
+
+    private Call create(VirtualUser user) throws IOException {
+
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("title", "Load test task " + createdTitles.incrementAndGet());
+        task.put("description", "Created by the load test");
+        task.put("ownTask", true);
+
+        return new Call(Operation.CREATE, post("/api/task", user, task));
+    }
+
+    // Keeps the seeded title, titles are unique per user
+    private HttpRequest update(VirtualUser user, long taskId, int taskIndex) throws IOException {
+
+        Map<String, Object> task = new LinkedHashMap<>();
+        task.put("id", taskId);
+        task.put("title", "Seeded task " + taskIndex);
+        task.put("description", "Updated by the load test at " + System.nanoTime());
+        task.put("completed", false);
+
+        return request("/api/task", user)
+                .header("Content-Type", "application/json")
+                .PUT(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(task)))
+                .build();
+    }
+
+    // Reassigns some of the user's seeded tasks to the same user, so the data set stays stable
+    private HttpRequest bulkAssign(VirtualUser user, VirtualUser admin) throws IOException {
+
+        long[] taskIds = user.seededTaskIds();
+        List<Long> assigned = LongStream.of(taskIds).limit(BULK_ASSIGN_TASKS).boxed().toList();
+
+        return post("/api/task/users", admin,
+                Map.of("assignments", List.of(Map.of("userId", user.id(), "taskIds", assigned))));
+    }
+
+    private HttpRequest post(String path, VirtualUser user, Object body) throws IOException {
+        return request(path, user)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(body)))
+                .build();
+    }
+
+    private HttpRequest.Builder request(String path, VirtualUser user) {
+
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+
+        if (user != null && user.accessToken() != null) {
+            builder.header("Authorization", "Bearer " + user.accessToken());
+        }
+
+        return builder;
+    }
+}
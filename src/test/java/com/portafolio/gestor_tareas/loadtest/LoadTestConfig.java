@@ -0,0 +1,69 @@
+package com.portafolio.gestor_tareas.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+// Read from -Dloadtest.* system properties, the loadtest Maven profile passes them through
+record LoadTestConfig(
+        double rate,
+        Duration warmup,
+        Duration duration,
+        int users,
+        int tasksPerUser,
+        int maxInFlight,
+        long seed,
+        Map<Operation, Integer> mix,
+        Path output
+) {
+
+    private static final String DEFAULT_MIX = "list=30,get=15,create=10,update=10,delete=10,login=5,refresh=10,bulk_assign=10";
+
+    static LoadTestConfig fromSystemProperties() {
+
+        LoadTestConfig config = new LoadTestConfig(
+                Double.parseDouble(System.getProperty("loadtest.rate", "200")),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration", 60)),
+                Integer.getInteger("loadtest.users", 100),
+                Integer.getInteger("loadtest.tasks-per-user", 20),
+                Integer.getInteger("loadtest.max-in-flight", 2000),
+                Long.getLong("loadtest.seed", 42),
+                parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+                Path.of(System.getProperty("loadtest.output", "target/loadtest/result.json"))
+        );
+
+        if (config.rate <= 0 || config.users <= 0 || config.tasksPerUser <= 0 || config.maxInFlight <= 0) {
+            throw new IllegalArgumentException("Rate, users, tasks per user and max in flight must be positive");
+        }
+
+        return config;
+    }
+
+    private static Map<Operation, Integer> parseMix(String mix) {
+
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Mix entries must look like operation=weight, got: " + entry);
+            }
+
+            int weight = Integer.parseInt(parts[1].trim());
+
+            if (weight > 0) {
+                weights.put(Operation.valueOf(parts[0].trim().toUpperCase(Locale.ROOT)), weight);
+            }
+        }
+
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("The mix must contain at least one operation");
+        }
+
+        return weights;
+    }
+}
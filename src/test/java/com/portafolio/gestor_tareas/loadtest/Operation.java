@@ -0,0 +1,24 @@
+package com.portafolio.gestor_tareas.loadtest;
+
+// Endpoints driven by the load test, reported under their label
+enum Operation {
+
+    LOGIN("POST /api/auth/authenticate"),
+    REFRESH("POST /api/auth/refresh-token"),
+    LIST("GET /api/task"),
+    GET("GET /api/task/{id}"),
+    CREATE("POST /api/task"),
+    UPDATE("PUT /api/task"),
+    DELETE("DELETE /api/task/{id}"),
+    BULK_ASSIGN("POST /api/task/users");
+
+    private final String label;
+
+    Operation(String label) {
+        this.label = label;
+    }
+
+    String label() {
+        return label;
+    }
+}
@@ -0,0 +1,54 @@
+package com.portafolio.gestor_tareas.loadtest;
+
+import java.util.Deque;
+import java.util.concurrent.ConcurrentLinkedDeque;
+
+// A seeded account the load test acts as. Tokens are swapped by login and refresh responses while other
+// requests of the same user are in flight, the tasks created by the run are deleted again by DELETE requests.
+final class VirtualUser {
+
+    private final long id;
+    private final String email;
+    private final long[] seededTaskIds;
+    private final Deque<Long> createdTaskIds = new ConcurrentLinkedDeque<>();
+
+    private volatile String accessToken;
+    private volatile String refreshToken;
+
+    VirtualUser(long id, String email, long[] seededTaskIds) {
+        this.id = id;
+        this.email = email;
+        this.seededTaskIds = seededTaskIds;
+    }
+
+    long id() {
+        return id;
+    }
+
+    String email() {
+        return email;
+    }
+
+    long[] seededTaskIds() {
+        return seededTaskIds;
+    }
+
+    Deque<Long> createdTaskIds() {
+        return createdTaskIds;
+    }
+
+    String accessToken() {
+        return accessToken;
+    }
+
+    String refreshToken() {
+        return refreshToken;
+    }
+
+    void tokens(String accessToken, String refreshToken) {
+        this.accessToken = accessToken;
+        if (refreshToken != null) {
+            this.refreshToken = refreshToken;
+        }
+    }
+}
@@ -740,6 +740,35 @@ class TaskControllerIntegrationTest {
                 .andExpect(jsonPath("$.message").value("Some assignments failed"));
     }
 
+    // Streamed payloads report counters and accept the userId after the task ids
+    @Test
+    void shouldCountStreamedAssignments() throws Exception {
+
+        String payload = "{\"assignments\":[{\"taskIds\":[" + taskOne.getId() + "," + taskTwo.getId() + ",99999],"
+                + "\"userId\":" + regularUser.getUserID() + "}]}";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/task/users")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.message").value("Some assignments failed"))
+                .andExpect(jsonPath("$.data.succeeded").value(2))
+                .andExpect(jsonPath("$.data.failed").value(1))
+                .andExpect(jsonPath("$.data.success.length()").value(2));
+    }
+
+    // Error when the bulk payload has no assignments
+    @Test
+    void shouldRejectBulkPayloadWithoutAssignments() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/task/users")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"assignments\":[]}"))
+                .andExpect(status().isBadRequest());
+    }
+
     /*
         unassignTasksFromUser (DELETE)
     */
@@ -0,0 +1,149 @@
+package com.portafolio.gestor_tareas.task.integration;
+
+import com.portafolio.gestor_tareas.config.TestUserFactory;
+import com.portafolio.gestor_tareas.config.application.LayerMetrics;
+import com.portafolio.gestor_tareas.task.infrastructure.entity.TaskEntity;
+import com.portafolio.gestor_tareas.task.infrastructure.repository.SpringTaskRepository;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class TaskLayerMetricsIntTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private SpringTaskRepository springTaskRepository;
+
+    @Autowired
+    private SpringUserRepository springUserRepository;
+
+    @Autowired
+    private TestUserFactory userFactory;
+
+    private TestUserFactory.TestUser adminUser;
+    private TaskEntity task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        springTaskRepository.deleteAll();
+        springUserRepository.deleteAll();
+
+        adminUser = userFactory.createAdminUser();
+
+        task = new TaskEntity();
+        task.setTitle("Measured task");
+        task.setDescription("Task used to check the layer timers");
+        task.setCompleted(false);
+        task.setUser(springUserRepository.findById(adminUser.getUserID()).orElseThrow());
+
+        springTaskRepository.save(task);
+    }
+
+    // Test that validates that a request is timed in every layer it goes through
+    @Test
+    void shouldTimeEveryLayerOfARequest() throws Exception {
+
+        long filter = count(LayerMetrics.FILTER, "JwtAuthFilter", "doFilterInternal");
+        long service = count(LayerMetrics.SERVICE, "TaskServiceImpl", "findById");
+        long adapter = count(LayerMetrics.ADAPTER, "MySqlTaskRepository", "findById");
+        long repository = count(LayerMetrics.REPOSITORY, "SpringTaskRepository", "findById");
+        long serialization = count(LayerMetrics.SERIALIZATION, "Jackson", "write");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task/{id}", task.getId())
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk());
+
+        assertEquals(filter + 1, count(LayerMetrics.FILTER, "JwtAuthFilter", "doFilterInternal"));
+        assertEquals(service + 1, count(LayerMetrics.SERVICE, "TaskServiceImpl", "findById"));
+        assertEquals(adapter + 1, count(LayerMetrics.ADAPTER, "MySqlTaskRepository", "findById"));
+        assertTrue(count(LayerMetrics.REPOSITORY, "SpringTaskRepository", "findById") > repository);
+        assertEquals(serialization + 1, count(LayerMetrics.SERIALIZATION, "Jackson", "write"));
+    }
+
+    // Test that validates that failing calls are timed apart from the successful ones
+    @Test
+    void shouldTagFailedCalls() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task/{id}", 99999L)
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isNotFound());
+
+        assertTrue(timer(LayerMetrics.SERVICE, "TaskServiceImpl", "findById", "error").count() >= 1);
+    }
+
+    // Test that validates that the layer timers publish the configured SLO buckets
+    @Test
+    void shouldPublishSloBuckets() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task/{id}", task.getId())
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk());
+
+        Timer timer = timer(LayerMetrics.SERVICE, "TaskServiceImpl", "findById", "success");
+
+        assertEquals(9, timer.takeSnapshot().histogramCounts().length);
+    }
+
+    // Test that validates that bulk assignments count their items by outcome
+    @Test
+    void shouldCountBulkItemsByOutcome() throws Exception {
+
+        double succeeded = bulkItems("success");
+        double failed = bulkItems("error");
+
+        String payload = "{\"assignments\":[{\"taskIds\":[" + task.getId() + ",99999],"
+                + "\"userId\":" + adminUser.getUserID() + "}]}";
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/task/users")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(payload))
+                .andExpect(status().isOk());
+
+        assertEquals(succeeded + 1, bulkItems("success"));
+        assertEquals(failed + 1, bulkItems("error"));
+    }
+
+    private long count(String layer, String component, String method) {
+        Timer timer = meterRegistry.find(LayerMetrics.TIMER)
+                .tags("layer", layer, "component", component, "method", method, "outcome", "success")
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+
+    private Timer timer(String layer, String component, String method, String outcome) {
+        return meterRegistry.get(LayerMetrics.TIMER)
+                .tags("layer", layer, "component", component, "method", method, "outcome", outcome)
+                .timer();
+    }
+
+    private double bulkItems(String outcome) {
+        return meterRegistry.get("app.tasks.bulk.items")
+                .tags("operation", "assign", "outcome", outcome)
+                .counter()
+                .count();
+    }
+}
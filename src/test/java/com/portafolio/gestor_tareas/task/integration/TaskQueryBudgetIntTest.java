@@ -0,0 +1,146 @@
+package com.portafolio.gestor_tareas.task.integration;
+
+import com.portafolio.gestor_tareas.config.QueryBudget;
+import com.portafolio.gestor_tareas.config.TestUserFactory;
+import com.portafolio.gestor_tareas.config.infrastructure.QueryStatsResponseAdvice;
+import com.portafolio.gestor_tareas.task.infrastructure.entity.TaskEntity;
+import com.portafolio.gestor_tareas.task.infrastructure.repository.SpringTaskRepository;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.emptyOrNullString;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskQueryBudgetIntTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SpringTaskRepository springTaskRepository;
+
+    @Autowired
+    private SpringUserRepository springUserRepository;
+
+    @Autowired
+    private TestUserFactory userFactory;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestUserFactory.TestUser adminUser;
+    private UserEntity admin;
+    private List<TaskEntity> tasks;
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        springTaskRepository.deleteAll();
+        springUserRepository.deleteAll();
+
+        adminUser = userFactory.createAdminUser();
+        admin = springUserRepository.findById(adminUser.getUserID()).orElseThrow();
+        tasks = new ArrayList<>();
+
+        addTasks(5);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        springTaskRepository.deleteAll();
+        springUserRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    // Test that validates that fetching a task stays within its statement budget
+    @Test
+    void shouldFetchTaskWithinBudget() throws Exception {
+
+        QueryBudget.atMost(3, () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/task/{id}", tasks.get(0).getId())
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk()));
+    }
+
+    // Test that validates that listing tasks doesn't issue a statement per task
+    @Test
+    void shouldListTasksWithoutNPlusOne() throws Exception {
+
+        int withFiveTasks = QueryBudget.count(this::listTasks);
+
+        addTasks(10);
+        entityManagerFactory.getCache().evictAll();
+
+        assertTrue(withFiveTasks <= 2);
+        assertEquals(withFiveTasks, QueryBudget.count(this::listTasks));
+    }
+
+    // Test that validates that bulk assignment keeps at most a lookup and an update per task
+    @Test
+    void shouldAssignInBulkWithinBudget() throws Exception {
+
+        QueryBudget.atMost(2 * 5 + 2, () -> bulkAssign(5));
+    }
+
+    // Test that validates that the request statements and database time are sent as headers when enabled
+    @Test
+    void shouldSendQueryStatsHeaders() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task/{id}", tasks.get(0).getId())
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(QueryStatsResponseAdvice.QUERY_COUNT_HEADER, not(emptyOrNullString())))
+                .andExpect(header().exists(QueryStatsResponseAdvice.QUERY_TIME_HEADER));
+    }
+
+    private ResultActions listTasks() throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/api/task")
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk());
+    }
+
+    private ResultActions bulkAssign(int count) throws Exception {
+        String ids = tasks.stream().limit(count).map(t -> t.getId().toString()).collect(Collectors.joining(","));
+        return mockMvc.perform(MockMvcRequestBuilders.post("/api/task/users")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"assignments\":[{\"taskIds\":[" + ids + "],\"userId\":" + admin.getId() + "}]}"))
+                .andExpect(status().isOk());
+    }
+
+    private void addTasks(int count) {
+        int offset = tasks.size();
+        for (int i = 0; i < count; i++) {
+            TaskEntity task = new TaskEntity();
+            task.setTitle("Budget task " + (offset + i));
+            task.setDescription("Task used to measure the statements");
+            task.setCompleted(false);
+            task.setUser(admin);
+            tasks.add(springTaskRepository.save(task));
+        }
+    }
+}
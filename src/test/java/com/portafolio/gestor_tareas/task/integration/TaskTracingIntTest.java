@@ -0,0 +1,138 @@
+package com.portafolio.gestor_tareas.task.integration;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.config.TestUserFactory;
+import com.portafolio.gestor_tareas.config.application.Tracing;
+import com.portafolio.gestor_tareas.config.infrastructure.FileTraceExporter;
+import com.portafolio.gestor_tareas.config.infrastructure.filter.TracingFilter;
+import com.portafolio.gestor_tareas.task.infrastructure.entity.TaskEntity;
+import com.portafolio.gestor_tareas.task.infrastructure.repository.SpringTaskRepository;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TaskTracingIntTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private SpringTaskRepository springTaskRepository;
+
+    @Autowired
+    private SpringUserRepository springUserRepository;
+
+    @Autowired
+    private TestUserFactory userFactory;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private FileTraceExporter fileTraceExporter;
+
+    private TestUserFactory.TestUser adminUser;
+    private TaskEntity task;
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        adminUser = userFactory.createAdminUser();
+
+        task = new TaskEntity();
+        task.setTitle("Traced task");
+        task.setDescription("Task used to check the exported spans");
+        task.setCompleted(false);
+        task.setUser(springUserRepository.findById(adminUser.getUserID()).orElseThrow());
+
+        springTaskRepository.saveAndFlush(task);
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        springTaskRepository.deleteAll();
+        springUserRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    // Test that validates that a sampled request exports nested spans from the filter down to the SQL statements
+    @Test
+    void shouldExportNestedSpansOfASampledRequest() throws Exception {
+
+        String traceId = Tracing.randomHex(16);
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/task/{id}", task.getId())
+                        .header("Authorization", adminUser.getToken())
+                        .header("traceparent", "00-" + traceId + "-00f067aa0ba902b7-01"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(TracingFilter.TRACE_ID_HEADER, traceId));
+
+        JsonNode spans = awaitTrace(traceId)
+                .get("resourceSpans").get(0).get("scopeSpans").get(0).get("spans");
+
+        Map<String, JsonNode> byName = new HashMap<>();
+        spans.forEach(span -> byName.putIfAbsent(span.get("name").asText(), span));
+
+        JsonNode root = byName.get("GET /api/task/{id}");
+        JsonNode controller = byName.get("TaskControllerImpl.findById");
+        JsonNode service = byName.get("TaskServiceImpl.findById");
+        JsonNode adapter = byName.get("MySqlTaskRepository.findById");
+
+        assertNotNull(root);
+        assertEquals("00f067aa0ba902b7", root.get("parentSpanId").asText());
+        assertNotNull(byName.get("JwtAuthFilter.authenticate"));
+        assertNotNull(byName.get("Jackson.write"));
+        assertEquals(controller.get("spanId"), service.get("parentSpanId"));
+        assertEquals(service.get("spanId"), adapter.get("parentSpanId"));
+        assertTrue(byName.keySet().stream().anyMatch(name -> name.startsWith("SQL ")));
+    }
+
+    private JsonNode awaitTrace(String traceId) throws Exception {
+
+        for (int attempt = 0; attempt < 50; attempt++) {
+            if (Files.exists(fileTraceExporter.file())) {
+                List<String> lines = Files.readAllLines(fileTraceExporter.file());
+                Optional<String> line = lines.stream().filter(candidate -> candidate.contains(traceId)).findFirst();
+
+                if (line.isPresent()) {
+                    try {
+                        return objectMapper.readTree(line.get());
+                    } catch (JsonProcessingException e) {
+                        // The writer thread is still in the middle of the line, read it again on the next attempt
+                    }
+                }
+            }
+            Thread.sleep(100);
+        }
+
+        return fail("The trace " + traceId + " was not exported");
+    }
+}
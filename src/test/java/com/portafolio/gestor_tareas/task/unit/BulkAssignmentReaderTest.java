@@ -0,0 +1,106 @@
+package com.portafolio.gestor_tareas.task.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.portafolio.gestor_tareas.exception.domain.BadRequestException;
+import com.portafolio.gestor_tareas.task.application.BulkAssignmentReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkAssignmentReaderTest {
+
+    private final BulkAssignmentReader reader = new BulkAssignmentReader(new ObjectMapper(), 3);
+
+    private record Chunk(Long userId, List<Long> taskIds) {}
+
+    private List<Chunk> read(String json) {
+
+        List<Chunk> chunks = new ArrayList<>();
+
+        reader.read(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), new BulkAssignmentReader.AssignmentHandler() {
+
+            private Long userId;
+
+            @Override
+            public void start(Long userId) {
+                this.userId = userId;
+                chunks.add(new Chunk(userId, List.of()));
+            }
+
+            @Override
+            public void accept(long[] taskIds, int length) {
+                chunks.add(new Chunk(userId, LongStream.of(taskIds).limit(length).boxed().toList()));
+            }
+        });
+
+        return chunks;
+    }
+
+    // Test that validates that task ids are handed out in chunks of the configured size
+    @Test
+    void shouldSplitTaskIdsIntoChunks() {
+
+        List<Chunk> chunks = read("{\"assignments\":[{\"userId\":1,\"taskIds\":[1,2,3,4,5,6,7]},{\"userId\":2,\"taskIds\":[8]}]}");
+
+        assertEquals(List.of(
+                new Chunk(1L, List.of()),
+                new Chunk(1L, List.of(1L, 2L, 3L)),
+                new Chunk(1L, List.of(4L, 5L, 6L)),
+                new Chunk(1L, List.of(7L)),
+                new Chunk(2L, List.of()),
+                new Chunk(2L, List.of(8L))
+        ), chunks);
+    }
+
+    // Test that validates that task ids sent before their userId are kept until the user is known
+    @Test
+    void shouldHoldBackTaskIdsUntilTheUserIsKnown() {
+
+        List<Chunk> chunks = read("{\"assignments\":[{\"taskIds\":[1,2,3,4],\"extra\":{\"a\":[1]},\"userId\":5}]}");
+
+        assertEquals(List.of(
+                new Chunk(5L, List.of()),
+                new Chunk(5L, List.of(1L, 2L, 3L, 4L))
+        ), chunks);
+    }
+
+    // Test that validates that an assignment without userId is still reported to the handler
+    @Test
+    void shouldStartAssignmentsWithoutUserId() {
+
+        List<Chunk> chunks = read("{\"assignments\":[{\"taskIds\":[\"1\"]}]}");
+
+        assertEquals(List.of(new Chunk(null, List.of()), new Chunk(null, List.of(1L))), chunks);
+    }
+
+    // Test that validates that large payloads never grow the chunk beyond its size
+    @Test
+    void shouldStreamLargePayloads() {
+
+        String ids = LongStream.rangeClosed(1, 10_000).mapToObj(Long::toString).collect(Collectors.joining(","));
+
+        List<Chunk> chunks = read("{\"assignments\":[{\"userId\":1,\"taskIds\":[" + ids + "]}]}");
+
+        assertEquals(1 + 3334, chunks.size());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.taskIds().size() <= 3));
+        assertEquals(10_000L, chunks.get(chunks.size() - 1).taskIds().get(0));
+    }
+
+    // Test that validates that invalid payloads are rejected as bad requests
+    @Test
+    void shouldRejectInvalidPayloads() {
+
+        assertThrows(BadRequestException.class, () -> read("{}"));
+        assertThrows(BadRequestException.class, () -> read("{\"assignments\":[]}"));
+        assertThrows(BadRequestException.class, () -> read("[1,2]"));
+        assertThrows(BadRequestException.class, () -> read("{\"assignments\":[{\"userId\":1,\"taskIds\":[1,null]}]}"));
+        assertThrows(BadRequestException.class, () -> read("{\"assignments\":[{\"userId\":1,\"taskIds\":[1,"));
+    }
+}
@@ -0,0 +1,141 @@
+package com.portafolio.gestor_tareas.task.unit;
+
+import com.portafolio.gestor_tareas.config.ConcurrencyHarness;
+import com.portafolio.gestor_tareas.config.infrastructure.SecurityConfig;
+import com.portafolio.gestor_tareas.exception.domain.ForbiddenException;
+import com.portafolio.gestor_tareas.task.application.BulkAssignmentMetrics;
+import com.portafolio.gestor_tareas.task.application.TaskServiceImpl;
+import com.portafolio.gestor_tareas.task.domain.Task;
+import com.portafolio.gestor_tareas.task.domain.TaskRepository;
+import com.portafolio.gestor_tareas.task.infrastructure.dto.TaskDTO;
+import com.portafolio.gestor_tareas.task.infrastructure.mapper.TaskMapper;
+import com.portafolio.gestor_tareas.task.infrastructure.repository.SpringTaskRepository;
+import com.portafolio.gestor_tareas.users.domain.User;
+import com.portafolio.gestor_tareas.users.domain.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.portafolio.gestor_tareas.config.ConcurrencyHarness.THREADS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TaskServiceConcurrencyTest {
+
+    private static final int ROUNDS = 200;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    @Mock
+    private SpringTaskRepository springTaskRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SecurityConfig securityConfig;
+
+    @Mock
+    private TaskMapper taskMapper;
+
+    @Spy
+    private BulkAssignmentMetrics bulkAssignmentMetrics = new BulkAssignmentMetrics(new SimpleMeterRegistry());
+
+    @InjectMocks
+    private TaskServiceImpl taskService;
+
+    // Every task belongs to the user with the same ID
+    private static Task task(long id) {
+        return Task.builder()
+                .id(id)
+                .title("Task " + id)
+                .user(User.builder().id(id).build())
+                .build();
+    }
+
+    private static UserDetails principal(long id) {
+        return org.springframework.security.core.userdetails.User
+                .withUsername(String.valueOf(id)).password("password").authorities("USER").build();
+    }
+
+    // Only lets a principal touch its own tasks and yields in between, so a shared field would be overwritten
+    private void allowOnlyOwnTasks() {
+        doAnswer(invocation -> {
+            Long ownerId = invocation.getArgument(0);
+            UserDetails userDetails = invocation.getArgument(1);
+            Thread.yield();
+            if (!ownerId.toString().equals(userDetails.getUsername())) {
+                throw new ForbiddenException("Cross-user access to the tasks of user " + ownerId);
+            }
+            return null;
+        }).when(securityConfig).checkAccess(anyLong(), any(UserDetails.class));
+    }
+
+    // Test that validates that concurrent lookups always return and check the task each request asked for
+    @Test
+    void shouldReturnTheRequestedTaskUnderConcurrentLookups() throws Exception {
+
+        when(taskRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(task(invocation.getArgument(0))));
+        when(taskMapper.taskToTaskDTO(any(Task.class))).thenAnswer(invocation -> {
+            Task found = invocation.getArgument(0);
+            return new TaskDTO(found.getId(), found.getTitle(), found.getDescription(), found.isCompleted(),
+                    found.getUser().getId(), null);
+        });
+        allowOnlyOwnTasks();
+
+        ConcurrencyHarness.run(THREADS, ROUNDS, (thread, round) -> {
+            long id = thread + 1L;
+
+            TaskDTO result = taskService.findById(id, principal(id));
+
+            assertEquals(id, result.id());
+            assertEquals(id, result.userId());
+        });
+    }
+
+    // Test that validates that concurrent status changes only ever save the task of their own request
+    @Test
+    void shouldOnlySaveTheTaskOfEachRequest() throws Exception {
+
+        Task[] tasks = new Task[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            tasks[i] = task(i + 1L);
+        }
+
+        ConcurrentHashMap<Long, AtomicInteger> saves = new ConcurrentHashMap<>();
+
+        when(taskRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.of(tasks[((Long) invocation.getArgument(0)).intValue() - 1]));
+        when(taskRepository.save(any(Task.class))).thenAnswer(invocation -> {
+            Task saved = invocation.getArgument(0);
+            saves.computeIfAbsent(saved.getId(), id -> new AtomicInteger()).incrementAndGet();
+            return saved;
+        });
+        allowOnlyOwnTasks();
+
+        ConcurrencyHarness.run(THREADS, ROUNDS, (thread, round) -> {
+            long id = thread + 1L;
+
+            // Each thread alternates its own task between completed and not completed
+            taskService.updateCompletionStatus(id, round % 2 == 0, principal(id));
+
+            assertEquals(round % 2 == 0, tasks[thread].isCompleted());
+        });
+
+        for (int i = 0; i < THREADS; i++) {
+            assertEquals(ROUNDS, saves.get(i + 1L).get());
+        }
+    }
+}
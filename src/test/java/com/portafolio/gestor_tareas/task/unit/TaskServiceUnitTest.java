@@ -3,6 +3,7 @@ package com.portafolio.gestor_tareas.task.unit;
 import com.portafolio.gestor_tareas.config.TestTaskFactory;
 import com.portafolio.gestor_tareas.config.infrastructure.SecurityConfig;
 import com.portafolio.gestor_tareas.exception.domain.*;
+import com.portafolio.gestor_tareas.task.application.BulkAssignmentMetrics;
 import com.portafolio.gestor_tareas.task.application.TaskServiceImpl;
 import com.portafolio.gestor_tareas.task.domain.Task;
 import com.portafolio.gestor_tareas.task.domain.TaskRepository;
@@ -15,11 +16,13 @@ import com.portafolio.gestor_tareas.task.infrastructure.repository.SpringTaskRep
 import com.portafolio.gestor_tareas.users.domain.User;
 import com.portafolio.gestor_tareas.users.domain.UserRepository;
 import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -52,6 +55,9 @@ class TaskServiceUnitTest {
     //@Mock
     private TestTaskFactory testTaskFactory;
 
+    @Spy
+    private BulkAssignmentMetrics bulkAssignmentMetrics = new BulkAssignmentMetrics(new SimpleMeterRegistry());
+
     @InjectMocks
     private TaskServiceImpl taskService;
 
@@ -782,6 +788,23 @@ class TaskServiceUnitTest {
         verify(taskRepository, times(2)).save(any(Task.class));
     }
 
+    // Error when an assignment comes without userId
+    @Test
+    void shouldRejectAssignmentWithoutUserId() {
+
+        bulkTaskDTO = new BulkTaskDTO(
+                List.of(new TaskAssignmentDTO(null, List.of(2L)))
+        );
+
+        BadRequestException exception = assertThrows(BadRequestException.class,
+                () -> taskService.addTasksToUsers(bulkTaskDTO));
+
+        assertTrue(exception.getMessage().contains("userId cannot be null"));
+
+        verify(userRepository, never()).findById(any());
+        verify(taskRepository, never()).save(any(Task.class));
+    }
+
     /*
         unassignTasksFromUser
     */
@@ -822,7 +845,7 @@ class TaskServiceUnitTest {
         when(userRepository.findById(userDomain.getId())).thenReturn(Optional.of(userDomain));
         when(taskRepository.findById(3L)).thenReturn(Optional.of(taskThree));
         when(taskRepository.findById(4L)).thenReturn(Optional.of(taskFour));
-        when(taskRepository.findByUser(userDomain)).thenReturn(List.of(taskThree, taskFour));
+        when(taskRepository.existsByUser(userDomain)).thenReturn(true);
         when(taskRepository.save(any(Task.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -840,7 +863,7 @@ class TaskServiceUnitTest {
 
         verify(userRepository, times(2)).findById(userDomain.getId());
         verify(taskRepository, times(2)).findById(anyLong());
-        verify(taskRepository, times(1)).findByUser(userDomain);
+        verify(taskRepository, times(1)).existsByUser(userDomain);
         verify(taskRepository, times(2)).save(any(Task.class));
     }
 
@@ -852,7 +875,7 @@ class TaskServiceUnitTest {
 
         when(userRepository.findById(userDomain.getId())).thenReturn(Optional.of(userDomain));
         when(taskRepository.findById(4L)).thenReturn(Optional.of(taskFour));
-        when(taskRepository.findByUser(userDomain)).thenReturn(List.of(taskFour));
+        when(taskRepository.existsByUser(userDomain)).thenReturn(true);
         when(taskRepository.save(taskFour)).thenReturn(taskFour);
 
         List<Long> taskIds = List.of(4L, 99L);
@@ -868,7 +891,7 @@ class TaskServiceUnitTest {
 
         verify(userRepository, times(2)).findById(userDomain.getId());
         verify(taskRepository, times(2)).findById(anyLong());
-        verify(taskRepository, times(1)).findByUser(userDomain);
+        verify(taskRepository, times(1)).existsByUser(userDomain);
         verify(taskRepository, times(1)).save(taskFour);
     }
 
@@ -881,7 +904,7 @@ class TaskServiceUnitTest {
         when(userRepository.findById(userDomain.getId())).thenReturn(Optional.of(userDomain));
         when(taskRepository.findById(4L)).thenReturn(Optional.of(taskFour));
         when(taskRepository.findById(5L)).thenReturn(Optional.of(taskFive));
-        when(taskRepository.findByUser(userDomain)).thenReturn(List.of(taskFour));
+        when(taskRepository.existsByUser(userDomain)).thenReturn(true);
         when(taskRepository.save(taskFour)).thenReturn(taskFour);
 
         List<Long> taskIds = List.of(4L, 5L);
@@ -897,7 +920,7 @@ class TaskServiceUnitTest {
 
         verify(userRepository, times(2)).findById(userDomain.getId());
         verify(taskRepository, times(2)).findById(anyLong());
-        verify(taskRepository, times(1)).findByUser(userDomain);
+        verify(taskRepository, times(1)).existsByUser(userDomain);
         verify(taskRepository, times(1)).save(taskFour);
     }
 
@@ -951,7 +974,7 @@ class TaskServiceUnitTest {
         when(userRepository.findById(userDomain.getId())).thenReturn(Optional.of(userDomain));
         when(taskRepository.findById(2L)).thenReturn(Optional.of(taskTwo));
         when(taskRepository.findById(5L)).thenReturn(Optional.of(taskFive));
-        when(taskRepository.findByUser(userDomain)).thenReturn(List.of(taskTwo));
+        when(taskRepository.existsByUser(userDomain)).thenReturn(true);
         when(taskRepository.save(taskTwo)).thenReturn(taskTwo);
 
         List<Long> taskIds = List.of(2L, 5L);
@@ -967,7 +990,7 @@ class TaskServiceUnitTest {
 
         verify(userRepository, times(2)).findById(userDomain.getId());
         verify(taskRepository, times(2)).findById(anyLong());
-        verify(taskRepository, times(1)).findByUser(userDomain);
+        verify(taskRepository, times(1)).existsByUser(userDomain);
         verify(taskRepository, times(1)).save(taskTwo);
     }
 
@@ -990,8 +1013,8 @@ class TaskServiceUnitTest {
         when(taskRepository.findById(3L)).thenReturn(Optional.of(taskThree));
         when(taskRepository.findById(4L)).thenReturn(Optional.of(taskFour));
         when(taskRepository.findById(5L)).thenReturn(Optional.of(taskFive));
-        when(taskRepository.findByUser(userDomain)).thenReturn(List.of(taskThree, taskFive));
-        when(taskRepository.findByUser(userDomainTwo)).thenReturn(List.of(taskTwo, taskFour));
+        when(taskRepository.existsByUser(userDomain)).thenReturn(true);
+        when(taskRepository.existsByUser(userDomainTwo)).thenReturn(true);
         when(taskRepository.save(any(Task.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -1020,7 +1043,7 @@ class TaskServiceUnitTest {
 
         verify(userRepository, times(2)).findById(anyLong());
         verify(taskRepository, times(4)).findById(anyLong());
-        verify(taskRepository, times(2)).findByUser(any(User.class));
+        verify(taskRepository, times(2)).existsByUser(any(User.class));
         verify(taskRepository, times(4)).save(any(Task.class));
     }
 
@@ -1035,7 +1058,7 @@ class TaskServiceUnitTest {
         when(userRepository.findById(99L)).thenReturn(Optional.empty());
         when(taskRepository.findById(4L)).thenReturn(Optional.of(taskFour));
         when(taskRepository.findById(5L)).thenReturn(Optional.of(taskFive));
-        when(taskRepository.findByUser(userDomainTwo)).thenReturn(List.of(taskTwo, taskFour));
+        when(taskRepository.existsByUser(userDomainTwo)).thenReturn(true);
         when(taskRepository.save(any(Task.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -1063,7 +1086,7 @@ class TaskServiceUnitTest {
 
         verify(userRepository, times(2)).findById(anyLong());
         verify(taskRepository, times(2)).findById(anyLong());
-        verify(taskRepository, times(1)).findByUser(userDomainTwo);
+        verify(taskRepository, times(1)).existsByUser(userDomainTwo);
         verify(taskRepository, times(2)).save(any(Task.class));
     }
 
@@ -1080,8 +1103,8 @@ class TaskServiceUnitTest {
         when(taskRepository.findById(3L)).thenReturn(Optional.of(taskThree));
         when(taskRepository.findById(98L)).thenReturn(Optional.empty());
         when(taskRepository.findById(99L)).thenReturn(Optional.empty());
-        when(taskRepository.findByUser(userDomain)).thenReturn(List.of(taskThree));
-        when(taskRepository.findByUser(userDomainTwo)).thenReturn(List.of(taskTwo));
+        when(taskRepository.existsByUser(userDomain)).thenReturn(true);
+        when(taskRepository.existsByUser(userDomainTwo)).thenReturn(true);
         when(taskRepository.save(any(Task.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -1109,7 +1132,7 @@ class TaskServiceUnitTest {
 
         verify(userRepository, times(2)).findById(anyLong());
         verify(taskRepository, times(4)).findById(anyLong());
-        verify(taskRepository, times(2)).findByUser(any(User.class));
+        verify(taskRepository, times(2)).existsByUser(any(User.class));
         verify(taskRepository, times(2)).save(any(Task.class));
     }
 
@@ -1129,8 +1152,8 @@ class TaskServiceUnitTest {
         when(taskRepository.findById(4L)).thenReturn(Optional.of(taskFour));
         when(taskRepository.findById(98L)).thenReturn(Optional.empty());
         when(taskRepository.findById(99L)).thenReturn(Optional.empty());
-        when(taskRepository.findByUser(userDomain)).thenReturn(List.of(taskThree));
-        when(taskRepository.findByUser(userDomainTwo)).thenReturn(List.of(taskTwo, taskFour));
+        when(taskRepository.existsByUser(userDomain)).thenReturn(true);
+        when(taskRepository.existsByUser(userDomainTwo)).thenReturn(true);
         when(taskRepository.save(any(Task.class)))
                 .thenAnswer(invocation -> invocation.getArgument(0));
 
@@ -1160,7 +1183,7 @@ class TaskServiceUnitTest {
 
         verify(userRepository, times(3)).findById(anyLong());
         verify(taskRepository, times(5)).findById(anyLong());
-        verify(taskRepository, times(2)).findByUser(any(User.class));
+        verify(taskRepository, times(2)).existsByUser(any(User.class));
         verify(taskRepository, times(3)).save(any(Task.class));
     }
 }
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.portafolio.gestor_tareas.user.integration;
+
+import com.portafolio.gestor_tareas.config.infrastructure.PermissionMaskMigration;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class PermissionMaskMigrationIntTest {
+
+    @Autowired
+    private PermissionMaskMigration permissionMaskMigration;
+
+    @Autowired
+    private SpringUserRepository springUserRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long userId;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS user_permissions");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS user_permissions_legacy");
+        if (userId != null) {
+            springUserRepository.deleteById(userId);
+        }
+    }
+
+    // Test that validates that legacy rows are OR-ed into the mask and the legacy table is replaced by a copy
+    @Test
+    void shouldMoveLegacyPermissionsIntoTheMaskAndKeepNewGrants() {
+
+        userId = legacyUser("legacy.user@example.com");
+
+        permissionMaskMigration.run();
+
+        UserEntity migrated = springUserRepository.findById(userId).orElseThrow();
+
+        assertEquals(EnumSet.of(Permission.TASK_READ, Permission.TASK_WRITE, Permission.TASK_DELETE),
+                migrated.getPermissions(), "Legacy rows must be OR-ed into the permissions already granted");
+
+        List<String> tables = jdbcTemplate.queryForList(
+                "SELECT LOWER(TABLE_NAME) FROM INFORMATION_SCHEMA.TABLES WHERE LOWER(TABLE_NAME) LIKE 'user_permissions%'",
+                String.class);
+
+        assertEquals(List.of("user_permissions_legacy"), tables, "The legacy table must be dropped once copied");
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM user_permissions_legacy", Integer.class));
+    }
+
+    // Test that validates that a migrated user can be deleted, the copy keeps no foreign key to app_users
+    @Test
+    void shouldDeleteAMigratedUser() {
+
+        Long migratedId = legacyUser("legacy.deleted@example.com");
+
+        permissionMaskMigration.run();
+        springUserRepository.deleteById(migratedId);
+
+        assertFalse(springUserRepository.existsById(migratedId));
+    }
+
+    @Test
+    void shouldGrantAndRevokeWithBitwiseUpdates() {
+
+        UserEntity user = springUserRepository.save(UserEntity.builder()
+                .firstname("Mask")
+                .lastname("User")
+                .email("mask.user@example.com")
+                .password("password")
+                .role(Role.USER)
+                .permissions(EnumSet.of(Permission.TASK_READ))
+                .build());
+        userId = user.getId();
+
+        springUserRepository.grantPermissions(List.of(userId),
+                Permission.TASK_WRITE.getBit() | Permission.TASK_ASSIGN.getBit());
+        springUserRepository.keepPermissions(List.of(userId), ~Permission.TASK_READ.getBit());
+
+        Integer storedMask = jdbcTemplate.queryForObject(
+                "SELECT permissions_mask FROM app_users WHERE id = ?", Integer.class, userId);
+
+        assertEquals(Permission.TASK_WRITE.getBit() | Permission.TASK_ASSIGN.getBit(), storedMask);
+        assertEquals(EnumSet.of(Permission.TASK_WRITE, Permission.TASK_ASSIGN),
+                springUserRepository.findById(userId).orElseThrow().getPermissions());
+    }
+
+    // Same table and foreign key Hibernate generated for the old @ElementCollection mapping
+    private Long legacyUser(String email) {
+
+        UserEntity user = springUserRepository.save(UserEntity.builder()
+                .firstname("Legacy")
+                .lastname("User")
+                .email(email)
+                .password("password")
+                .role(Role.USER)
+                .permissions(EnumSet.of(Permission.TASK_DELETE))
+                .build());
+
+        jdbcTemplate.execute("CREATE TABLE user_permissions (user_id BIGINT NOT NULL, permission VARCHAR(255))");
+        jdbcTemplate.execute("ALTER TABLE user_permissions ADD CONSTRAINT fk_user_permissions_user "
+                + "FOREIGN KEY (user_id) REFERENCES app_users (id)");
+        jdbcTemplate.update("INSERT INTO user_permissions (user_id, permission) VALUES (?, ?)", user.getId(), "TASK_READ");
+        jdbcTemplate.update("INSERT INTO user_permissions (user_id, permission) VALUES (?, ?)", user.getId(), "TASK_WRITE");
+
+        return user.getId();
+    }
+}
@@ -1,9 +1,13 @@
 package com.portafolio.gestor_tareas.user.integration;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.portafolio.gestor_tareas.config.TestUserFactory;
+import com.portafolio.gestor_tareas.users.domain.Permission;
 import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsRequestDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
 import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,7 +22,10 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -306,6 +313,271 @@ class UserControllerIntegrationTest {
                 .andExpect(status().isForbidden());
     }
 
+    /*
+        findPage (GET)
+    */
+
+    // Test where an admin walks the users two at a time following the cursor
+    @Test
+    void adminCanPageThroughUsers() throws Exception {
+
+        String firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/api/users/page")
+                        .param("size", "2")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items.length()").value(2))
+                .andExpect(jsonPath("$.data.hasNext").value(true))
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode data = objectMapper.readTree(firstPage).get("data");
+        long nextCursor = data.get("nextCursor").asLong();
+
+        assertEquals(data.get("items").get(1).get("id").asLong(), nextCursor);
+
+        String secondPage = mockMvc.perform(MockMvcRequestBuilders.get("/api/users/page")
+                        .param("cursor", String.valueOf(nextCursor))
+                        .param("size", "2")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        JsonNode secondItems = objectMapper.readTree(secondPage).get("data").get("items");
+
+        assertTrue(secondItems.size() > 0);
+        assertTrue(secondItems.get(0).get("id").asLong() > nextCursor);
+    }
+
+    // Test where an invalid page size is requested
+    @Test
+    void pageSizeMustBePositive() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/page")
+                        .param("size", "0")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test where a normal user tries to page through the users
+    @Test
+    void userCannotPageThroughUsers() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/page")
+                        .header("Authorization", regularUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+
+    /*
+        search (GET)
+    */
+
+    // Test where an admin finds a newly registered user by an email prefix
+    @Test
+    void adminCanSearchUsersByPrefix() throws Exception {
+
+        UserDTO requestDto = new UserDTO();
+        requestDto.setFirstname("Searchable");
+        requestDto.setLastname("User");
+        requestDto.setEmail("searchable.user@example.com");
+        requestDto.setPassword("123456");
+        requestDto.setRole(Role.USER);
+        requestDto.setTask(new ArrayList<>());
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(requestDto)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/search")
+                        .param("q", "SEARCHABLE.U")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].email").value("searchable.user@example.com"));
+    }
+
+    // Test where a normal user tries to search users
+    @Test
+    void userCannotSearchUsers() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/search")
+                        .param("q", "admin")
+                        .header("Authorization", regularUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
+
+    /*
+        import users (POST)
+     */
+
+    // Test where an admin imports a CSV file and gets the outcome of every row
+    @Test
+    void adminCanImportUsersFromCsv() throws Exception {
+
+        String csv = """
+                firstname,lastname,email,password,role,permissions
+                Ana,Import,ana.import@example.com,123456,USER,TASK_READ|TASK_WRITE
+                "Doe, Jr.",Import,doe.import@example.com,654321,,
+                Twice,Import,ana.import@example.com,123456,,
+                Taken,Import,usertest@test.com,123456,,
+                ,Import,nameless.import@example.com,123456,,
+                Bad,Import,bad.import@example.com,123456,OWNER,
+                """;
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users/import")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.total").value(6))
+                .andExpect(jsonPath("$.data.imported").value(2))
+                .andExpect(jsonPath("$.data.rows[0].line").value(2))
+                .andExpect(jsonPath("$.data.rows[0].status").value("IMPORTED"))
+                .andExpect(jsonPath("$.data.rows[1].status").value("IMPORTED"))
+                .andExpect(jsonPath("$.data.rows[2].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.data.rows[3].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.data.rows[4].status").value("INVALID"))
+                .andExpect(jsonPath("$.data.rows[5].status").value("INVALID"));
+
+        UserEntity imported = springUserRepository.findByEmail("ana.import@example.com").orElseThrow();
+        assertEquals(Set.of(Permission.TASK_READ, Permission.TASK_WRITE), imported.getPermissions());
+        assertEquals(Role.USER, imported.getRole());
+        assertEquals("Doe, Jr.", springUserRepository.findByEmail("doe.import@example.com").orElseThrow().getFirstname());
+
+        // Imported users can log in with the password from the file
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/auth/authenticate")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"ana.import@example.com\",\"password\":\"123456\"}"))
+                .andExpect(status().isOk());
+    }
+
+    // Test where an admin imports users from NDJSON
+    @Test
+    void adminCanImportUsersFromNdjson() throws Exception {
+
+        String ndjson = """
+                {"firstname":"Nd","lastname":"Json","email":"nd.import@example.com","password":"123456"}
+                {"firstname":"Broken"
+                """;
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users/import")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.imported").value(1))
+                .andExpect(jsonPath("$.data.rows[0].status").value("IMPORTED"))
+                .andExpect(jsonPath("$.data.rows[1].status").value("INVALID"));
+
+        assertTrue(springUserRepository.findByEmail("nd.import@example.com").isPresent());
+    }
+
+    // Test where the CSV file has no usable header
+    @Test
+    void shouldRejectCsvImportWithoutHeader() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users/import")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType("text/csv")
+                        .content("Ana,Import,ana.import@example.com,123456\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test where a normal user tries to import users
+    @Test
+    void userCannotImportUsers() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users/import")
+                        .header("Authorization", regularUser.getToken())
+                        .contentType("text/csv")
+                        .content("firstname,lastname,email,password\n"))
+                .andExpect(status().isForbidden());
+    }
+
+    /*
+        bulk permissions (POST)
+     */
+
+    // Test where an admin grants a permission to every user with a role
+    @Test
+    void adminCanGrantPermissionToEveryUserWithRole() throws Exception {
+
+        BulkPermissionsRequestDTO request = BulkPermissionsRequestDTO.builder()
+                .role(Role.USER)
+                .grant(Set.of(Permission.TASK_ASSIGN))
+                .build();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users/permissions/bulk")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.updated").value(3));
+
+        assertEquals(Set.of(Permission.TASK_ASSIGN),
+                springUserRepository.findByEmail("user@test.com").orElseThrow().getPermissions());
+        assertTrue(springUserRepository.findByEmail("testuser@test.com").orElseThrow()
+                .getPermissions().contains(Permission.TASK_ASSIGN));
+    }
+
+    // Test where an admin revokes a permission from a list of emails, unknown emails are ignored
+    @Test
+    void adminCanRevokePermissionsByEmail() throws Exception {
+
+        BulkPermissionsRequestDTO request = BulkPermissionsRequestDTO.builder()
+                .emails(Set.of("testuser@test.com", "missing@test.com"))
+                .revoke(Set.of(Permission.TASK_WRITE))
+                .build();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users/permissions/bulk")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.updated").value(1));
+
+        assertEquals(Set.of(Permission.TASK_READ),
+                springUserRepository.findByEmail("testuser@test.com").orElseThrow().getPermissions());
+    }
+
+    // Test where the request mixes two targets
+    @Test
+    void shouldRejectBulkPermissionsWithMoreThanOneTarget() throws Exception {
+
+        BulkPermissionsRequestDTO request = BulkPermissionsRequestDTO.builder()
+                .userIds(Set.of(regularUser.getUserID()))
+                .allUsers(true)
+                .grant(Set.of(Permission.TASK_READ))
+                .build();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users/permissions/bulk")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    // Test where a normal user tries to update permissions in bulk
+    @Test
+    void userCannotUpdatePermissionsInBulk() throws Exception {
+
+        BulkPermissionsRequestDTO request = BulkPermissionsRequestDTO.builder()
+                .allUsers(true)
+                .grant(Set.of(Permission.TASK_READ))
+                .build();
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/api/users/permissions/bulk")
+                        .header("Authorization", regularUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isForbidden());
+    }
+
     /*
         add permission by id (POST)
     */
@@ -755,4 +1027,28 @@ class UserControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isForbidden());
     }
+
+    // Test that validates that the permissions page projects each user's permissions
+    @Test
+    void shouldShowUsersWithPermissionsPageToAdmin() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/permissions/page")
+                        .param("cursor", String.valueOf(userWithTwoPermissions.getUserID() - 1))
+                        .param("size", "1")
+                        .header("Authorization", adminUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.items[0].email").value(userWithTwoPermissions.getEmail()))
+                .andExpect(jsonPath("$.data.items[0].permissions.length()").value(2));
+    }
+
+    // Test where a normal user tries to page through user permissions
+    @Test
+    void shouldReturnForbiddenForPermissionsPageBecauseIsNotAdmin() throws Exception {
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/api/users/permissions/page")
+                        .header("Authorization", regularUser.getToken())
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isForbidden());
+    }
 }
@@ -0,0 +1,80 @@
+package com.portafolio.gestor_tareas.user.integration;
+
+import com.portafolio.gestor_tareas.config.QueryBudget;
+import com.portafolio.gestor_tareas.config.TestUserFactory;
+import com.portafolio.gestor_tareas.task.infrastructure.repository.SpringTaskRepository;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserQueryBudgetIntTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private SpringTaskRepository springTaskRepository;
+
+    @Autowired
+    private SpringUserRepository springUserRepository;
+
+    @Autowired
+    private TestUserFactory userFactory;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private TestUserFactory.TestUser adminUser;
+
+    @BeforeEach
+    void setUp() throws Exception {
+
+        springTaskRepository.deleteAll();
+        springUserRepository.deleteAll();
+
+        adminUser = userFactory.createAdminUser();
+        userFactory.createRegularUser();
+        userFactory.createUserWithTwoPermissions();
+
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+
+        springTaskRepository.deleteAll();
+        springUserRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    // Test that validates that fetching a user doesn't load its permissions with extra statements
+    @Test
+    void shouldFetchUserWithinBudget() throws Exception {
+
+        QueryBudget.atMost(2, () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/users/{id}", adminUser.getUserID())
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk()));
+    }
+
+    // Test that validates that listing a page of users stays within its statement budget
+    @Test
+    void shouldPageUsersWithinBudget() throws Exception {
+
+        QueryBudget.atMost(3, () -> mockMvc.perform(MockMvcRequestBuilders.get("/api/users/page")
+                        .header("Authorization", adminUser.getToken()))
+                .andExpect(status().isOk()));
+    }
+}
@@ -0,0 +1,119 @@
+package com.portafolio.gestor_tareas.user.integration;
+
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import com.portafolio.gestor_tareas.users.infrastructure.security.CustomUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserSecondLevelCacheIntTest {
+
+    @Autowired
+    private SpringUserRepository springUserRepository;
+
+    @Autowired
+    private CustomUserDetailsService customUserDetailsService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private UserEntity user;
+
+    @BeforeEach
+    void setUp() {
+
+        user = springUserRepository.save(UserEntity.builder()
+                .firstname("Cached")
+                .lastname("User")
+                .email("cached.user@example.com")
+                .password("password")
+                .role(Role.USER)
+                .permissions(EnumSet.of(Permission.TASK_READ))
+                .build());
+
+        entityManagerFactory.getCache().evictAll();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        springUserRepository.deleteById(user.getId());
+    }
+
+    // Test that validates that only the first lookup by email reaches the database
+    @Test
+    void shouldServeRepeatedLookupsByEmailFromTheCache() {
+
+        customUserDetailsService.loadUserByUsername("cached.user@example.com");
+        long statementsAfterFirstLoad = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 5; i++) {
+            customUserDetailsService.loadUserByUsername("cached.user@example.com");
+        }
+
+        assertTrue(statementsAfterFirstLoad > 0);
+        assertEquals(statementsAfterFirstLoad, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() >= 5);
+        assertTrue(statistics.getSecondLevelCacheHitCount() >= 5);
+    }
+
+    // Test that validates that only the first lookup by ID reaches the database
+    @Test
+    void shouldServeRepeatedLookupsByIdFromTheCache() {
+
+        springUserRepository.findById(user.getId()).orElseThrow();
+        long statementsAfterFirstLoad = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 5; i++) {
+            springUserRepository.findById(user.getId()).orElseThrow();
+        }
+
+        assertEquals(1, statementsAfterFirstLoad);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(5, statistics.getSecondLevelCacheHitCount());
+    }
+
+    // Test that validates that bulk permission updates never leave a stale user in the cache
+    @Test
+    void shouldInvalidateCachedUsersOnBulkPermissionUpdates() {
+
+        springUserRepository.findById(user.getId()).orElseThrow();
+
+        springUserRepository.grantPermissions(List.of(user.getId()), Permission.TASK_WRITE.getBit());
+
+        assertEquals(EnumSet.of(Permission.TASK_READ, Permission.TASK_WRITE),
+                springUserRepository.findById(user.getId()).orElseThrow().getPermissions());
+    }
+
+    // Test that validates that cache region statistics are exported as meters
+    @Test
+    void shouldExportCacheRegionStatistics() {
+
+        springUserRepository.findById(user.getId()).orElseThrow();
+
+        assertFalse(meterRegistry.find("hibernate.second.level.cache.requests").tag("region", "users").meters().isEmpty());
+    }
+}
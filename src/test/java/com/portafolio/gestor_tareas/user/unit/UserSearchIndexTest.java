@@ -0,0 +1,56 @@
+package com.portafolio.gestor_tareas.user.unit;
+
+import com.portafolio.gestor_tareas.users.application.UserSearchIndex;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserSummaryDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class UserSearchIndexTest {
+
+    private UserSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new UserSearchIndex(mock(SpringUserRepository.class));
+        index.put(1L, "ana.lopez@example.com", "Ana", "Lopez");
+        index.put(2L, "andres@example.com", "Andres", "Anaya");
+        index.put(3L, "bruno@example.com", "Bruno", "Diaz");
+    }
+
+    @Test
+    void shouldMatchPrefixOfEmailFirstnameOrLastnameIgnoringCase() {
+
+        List<Long> ids = index.search("AN", 10).stream().map(UserSummaryDTO::getId).toList();
+
+        assertEquals(2, ids.size(), "Each user must appear once even if several terms match");
+        assertTrue(ids.containsAll(List.of(1L, 2L)));
+        assertEquals(List.of(3L), index.search("dia", 10).stream().map(UserSummaryDTO::getId).toList());
+    }
+
+    @Test
+    void shouldReturnAtMostTheRequestedNumberOfUsers() {
+
+        assertEquals(1, index.search("a", 1).size());
+        assertTrue(index.search("zz", 10).isEmpty());
+    }
+
+    @Test
+    void shouldReplaceTermsOnUpdateAndDropThemOnRemove() {
+
+        index.put(3L, "bruno.new@example.com", "Carlos", "Diaz");
+
+        assertTrue(index.search("bruno@", 10).isEmpty());
+        assertEquals("Carlos", index.search("car", 10).get(0).getFirstname());
+
+        index.remove(3L);
+
+        assertTrue(index.search("diaz", 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+}
@@ -0,0 +1,164 @@
+package com.portafolio.gestor_tareas.user.unit;
+
+import com.portafolio.gestor_tareas.config.ConcurrencyHarness;
+import com.portafolio.gestor_tareas.config.infrastructure.SecurityConfig;
+import com.portafolio.gestor_tareas.exception.domain.ForbiddenException;
+import com.portafolio.gestor_tareas.exception.domain.UserAlreadyExistsException;
+import com.portafolio.gestor_tareas.users.application.RegisteredEmailFilter;
+import com.portafolio.gestor_tareas.users.application.UserSearchIndex;
+import com.portafolio.gestor_tareas.users.application.UserServiceImpl;
+import com.portafolio.gestor_tareas.users.domain.Permission;
+import com.portafolio.gestor_tareas.users.domain.Role;
+import com.portafolio.gestor_tareas.users.domain.User;
+import com.portafolio.gestor_tareas.users.domain.UserRepository;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
+import com.portafolio.gestor_tareas.users.infrastructure.mapper.UserMapper;
+import com.portafolio.gestor_tareas.users.infrastructure.repository.SpringUserRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.*;
+
+import static com.portafolio.gestor_tareas.config.ConcurrencyHarness.THREADS;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserServiceConcurrencyTest {
+
+    private static final int ROUNDS = 200;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private SpringUserRepository springUserRepository;
+
+    @Mock
+    private SecurityConfig securityConfig;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
+    @InjectMocks
+    private UserServiceImpl userService;
+
+    private static User user(long id) {
+        return new User(id, "User", String.valueOf(id), "user" + id + "@example.com", "password",
+                Role.USER, EnumSet.of(Permission.values()[(int) (id % Permission.values().length)]), new ArrayList<>());
+    }
+
+    private static UserDetails principal(long id) {
+        return org.springframework.security.core.userdetails.User
+                .withUsername(String.valueOf(id)).password("password").authorities("USER").build();
+    }
+
+    // Only lets a principal read its own user and yields in between, so a shared field would be overwritten
+    private void allowOnlyOwnUser() {
+        doAnswer(invocation -> {
+            Long requestedId = invocation.getArgument(0);
+            UserDetails userDetails = invocation.getArgument(1);
+            Thread.yield();
+            if (!requestedId.toString().equals(userDetails.getUsername())) {
+                throw new ForbiddenException("Cross-user access to user " + requestedId);
+            }
+            return null;
+        }).when(securityConfig).checkAccess(anyLong(), any(UserDetails.class));
+    }
+
+    // Test that validates that concurrent lookups always return the user each request asked for
+    @Test
+    void shouldReturnTheRequestedUserUnderConcurrentLookups() throws Exception {
+
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(user(invocation.getArgument(0))));
+        when(userMapper.userToUserResponseDTO(any(User.class))).thenAnswer(invocation -> {
+            User found = invocation.getArgument(0);
+            return new UserResponseDTO(found.getId(), found.getFirstname(), found.getLastname(),
+                    found.getEmail(), found.getRole(), found.getPermissions());
+        });
+        allowOnlyOwnUser();
+
+        ConcurrencyHarness.run(THREADS, ROUNDS, (thread, round) -> {
+            long id = thread + 1L;
+
+            UserResponseDTO result = userService.findById(id, principal(id));
+
+            assertEquals(id, result.getId());
+            assertEquals("user" + id + "@example.com", result.getEmail());
+        });
+    }
+
+    // Test that validates that concurrent registrations decide on duplicates per request
+    @Test
+    void shouldDecideDuplicateEmailsPerRequest() throws Exception {
+
+        when(userMapper.userDTOToUser(any(UserDTO.class))).thenAnswer(invocation -> {
+            UserDTO dto = invocation.getArgument(0);
+            return User.builder().firstname(dto.getFirstname()).lastname(dto.getLastname())
+                    .email(dto.getEmail()).password(dto.getPassword()).role(Role.USER).build();
+        });
+        when(registeredEmailFilter.mightBeRegistered(anyString())).thenReturn(true);
+        when(userRepository.existsEmail(anyString())).thenAnswer(invocation -> {
+            Thread.yield();
+            return ((String) invocation.getArgument(0)).startsWith("taken");
+        });
+        when(userMapper.userToUserEntity(any(User.class))).thenAnswer(invocation -> {
+            User mapped = invocation.getArgument(0);
+            return UserEntity.builder().email(mapped.getEmail()).firstname(mapped.getFirstname())
+                    .lastname(mapped.getLastname()).password(mapped.getPassword()).role(Role.USER).build();
+        });
+        when(springUserRepository.save(any(UserEntity.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(userMapper.userEntityToUserResponseDTO(any(UserEntity.class))).thenAnswer(invocation -> {
+            UserEntity saved = invocation.getArgument(0);
+            return new UserResponseDTO(saved.getId(), saved.getFirstname(), saved.getLastname(),
+                    saved.getEmail(), saved.getRole(), saved.getPermissions());
+        });
+
+        ConcurrencyHarness.run(THREADS, ROUNDS, (thread, round) -> {
+            boolean taken = thread % 2 == 0;
+            String email = (taken ? "taken" : "free") + thread + "." + round + "@example.com";
+
+            UserDTO request = UserDTO.builder()
+                    .firstname("User")
+                    .lastname(String.valueOf(thread))
+                    .email(email)
+                    .password("password")
+                    .build();
+
+            if (taken) {
+                assertThrows(UserAlreadyExistsException.class, () -> userService.register(request));
+            } else {
+                assertEquals(email, userService.register(request).getEmail());
+            }
+        });
+    }
+
+    // Test that validates that concurrent permission reads never mix the permissions of different users
+    @Test
+    void shouldShowThePermissionsOfTheRequestedUser() throws Exception {
+
+        when(userRepository.findById(anyLong())).thenAnswer(invocation -> Optional.of(user(invocation.getArgument(0))));
+        allowOnlyOwnUser();
+
+        ConcurrencyHarness.run(THREADS, ROUNDS, (thread, round) -> {
+            long id = thread + 1L;
+
+            List<Permission> permissions = userService.showPermissions(id, principal(id));
+
+            assertEquals(new ArrayList<>(user(id).getPermissions()), permissions);
+        });
+    }
+}
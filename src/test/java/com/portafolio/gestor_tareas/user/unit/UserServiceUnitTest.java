@@ -1,15 +1,22 @@
 package com.portafolio.gestor_tareas.user.unit;
 
 import com.portafolio.gestor_tareas.config.infrastructure.SecurityConfig;
+import com.portafolio.gestor_tareas.dto.CursorPage;
 import com.portafolio.gestor_tareas.exception.domain.BadRequestException;
 import com.portafolio.gestor_tareas.exception.domain.NotFoundException;
+import com.portafolio.gestor_tareas.exception.domain.UserAlreadyExistsException;
+import com.portafolio.gestor_tareas.users.application.RegisteredEmailFilter;
+import com.portafolio.gestor_tareas.users.application.UserSearchIndex;
 import com.portafolio.gestor_tareas.users.application.UserServiceImpl;
 import com.portafolio.gestor_tareas.users.domain.Permission;
 import com.portafolio.gestor_tareas.users.domain.Role;
 import com.portafolio.gestor_tareas.users.domain.User;
 import com.portafolio.gestor_tareas.users.domain.UserRepository;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsRequestDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.BulkPermissionsResultDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserResponseDTO;
+import com.portafolio.gestor_tareas.users.infrastructure.dto.UserSummaryDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.dto.UserWithPermissionsDTO;
 import com.portafolio.gestor_tareas.users.infrastructure.entity.UserEntity;
 import com.portafolio.gestor_tareas.users.infrastructure.mapper.UserMapper;
@@ -20,6 +27,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.*;
@@ -43,6 +52,12 @@ class UserServiceUnitTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserSearchIndex userSearchIndex;
+
+    @Mock
+    private RegisteredEmailFilter registeredEmailFilter;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -131,6 +146,7 @@ class UserServiceUnitTest {
         );
 
         when(userMapper.userDTOToUser(userDTO)).thenReturn(inputUser);
+        when(registeredEmailFilter.mightBeRegistered("test@example.com")).thenReturn(true);
         when(userRepository.existsEmail("test@example.com")).thenReturn(false);
         when(userMapper.userToUserEntity(inputUser)).thenReturn(userEntity);
         when(springUserRepository.save(userEntity)).thenReturn(userEntity);
@@ -146,6 +162,49 @@ class UserServiceUnitTest {
         verify(userMapper, times(1)).userToUserEntity(inputUser);
         verify(springUserRepository, times(1)).save(userEntity);
         verify(userMapper, times(1)).userEntityToUserResponseDTO(userEntity);
+        verify(userSearchIndex, times(1)).put(userEntity.getId(), userEntity.getEmail(),
+                userEntity.getFirstname(), userEntity.getLastname());
+        verify(registeredEmailFilter, times(1)).add("test@example.com");
+    }
+
+    // Test that validates that an email the filter has never seen skips the existence query
+    @Test
+    void shouldSkipExistenceQueryForDefinitelyNewEmail() {
+
+        UserDTO userDTO = new UserDTO();
+        userDTO.setEmail("new@example.com");
+
+        userEntity = new UserEntity();
+        userEntity.setEmail("new@example.com");
+
+        when(userMapper.userDTOToUser(userDTO)).thenReturn(inputUser);
+        when(registeredEmailFilter.mightBeRegistered("new@example.com")).thenReturn(false);
+        when(userMapper.userToUserEntity(inputUser)).thenReturn(userEntity);
+        when(springUserRepository.save(userEntity)).thenReturn(userEntity);
+
+        userService.register(userDTO);
+
+        verify(userRepository, never()).existsEmail(anyString());
+        verify(springUserRepository, times(1)).save(userEntity);
+    }
+
+    // Test that validates that the unique constraint is reported as a duplicate email
+    @Test
+    void shouldMapUniqueConstraintViolationToUserAlreadyExists() {
+
+        UserDTO userDTO = new UserDTO();
+        userDTO.setEmail("new@example.com");
+
+        userEntity = new UserEntity();
+
+        when(userMapper.userDTOToUser(userDTO)).thenReturn(inputUser);
+        when(registeredEmailFilter.mightBeRegistered("new@example.com")).thenReturn(false);
+        when(userMapper.userToUserEntity(inputUser)).thenReturn(userEntity);
+        when(springUserRepository.save(userEntity)).thenThrow(new DataIntegrityViolationException("duplicate"));
+
+        assertThrows(UserAlreadyExistsException.class, () -> userService.register(userDTO));
+
+        verify(registeredEmailFilter, never()).add(anyString());
     }
 
     // Test that validates that a duplicate email cannot be registered
@@ -159,6 +218,7 @@ class UserServiceUnitTest {
         userDTO.setPassword(inputUser.getPassword());
         userDTO.setRole(inputUser.getRole());
 
+        when(registeredEmailFilter.mightBeRegistered("test@example.com")).thenReturn(true);
         when(userRepository.existsEmail("test@example.com")).thenReturn(true);
 
         assertThrows(RuntimeException.class, () -> userService.register(userDTO));
@@ -213,7 +273,6 @@ class UserServiceUnitTest {
 
         when(userRepository.findById(1L)).thenReturn(Optional.of(inputUser));
         doNothing().when(securityConfig).checkAccess(anyLong(), any(UserDetails.class));
-        when(userRepository.existsEmail("test@example.com")).thenReturn(false);
         when(userMapper.userToUserEntity(updateUser)).thenReturn(userEntity);
         when(springUserRepository.save(userEntity)).thenReturn(userEntity);
         when(userMapper.userEntityToUserResponseDTO(userEntity)).thenReturn(userResponseDTO);
@@ -226,7 +285,7 @@ class UserServiceUnitTest {
         assertEquals("Updated", result.getFirstname());
 
         verify(userRepository, times(1)).findById(inputUser.getId());
-        verify(userRepository, times(1)).existsEmail("test@example.com");
+        verify(userRepository, never()).existsEmail(anyString());
         verify(userMapper, times(1)).userToUserEntity(updateUser);
         verify(springUserRepository, times(1)).save(userEntity);
         verify(userMapper, times(1)).userEntityToUserResponseDTO(userEntity);
@@ -353,13 +412,12 @@ class UserServiceUnitTest {
     void shouldAddPermissionsByEmailSuccessfully() {
 
         when(userRepository.findByEmail("test@example.com")).thenReturn(Optional.of(inputUser));
-        when(userRepository.save(any(User.class))).thenReturn(inputUser);
 
         userService.addPermissions(null, "test@example.com", newPermissions);
 
-        assertTrue(inputUser.getPermissions().containsAll(newPermissions));
         verify(userRepository, times(1)).findByEmail("test@example.com");
-        verify(userRepository, times(1)).save(inputUser);
+        verify(userRepository, times(1)).grantPermissions(inputUser.getId(), newPermissions);
+        verify(userRepository, never()).save(any());
     }
 
     // Test to add permissions to a user by ID that does not exist
@@ -372,7 +430,7 @@ class UserServiceUnitTest {
                 () -> userService.addPermissions(99L, null, newPermissions));
 
         verify(userRepository, times(1)).findById(99L);
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).grantPermissions(any(), any());
     }
 
     // Test to add permissions to a user when the ID or email are not provided
@@ -384,7 +442,7 @@ class UserServiceUnitTest {
 
         verify(userRepository, never()).findById(anyLong());
         verify(userRepository, never()).findByEmail(anyString());
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).grantPermissions(any(), any());
     }
 
     /*
@@ -396,19 +454,18 @@ class UserServiceUnitTest {
     void shouldDeleteAllPermissionsByUserIdSuccessfully() {
 
         when(userRepository.findById(2L)).thenReturn(Optional.of(userWithPermissions));
-        when(userRepository.save(any(User.class))).thenReturn(userWithPermissions);
 
         Map<String, Object> response =
                 userService.deletePermissions(2L, null, true, null);
 
         assertAll(
                 () -> assertNotNull(response),
-                () -> assertThat(userWithPermissions.getPermissions()).isNull(),
+                () -> assertEquals(true, response.get("removedAll")),
                 () -> assertNull(response.get("notFound"))
         );
 
         verify(userRepository, times(1)).findById(2L);
-        verify(userRepository, times(1)).save(userWithPermissions);
+        verify(userRepository, times(1)).revokePermissions(userWithPermissions.getId(), EnumSet.allOf(Permission.class));
     }
 
     // Test where permissions are removed from a user based on their userId
@@ -416,7 +473,6 @@ class UserServiceUnitTest {
     void shouldDeletePermissionsByUserIdSuccessfully() {
 
         when(userRepository.findById(2L)).thenReturn(Optional.of(userWithPermissions));
-        when(userRepository.save(any(User.class))).thenReturn(userWithPermissions);
 
         Set<Permission> permissions = new HashSet<>(Arrays.asList(
                 Permission.TASK_WRITE,
@@ -433,7 +489,7 @@ class UserServiceUnitTest {
         );
 
         verify(userRepository, times(1)).findById(2L);
-        verify(userRepository, times(1)).save(userWithPermissions);
+        verify(userRepository, times(1)).revokePermissions(userWithPermissions.getId(), permissions);
     }
 
     // Test where permissions are removed from a user based on their email
@@ -441,7 +497,6 @@ class UserServiceUnitTest {
     void shouldDeletePermissionsByEmailSuccessfully() {
 
         when(userRepository.findByEmail("testuser@example.com")).thenReturn(Optional.of(userWithPermissions));
-        when(userRepository.save(any(User.class))).thenReturn(userWithPermissions);
 
         Set<Permission> permissions = new HashSet<>(Arrays.asList(
                 Permission.TASK_DELETE,
@@ -458,7 +513,7 @@ class UserServiceUnitTest {
         );
 
         verify(userRepository, times(1)).findByEmail("testuser@example.com");
-        verify(userRepository, times(1)).save(userWithPermissions);
+        verify(userRepository, times(1)).revokePermissions(userWithPermissions.getId(), permissions);
     }
 
     // Test where permissions are removed from a user who did not have some permissions
@@ -466,7 +521,6 @@ class UserServiceUnitTest {
     void shouldReturnWarningForPermissionsUsersDoesNotHave() {
 
         when(userRepository.findById(3L)).thenReturn(Optional.of(userWithTwoPermissions));
-        when(userRepository.save(any(User.class))).thenReturn(userWithTwoPermissions);
 
         Set<Permission> permissions = new HashSet<>(Arrays.asList(
                 Permission.TASK_DELETE,
@@ -483,7 +537,7 @@ class UserServiceUnitTest {
         );
 
         verify(userRepository, times(1)).findById(3L);
-        verify(userRepository, times(1)).save(userWithTwoPermissions);
+        verify(userRepository, times(1)).revokePermissions(userWithTwoPermissions.getId(), Set.of(Permission.TASK_WRITE));
     }
 
     // Test where an attempt was made to remove permissions from a user that does not exist
@@ -501,7 +555,7 @@ class UserServiceUnitTest {
                 () -> userService.deletePermissions(99L, null, false, permissions));
 
         verify(userRepository, times(1)).findById(99L);
-        verify(userRepository, never()).save(any());
+        verify(userRepository, never()).revokePermissions(any(), any());
     }
 
     // Test where an attempt was made to remove permissions from a user but with a bad request
@@ -519,6 +573,69 @@ class UserServiceUnitTest {
         assertThat(exception.getMessage()).isEqualTo("Bad request exception. UserId or email must be provided");
     }
 
+    /*
+        BULK PERMISSIONS
+    */
+
+    // Test that validates that explicit IDs are updated in chunks
+    @Test
+    void shouldUpdatePermissionsOfIdsInChunks() {
+
+        Set<Long> ids = new HashSet<>();
+        for (long id = 1; id <= 2500; id++) {
+            ids.add(id);
+        }
+
+        BulkPermissionsRequestDTO request = BulkPermissionsRequestDTO.builder()
+                .userIds(ids)
+                .grant(Set.of(Permission.TASK_READ))
+                .revoke(Set.of(Permission.TASK_DELETE))
+                .build();
+
+        when(springUserRepository.updatePermissionsByIds(anyCollection(), anyInt(), anyInt())).thenReturn(1000, 1000, 500);
+
+        BulkPermissionsResultDTO result = userService.updatePermissionsInBulk(request);
+
+        assertEquals(2500, result.getUpdated());
+        verify(springUserRepository, times(3)).updatePermissionsByIds(
+                anyCollection(), eq(~Permission.TASK_DELETE.getBit()), eq(Permission.TASK_READ.getBit()));
+    }
+
+    // Test that validates that a role filter walks the table by ID ranges
+    @Test
+    void shouldWalkIdRangesWhenFilteringByRole() {
+
+        BulkPermissionsRequestDTO request = BulkPermissionsRequestDTO.builder()
+                .role(Role.USER)
+                .grant(Set.of(Permission.TASK_ASSIGN))
+                .build();
+
+        when(springUserRepository.findMaxId()).thenReturn(2500L);
+        when(springUserRepository.updatePermissionsInRange(anyLong(), anyLong(), eq(Role.USER), anyInt(), anyInt()))
+                .thenReturn(10);
+
+        BulkPermissionsResultDTO result = userService.updatePermissionsInBulk(request);
+
+        assertEquals(30, result.getUpdated());
+        verify(springUserRepository).updatePermissionsInRange(eq(0L), eq(1000L), eq(Role.USER), anyInt(), anyInt());
+        verify(springUserRepository).updatePermissionsInRange(eq(2000L), eq(3000L), eq(Role.USER), anyInt(), anyInt());
+    }
+
+    // Test that validates that a permission cannot be granted and revoked at once
+    @Test
+    void shouldRejectGrantingAndRevokingTheSamePermission() {
+
+        BulkPermissionsRequestDTO request = BulkPermissionsRequestDTO.builder()
+                .allUsers(true)
+                .grant(Set.of(Permission.TASK_READ))
+                .revoke(Set.of(Permission.TASK_READ))
+                .build();
+
+        assertThrows(BadRequestException.class, () -> userService.updatePermissionsInBulk(request));
+
+        verify(springUserRepository, never()).updatePermissionsInRange(anyLong(), anyLong(), any(), anyInt(), anyInt());
+    }
+
     /*
         SHOW PERMISSIONS
     */
@@ -600,4 +717,75 @@ class UserServiceUnitTest {
 
         assertNotNull(response);
     }
+
+    /*
+        FIND PAGE
+    */
+
+    // Test that validates that the extra row only signals the next page and sets the cursor
+    @Test
+    void shouldReturnNextCursorWhenMoreUsersExist() {
+
+        List<UserResponseDTO> rows = List.of(
+                UserResponseDTO.builder().id(11L).build(),
+                UserResponseDTO.builder().id(12L).build(),
+                UserResponseDTO.builder().id(13L).build()
+        );
+
+        when(springUserRepository.findPageAfter(10L, PageRequest.of(0, 3))).thenReturn(rows);
+
+        CursorPage<UserResponseDTO> page = userService.findPage(10L, 2);
+
+        assertEquals(2, page.getItems().size());
+        assertTrue(page.isHasNext());
+        assertEquals(12L, page.getNextCursor());
+    }
+
+    // Test that validates the last page has no cursor
+    @Test
+    void shouldReturnLastPageWithoutCursor() {
+
+        when(springUserRepository.findPageAfter(0L, PageRequest.of(0, 51)))
+                .thenReturn(List.of(UserResponseDTO.builder().id(1L).build()));
+
+        CursorPage<UserResponseDTO> page = userService.findPage(null, 50);
+
+        assertEquals(1, page.getItems().size());
+        assertFalse(page.isHasNext());
+        assertNull(page.getNextCursor());
+    }
+
+    // Test that validates an invalid page size is rejected
+    @Test
+    void shouldRejectNonPositivePageSize() {
+
+        assertThrows(BadRequestException.class, () -> userService.findPage(null, 0));
+
+        verify(springUserRepository, never()).findPageAfter(anyLong(), any());
+    }
+
+    /*
+        SEARCH
+    */
+
+    // Test that validates the search is answered by the index with a capped limit
+    @Test
+    void shouldSearchUsersThroughTheIndex() {
+
+        List<UserSummaryDTO> results = List.of(new UserSummaryDTO(1L, "test@example.com", "Test", "User"));
+
+        when(userSearchIndex.search("te", 50)).thenReturn(results);
+
+        assertEquals(results, userService.search("te", 1000));
+        verify(userRepository, never()).findAll();
+    }
+
+    // Test that validates an empty query is rejected
+    @Test
+    void shouldRejectBlankSearchQuery() {
+
+        assertThrows(BadRequestException.class, () -> userService.search(" ", 10));
+
+        verify(userSearchIndex, never()).search(anyString(), anyInt());
+    }
 }